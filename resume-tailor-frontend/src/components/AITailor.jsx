@@ -117,8 +117,8 @@ Nice to have:
       console.log(`Resume length: ${resumeText.length} characters`)
       console.log(`Job description length: ${jobDescription.length} characters`)
 
-      // Call the backend API
-      const response = await tailorResume(resumeText, jobDescription, storedApiKey, provider)
+      // Call the backend API; users tweak the resume and tailor again, so only changed sections are re-tailored
+      const response = await tailorResume(resumeText, jobDescription, storedApiKey, provider, true)
 
       // Store raw response for debugging
       setRawResponse(response)
@@ -32,9 +32,10 @@ export async function getAIProviders() {
  * @param {string} jobDescription - The job description
  * @param {string} apiKey - The API key
  * @param {string} provider - The AI provider (e.g., "openai", "groq")
+ * @param {boolean} incremental - Tailor by section, reusing results of unchanged sections
  * @returns {Promise<Object>} - Tailored resume suggestions
  */
-export async function tailorResume(resumeContent, jobDescription, apiKey, provider = "openai") {
+export async function tailorResume(resumeContent, jobDescription, apiKey, provider = "openai", incremental = false) {
   try {
     console.log(`Calling tailorResume API with provider: ${provider}`)
 
@@ -44,6 +45,7 @@ export async function tailorResume(resumeContent, jobDescription, apiKey, provid
       jobDescription,
       apiKey,
       provider,
+      incremental,
     }
 
     console.log("Request body size:", JSON.stringify(requestBody).length, "bytes")
@@ -53,6 +55,8 @@ export async function tailorResume(resumeContent, jobDescription, apiKey, provid
       method: "POST",
       headers: {
         "Content-Type": "application/json",
+        // Lets the backend replay the first result if this request is retried
+        "Idempotency-Key": crypto.randomUUID(),
       },
       body: JSON.stringify(requestBody),
     })
@@ -122,6 +126,8 @@ export async function generateCoverLetter(resumeContent, jobDescription, additio
       method: "POST",
       headers: {
         "Content-Type": "application/json",
+        // Lets the backend replay the first result if this request is retried
+        "Idempotency-Key": crypto.randomUUID(),
       },
       body: JSON.stringify(requestBody),
     })
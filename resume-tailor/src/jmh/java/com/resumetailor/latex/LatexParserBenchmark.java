@@ -0,0 +1,66 @@
+package com.resumetailor.latex;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parse time of resumes of increasing length. Run with
+ * {@code mvn -Pbenchmark test-compile exec:exec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LatexParserBenchmark {
+
+    // Entries per section; a typical one-page resume has about four
+    @Param({"4", "40"})
+    private int entries;
+
+    private String source;
+
+    @Setup
+    public void setUp() {
+        StringBuilder latex = new StringBuilder("""
+                \\documentclass[11pt,a4paper]{article}
+                \\usepackage{geometry}
+                \\geometry{left=0.75in, right=0.75in, top=0.75in, bottom=0.75in}
+                \\begin{document}
+                {\\LARGE \\textbf{Jane Doe}} \\\\
+                jane@example.com | +1 555 0100 | \\href{https://github.com/jane}{github.com/jane}
+
+                """);
+        for (String section : new String[]{"Experience", "Projects", "Education"}) {
+            latex.append("\\section{").append(section).append("}\n");
+            for (int i = 0; i < entries; i++) {
+                latex.append("\\textbf{Company ").append(i).append("} \\hfill 2019 -- 2023 \\\\\n")
+                        .append("\\textit{Senior Software Engineer}\n")
+                        .append("\\begin{itemize}\n")
+                        .append("  \\item Built \\textbf{Spring Boot} services handling 10k requests per second\n")
+                        .append("  \\item Cut p99 latency by 40\\% with caching and \\emph{batching}\n")
+                        .append("  \\item Mentored four engineers \\vspace{2pt}\n")
+                        .append("\\end{itemize}\n\n");
+            }
+        }
+        latex.append("\\section{Skills}\nJava, Kotlin, Spring Boot, PostgreSQL, Kubernetes, AWS\n\\end{document}\n");
+        source = latex.toString();
+    }
+
+    @Benchmark
+    public LatexDocument parse() {
+        return LatexParser.parse(source);
+    }
+}
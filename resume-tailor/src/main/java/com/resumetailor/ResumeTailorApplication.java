@@ -1,12 +1,24 @@
 package com.resumetailor;
 
 import org.springframework.boot.SpringApplication;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 @SpringBootApplication
 public class ResumeTailorApplication {
 
@@ -22,6 +34,61 @@ public class ResumeTailorApplication {
         return WebClient.builder();
     }
 
+    /**
+     * Bounded thread pool for tailoring resume sections in parallel
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService tailoringExecutor(@Value("${tailoring.parallel.max-concurrency:4}") int maxConcurrency) {
+        return Executors.newFixedThreadPool(maxConcurrency);
+    }
+
+    /**
+     * Background worker pool for bulk tailoring jobs. Items interrupted by the shutdown are
+     * not checkpointed, so they run again when the job is resumed.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService bulkExecutor(@Value("${bulk.worker-threads:2}") int workerThreads) {
+        return Executors.newFixedThreadPool(workerThreads);
+    }
+
+    /**
+     * Scheduler for debounced live match score updates
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService liveScoringScheduler(@Value("${live-scoring.scheduler-threads:2}") int schedulerThreads) {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(schedulerThreads);
+        // Debounced pushes are cancelled on every keystroke; drop them from the queue right away
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    /**
+     * Bounded CPU pool for rendering page previews; a full queue rejects new previews
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService previewExecutor(@Value("${pdf.preview.threads:2}") int threads,
+                                           @Value("${pdf.preview.queue-capacity:16}") int queueCapacity) {
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity));
+    }
+
+    /**
+     * Pool for batch PDF compilation; defaults to one thread per core
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService batchCompileExecutor(@Value("${pdf.batch.threads:0}") int threads) {
+        return Executors.newFixedThreadPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Bounded pool for Spring MVC async work such as streamed PDF and ZIP responses. Boot
+     * only creates this executor when no other Executor bean exists, and without it every
+     * streamed response would get a new thread. Sized by spring.task.execution.pool.*.
+     */
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
     /**
      * CORS configuration to allow requests from the frontend
      */
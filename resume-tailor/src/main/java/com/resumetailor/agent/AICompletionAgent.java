@@ -1,7 +1,9 @@
 package com.resumetailor.agent;
 
+import com.resumetailor.service.ai.AICompletionResult;
 import com.resumetailor.service.ai.AIProvider;
 import com.resumetailor.service.ai.AIProviderFactory;
+import com.resumetailor.service.ai.OutputLengthTracker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -17,27 +19,60 @@ import org.springframework.stereotype.Component;
 public class AICompletionAgent implements Agent<AICompletionAgent.AICompletionRequest, String> {
 
    private final AIProviderFactory providerFactory;
+   private final OutputLengthTracker outputLengthTracker;
    
    @Value("${openai.model}")
    private String defaultModel;
    
    @Override
    public String process(AICompletionRequest request) {
+       return complete(request).getContent();
+   }
+   
+   /**
+    * Make the API call and return the response together with whether it is the mock
+    * fallback, so callers can avoid caching a response that stands in for a failure
+    *
+    * @param request The completion request
+    * @return The completion result
+    */
+   public AICompletionResult complete(AICompletionRequest request) {
        log.info("{}: Making API call to {} with model: {}", getName(), request.getProvider(), request.getModel());
        
        try {
            // Get the appropriate AI provider
            AIProvider provider = providerFactory.getProvider(request.getProvider());
            
+           // Size the output cap from the observed length distribution for this task and model
+           int maxTokens = outputLengthTracker.suggestMaxTokens(
+                   request.getTaskType(), provider.getModel(), request.getMaxTokens());
+           
            // Call the AI provider
-           return provider.generateResponse(request.getPrompt(), request.getApiKey());
+           AICompletionResult result = provider.generateCompletion(request.getPrompt(), request.getApiKey(), maxTokens);
+           
+           // Retry once with the full cap if the adaptive cap truncated the output
+           if (result.isTruncated() && maxTokens < request.getMaxTokens()) {
+               log.warn("{}: Output truncated at {} tokens, retrying with {}", getName(), maxTokens, request.getMaxTokens());
+               result = provider.generateCompletion(request.getPrompt(), request.getApiKey(), request.getMaxTokens());
+           }
+           
+           if (result.isTruncated()) {
+               log.warn("{}: Output truncated at the maximum cap of {} tokens", getName(), request.getMaxTokens());
+           } else {
+               outputLengthTracker.record(request.getTaskType(), provider.getModel(), result.getCompletionTokens());
+           }
+           
+           return result;
            
        } catch (Exception e) {
            log.error("{}: Error generating AI response: {}", getName(), e.getMessage());
            
            if (request.isFallbackToMock()) {
                log.info("{}: Falling back to mock response", getName());
-               return generateMockResponse(request.getPrompt());
+               return AICompletionResult.builder()
+                       .content(generateMockResponse(request.getPrompt()))
+                       .fallback(true)
+                       .build();
            }
            
            throw new RuntimeException("Failed to generate AI response: " + e.getMessage(), e);
@@ -53,7 +88,9 @@ public class AICompletionAgent implements Agent<AICompletionAgent.AICompletionRe
     * Generate mock AI response for demonstration purposes
     */
    private String generateMockResponse(String prompt) {
-       if (prompt.contains("cover letter")) {
+       if (prompt.contains("COVER LETTER:") && prompt.contains("tailor")) {
+           return generateMockTailoringResponse() + "\nCOVER LETTER:\n" + generateMockCoverLetter();
+       } else if (prompt.contains("cover letter")) {
            return generateMockCoverLetter();
        } else if (prompt.contains("tailor")) {
            return generateMockTailoringResponse();
@@ -63,24 +100,11 @@ public class AICompletionAgent implements Agent<AICompletionAgent.AICompletionRe
    }
    
    /**
-    * Generate mock cover letter for demonstration purposes
+    * Generate mock cover letter body for demonstration purposes.
+    * The header, greeting and closing are added locally by CoverLetterScaffoldingAgent.
     */
    private String generateMockCoverLetter() {
        return """
-               John Doe
-               123 Main Street
-               City, State 12345
-               Phone: (123) 456-7890
-               Email: john.doe@email.com
-               
-               April 13, 2025
-               
-               Hiring Manager
-               Company Name
-               City, State 12345
-               
-               Dear Hiring Manager,
-               
                I am writing to express my interest in the Software Engineer position at your company, as advertised on your website. With my strong background in Java development and experience with Spring Boot, I believe I would be a valuable addition to your team.
                
                Throughout my career, I have developed expertise in building scalable web applications and RESTful APIs. In my current role at Tech Solutions Inc., I have successfully led the development of a microservices architecture that improved system reliability by 40%. I have also implemented CI/CD pipelines that reduced deployment time by 60%.
@@ -90,10 +114,6 @@ public class AICompletionAgent implements Agent<AICompletionAgent.AICompletionRe
                I am particularly drawn to your company because of your innovative approach to software development and your commitment to creating products that make a difference. I am excited about the opportunity to contribute to your team and help drive your mission forward.
                
                Thank you for considering my application. I look forward to the opportunity to discuss how my skills and experience align with your needs.
-               
-               Sincerely,
-               
-               John Doe
                """;
    }
    
@@ -152,6 +172,7 @@ public class AICompletionAgent implements Agent<AICompletionAgent.AICompletionRe
        private final String apiKey;
        private final String model;
        private final String provider;
+       private final String taskType;
        private final int maxTokens;
        private final double temperature;
        private final boolean fallbackToMock;
@@ -161,6 +182,7 @@ public class AICompletionAgent implements Agent<AICompletionAgent.AICompletionRe
            this.apiKey = builder.apiKey;
            this.model = builder.model;
            this.provider = builder.provider;
+           this.taskType = builder.taskType;
            this.maxTokens = builder.maxTokens;
            this.temperature = builder.temperature;
            this.fallbackToMock = builder.fallbackToMock;
@@ -182,6 +204,10 @@ public class AICompletionAgent implements Agent<AICompletionAgent.AICompletionRe
            return provider;
        }
        
+       public String getTaskType() {
+           return taskType;
+       }
+       
        public int getMaxTokens() {
            return maxTokens;
        }
@@ -199,6 +225,7 @@ public class AICompletionAgent implements Agent<AICompletionAgent.AICompletionRe
            private String apiKey;
            private String model = "gpt-4";
            private String provider = "openai";
+           private String taskType;
            private int maxTokens = 2048;
            private double temperature = 0.7;
            private boolean fallbackToMock = true;
@@ -223,6 +250,11 @@ public class AICompletionAgent implements Agent<AICompletionAgent.AICompletionRe
                return this;
            }
            
+           public Builder taskType(String taskType) {
+               this.taskType = taskType;
+               return this;
+           }
+           
            public Builder maxTokens(int maxTokens) {
                this.maxTokens = maxTokens;
                return this;
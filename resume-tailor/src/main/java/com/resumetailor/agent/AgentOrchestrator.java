@@ -1,15 +1,39 @@
 package com.resumetailor.agent;
 
+import com.resumetailor.cache.JobDescriptionAnalysisStore;
+import com.resumetailor.cache.NearDuplicateTailorCache;
+import com.resumetailor.cache.SectionTailoringCache;
 import com.resumetailor.dto.AgentContext;
+import com.resumetailor.dto.CandidateEvaluation;
 import com.resumetailor.dto.CoverLetterRequest;
 import com.resumetailor.dto.CoverLetterResponse;
+import com.resumetailor.dto.CoverLetterScaffold;
 import com.resumetailor.dto.FormattingTask;
+import com.resumetailor.dto.JobDescriptionAnalysis;
+import com.resumetailor.dto.MatchScoreResponse;
+import com.resumetailor.dto.PatchResult;
+import com.resumetailor.dto.PatchTask;
+import com.resumetailor.dto.ResumeSection;
+import com.resumetailor.dto.SectionMergeTask;
 import com.resumetailor.dto.TailorRequest;
 import com.resumetailor.dto.TailorResponse;
+import com.resumetailor.dto.TailorWithCoverLetterResponse;
+import com.resumetailor.pdf.RenderedPage;
+import com.resumetailor.scoring.MatchScoringEngine;
+import com.resumetailor.service.ai.AICompletionResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
 * Orchestrator that coordinates the flow between different agents.
 * This component manages the execution of the agent pipeline for different tasks.
@@ -23,6 +47,24 @@ public class AgentOrchestrator {
    private final AICompletionAgent aiCompletionAgent;
    private final FormattingAgent formattingAgent;
    private final PDFAgent pdfAgent;
+   private final CoverLetterScaffoldingAgent coverLetterScaffoldingAgent;
+   private final ResumePatchingAgent resumePatchingAgent;
+   private final SectionSplittingAgent sectionSplittingAgent;
+   private final SectionMergingAgent sectionMergingAgent;
+   private final ExecutorService tailoringExecutor;
+   private final SectionTailoringCache sectionTailoringCache;
+   private final NearDuplicateTailorCache nearDuplicateTailorCache;
+   private final JobDescriptionAnalysisStore jobDescriptionAnalysisStore;
+   private final MatchScoringEngine matchScoringEngine;
+   
+   @Value("${tailoring.parallel.enabled:true}")
+   private boolean parallelTailoringEnabled;
+   
+   @Value("${tailoring.parallel.min-resume-length:8000}")
+   private int parallelTailoringMinLength;
+   
+   @Value("${scoring.local.enabled:true}")
+   private boolean localScoringEnabled;
    
    /**
     * Orchestrate the resume tailoring process
@@ -31,13 +73,43 @@ public class AgentOrchestrator {
     * @return The tailor response
     */
    public TailorResponse tailorResume(TailorRequest request) {
+       return tailorResume(request, true);
+   }
+   
+   /**
+    * Orchestrate the resume tailoring process
+    *
+    * @param request The tailor request
+    * @param fallbackToMock Whether a failed provider call falls back to a mock response
+    * @return The tailor response
+    */
+   public TailorResponse tailorResume(TailorRequest request, boolean fallbackToMock) {
        log.info("Orchestrating resume tailoring process");
+       String provider = request.getProvider() != null ? request.getProvider() : "openai";
+       JobDescriptionAnalysis analysis = jobDescriptionAnalysisStore.analyze(request.getJobDescription());
+       
+       // Serve the result of a near-identical job description tailored against the same resume
+       TailorResponse cached = nearDuplicateTailorCache.find(request.getResumeContent(), request.getJobDescription(), provider);
+       if (cached != null) {
+           applyLocalScore(request.getResumeContent(), analysis, cached);
+           return cached;
+       }
        
-       // Step 1: Create context for the agents
+       // Long resumes, and incremental requests from the editor, are tailored section by section
+       boolean longResume = parallelTailoringEnabled && request.getResumeContent().length() >= parallelTailoringMinLength;
+       if (longResume || request.isIncremental()) {
+           List<ResumeSection> sections = sectionSplittingAgent.process(request.getResumeContent());
+           if (sections.size() > 1) {
+               return tailorResumeBySection(request, sections, analysis, fallbackToMock);
+           }
+       }
+       
+       // Step 1: Create context for the agents, sending the job description without boilerplate
        AgentContext context = AgentContext.builder()
                .taskType("resume_tailoring")
                .resumeContent(request.getResumeContent())
-               .jobDescription(request.getJobDescription())
+               .jobDescription(analysis.cleanedText())
+               .jobAnalysis(analysis)
                .build();
        
        // Step 2: Generate prompt using PromptingAgent
@@ -48,20 +120,136 @@ public class AgentOrchestrator {
        AICompletionAgent.AICompletionRequest completionRequest = new AICompletionAgent.AICompletionRequest.Builder()
                .prompt(prompt)
                .apiKey(request.getApiKey())
-               .provider(request.getProvider() != null ? request.getProvider() : "openai") // Use provider from request
+               .taskType("resume_tailoring")
+               .provider(provider) // Use provider from request
+               .fallbackToMock(fallbackToMock)
                .build();
        
-       String aiResponse = aiCompletionAgent.process(completionRequest);
-       log.debug("AI response: {}", aiResponse);
+       AICompletionResult completion = aiCompletionAgent.complete(completionRequest);
+       log.debug("AI response: {}", completion.getContent());
        
        // Step 4: Format the response using FormattingAgent
        FormattingTask formattingTask = FormattingTask.builder()
                .taskType("resume_tailoring")
-               .rawOutput(aiResponse)
+               .rawOutput(completion.getContent())
                .build();
        
        TailorResponse response = (TailorResponse) formattingAgent.process(formattingTask);
        
+       // Step 5: Apply the suggestions and compute the match score locally
+       applySuggestions(request.getResumeContent(), response);
+       applyLocalScore(request.getResumeContent(), analysis, response);
+       
+       // Only cache real provider responses, never the mock fallback for a failed call
+       if (!completion.isFallback()) {
+           nearDuplicateTailorCache.put(request.getResumeContent(), request.getJobDescription(), provider, response);
+       }
+       
+       return response;
+   }
+   
+   /**
+    * Orchestrate section-parallel tailoring: each changed section is tailored against the job
+    * description concurrently on the bounded tailoring pool, unchanged sections reuse their
+    * cached results, then everything is merged
+    *
+    * @param request The tailor request
+    * @param sections The resume sections
+    * @param analysis The shared analysis of the job description
+    * @param fallbackToMock Whether a failed provider call falls back to a mock response
+    * @return The merged tailor response
+    */
+   private TailorResponse tailorResumeBySection(TailorRequest request, List<ResumeSection> sections,
+                                                JobDescriptionAnalysis analysis, boolean fallbackToMock) {
+       String provider = request.getProvider() != null ? request.getProvider() : "openai";
+       
+       // Step 1: Reuse cached section results and tailor the remaining sections on the tailoring pool
+       String jobDescription = analysis.cleanedText();
+       int cachedSections = 0;
+       AtomicBoolean fallbackUsed = new AtomicBoolean();
+       List<CompletableFuture<TailorResponse>> futures = new ArrayList<>();
+       for (ResumeSection section : sections) {
+           String cacheKey = sectionTailoringCache.key(section, request.getJobDescription(), provider);
+           TailorResponse cached = sectionTailoringCache.get(cacheKey);
+           if (cached != null) {
+               cachedSections++;
+               futures.add(CompletableFuture.completedFuture(cached));
+           } else {
+               futures.add(CompletableFuture.supplyAsync(
+                       () -> tailorSection(request, section, analysis, jobDescription, cacheKey, fallbackToMock, fallbackUsed), tailoringExecutor));
+           }
+       }
+       log.info("Tailoring {} of {} resume sections in parallel ({} cached)",
+               sections.size() - cachedSections, sections.size(), cachedSections);
+       
+       List<TailorResponse> sectionResponses;
+       try {
+           sectionResponses = futures.stream().map(CompletableFuture::join).toList();
+       } catch (CompletionException e) {
+           throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+       }
+       
+       // Step 2: Merge the section responses using SectionMergingAgent
+       SectionMergeTask mergeTask = SectionMergeTask.builder()
+               .resumeContent(request.getResumeContent())
+               .sections(sections)
+               .sectionResponses(sectionResponses)
+               .build();
+       
+       TailorResponse response = sectionMergingAgent.process(mergeTask);
+       
+       // Step 3: Apply the suggestions and compute the match score locally
+       applySuggestions(request.getResumeContent(), response);
+       applyLocalScore(request.getResumeContent(), analysis, response);
+       
+       // A merge containing any mock section is not cached as a whole
+       if (!fallbackUsed.get()) {
+           nearDuplicateTailorCache.put(request.getResumeContent(), request.getJobDescription(), provider, response);
+       }
+       
+       return response;
+   }
+   
+   /**
+    * Run the prompting, completion and formatting pipeline for a single resume section, and
+    * cache the result unless it is the mock fallback for a failed provider call, in which
+    * case {@code fallbackUsed} is set
+    */
+   private TailorResponse tailorSection(TailorRequest request, ResumeSection section, JobDescriptionAnalysis analysis,
+                                        String jobDescription, String cacheKey, boolean fallbackToMock,
+                                        AtomicBoolean fallbackUsed) {
+       AgentContext context = AgentContext.builder()
+               .taskType("resume_section_tailoring")
+               .resumeContent(section.getContent())
+               .sectionTitle(section.getTitle())
+               .jobDescription(jobDescription)
+               .jobAnalysis(analysis)
+               .build();
+       
+       String prompt = promptingAgent.process(context);
+       
+       AICompletionAgent.AICompletionRequest completionRequest = new AICompletionAgent.AICompletionRequest.Builder()
+               .prompt(prompt)
+               .apiKey(request.getApiKey())
+               .taskType("resume_section_tailoring")
+               .provider(request.getProvider() != null ? request.getProvider() : "openai")
+               .maxTokens(1024)
+               .fallbackToMock(fallbackToMock)
+               .build();
+       
+       AICompletionResult completion = aiCompletionAgent.complete(completionRequest);
+       
+       FormattingTask formattingTask = FormattingTask.builder()
+               .taskType("resume_tailoring")
+               .rawOutput(completion.getContent())
+               .build();
+       
+       TailorResponse response = (TailorResponse) formattingAgent.process(formattingTask);
+       if (completion.isFallback()) {
+           fallbackUsed.set(true);
+       } else {
+           sectionTailoringCache.put(cacheKey, response);
+       }
        return response;
    }
    
@@ -73,12 +261,14 @@ public class AgentOrchestrator {
     */
    public CoverLetterResponse generateCoverLetter(CoverLetterRequest request) {
        log.info("Orchestrating cover letter generation process");
+       JobDescriptionAnalysis analysis = jobDescriptionAnalysisStore.analyze(request.getJobDescription());
        
-       // Step 1: Create context for the agents
+       // Step 1: Create context for the agents, sending the job description without boilerplate
        AgentContext context = AgentContext.builder()
                .taskType("cover_letter")
                .resumeContent(request.getResumeContent())
-               .jobDescription(request.getJobDescription())
+               .jobDescription(analysis.cleanedText())
+               .jobAnalysis(analysis)
                .additionalInfo(request.getAdditionalInfo())
                .build();
        
@@ -90,8 +280,9 @@ public class AgentOrchestrator {
        AICompletionAgent.AICompletionRequest completionRequest = new AICompletionAgent.AICompletionRequest.Builder()
                .prompt(prompt)
                .apiKey(request.getApiKey())
+               .taskType("cover_letter")
                .provider(request.getProvider() != null ? request.getProvider() : "openai") // Use provider from request
-               .maxTokens(2500) // Cover letters might need more tokens
+               .maxTokens(1024) // Only the body paragraphs are generated
                .build();
        
        String aiResponse = aiCompletionAgent.process(completionRequest);
@@ -105,19 +296,161 @@ public class AgentOrchestrator {
        
        CoverLetterResponse response = (CoverLetterResponse) formattingAgent.process(formattingTask);
        
+       // Step 5: Wrap the body with the locally built header and closing
+       CoverLetterScaffold scaffold = coverLetterScaffoldingAgent.process(context);
+       response.setCoverLetter(coverLetterScaffoldingAgent.assemble(scaffold, response.getCoverLetter()));
+       
+       return response;
+   }
+   
+   /**
+    * Orchestrate resume tailoring and cover letter generation in a single AI completion,
+    * so the resume and job description are only sent to the provider once
+    *
+    * @param request The cover letter request (resume, job description and additional info)
+    * @return The combined tailoring and cover letter response
+    */
+   public TailorWithCoverLetterResponse tailorResumeWithCoverLetter(CoverLetterRequest request) {
+       log.info("Orchestrating combined resume tailoring and cover letter generation process");
+       JobDescriptionAnalysis analysis = jobDescriptionAnalysisStore.analyze(request.getJobDescription());
+       
+       // Step 1: Create context for the agents, sending the job description without boilerplate
+       AgentContext context = AgentContext.builder()
+               .taskType("resume_tailoring_with_cover_letter")
+               .resumeContent(request.getResumeContent())
+               .jobDescription(analysis.cleanedText())
+               .jobAnalysis(analysis)
+               .additionalInfo(request.getAdditionalInfo())
+               .build();
+       
+       // Step 2: Generate prompt using PromptingAgent
+       String prompt = promptingAgent.process(context);
+       log.debug("Generated prompt: {}", prompt);
+       
+       // Step 3: Get AI completion using AICompletionAgent
+       AICompletionAgent.AICompletionRequest completionRequest = new AICompletionAgent.AICompletionRequest.Builder()
+               .prompt(prompt)
+               .apiKey(request.getApiKey())
+               .taskType("resume_tailoring_with_cover_letter")
+               .provider(request.getProvider() != null ? request.getProvider() : "openai")
+               .maxTokens(3072) // Room for both the suggestions and the letter body
+               .build();
+       
+       String aiResponse = aiCompletionAgent.process(completionRequest);
+       log.debug("AI response: {}", aiResponse);
+       
+       // Step 4: Split and format the response using FormattingAgent
+       FormattingTask formattingTask = FormattingTask.builder()
+               .taskType("resume_tailoring_with_cover_letter")
+               .rawOutput(aiResponse)
+               .build();
+       
+       TailorWithCoverLetterResponse response = (TailorWithCoverLetterResponse) formattingAgent.process(formattingTask);
+       
+       // Step 5: Apply the suggestions and compute the match score locally
+       applySuggestions(request.getResumeContent(), response.getTailoring());
+       applyLocalScore(request.getResumeContent(), analysis, response.getTailoring());
+       
+       // Step 6: Wrap the cover letter body with the locally built header and closing
+       CoverLetterScaffold scaffold = coverLetterScaffoldingAgent.process(context);
+       CoverLetterResponse coverLetter = response.getCoverLetter();
+       coverLetter.setCoverLetter(coverLetterScaffoldingAgent.assemble(scaffold, coverLetter.getCoverLetter()));
+       
        return response;
    }
    
    /**
-    * Orchestrate the PDF compilation process
+    * Orchestrate a recruiter's evaluation of an indexed candidate against a job description.
+    * There is no mock fallback: a failed provider call fails the evaluation.
+    *
+    * @param resumeContent The candidate's resume content
+    * @param analysis The shared job description analysis
+    * @param apiKey The API key, or null to use the configured key
+    * @param provider The AI provider
+    * @return The fit score and summary
+    */
+   public CandidateEvaluation evaluateCandidate(String resumeContent, JobDescriptionAnalysis analysis, String apiKey, String provider) {
+       AgentContext context = AgentContext.builder()
+               .taskType("candidate_evaluation")
+               .resumeContent(resumeContent)
+               .jobDescription(analysis.cleanedText())
+               .jobAnalysis(analysis)
+               .build();
+       
+       String prompt = promptingAgent.process(context);
+       
+       AICompletionAgent.AICompletionRequest completionRequest = new AICompletionAgent.AICompletionRequest.Builder()
+               .prompt(prompt)
+               .apiKey(apiKey)
+               .taskType("candidate_evaluation")
+               .provider(provider != null ? provider : "openai")
+               .maxTokens(256) // A score and a short summary
+               .fallbackToMock(false)
+               .build();
+       
+       String aiResponse = aiCompletionAgent.process(completionRequest);
+       
+       FormattingTask formattingTask = FormattingTask.builder()
+               .taskType("candidate_evaluation")
+               .rawOutput(aiResponse)
+               .build();
+       
+       return (CandidateEvaluation) formattingAgent.process(formattingTask);
+   }
+   
+   /**
+    * Replace the match score and keyword lists with the local scoring result
+    */
+   private void applyLocalScore(String resumeContent, JobDescriptionAnalysis analysis, TailorResponse response) {
+       if (!localScoringEnabled) {
+           return;
+       }
+       
+       MatchScoreResponse score = matchScoringEngine.score(
+               matchScoringEngine.resumeTermFrequencies(resumeContent, analysis.getTermFrequencies()), analysis.getTermFrequencies());
+       response.setMatchScore(score.getMatchScore());
+       response.setKeywordsMatched(score.getKeywordsMatched());
+       response.setKeywordsMissing(score.getKeywordsMissing());
+   }
+   
+   /**
+    * Apply the suggestions of a tailor response to the submitted resume using ResumePatchingAgent
+    */
+   private void applySuggestions(String resumeContent, TailorResponse response) {
+       PatchTask patchTask = PatchTask.builder()
+               .resumeContent(resumeContent)
+               .suggestions(response.getSuggestions())
+               .build();
+       
+       PatchResult patchResult = resumePatchingAgent.process(patchTask);
+       response.setTailoredResume(patchResult.getPatchedContent());
+       response.setEdits(patchResult.getEdits());
+   }
+   
+   /**
+    * Orchestrate the PDF compilation process, writing the PDF to a stream
+    *
+    * @param latexContent The LaTeX content
+    * @param linearized Whether to write a linearized PDF
+    * @param out The stream to write the PDF to
+    */
+   public void compilePdf(String latexContent, boolean linearized, OutputStream out) {
+       log.info("Orchestrating streamed PDF compilation process");
+       
+       pdfAgent.writePdf(latexContent, linearized, out);
+   }
+   
+   /**
+    * Orchestrate rendering one page of the compiled LaTeX to an image
     *
     * @param latexContent The LaTeX content
-    * @return The compiled PDF as byte array
+    * @param pageNumber The page to render, starting at 1
+    * @param dpi The resolution
+    * @return The page image and the page count
     */
-   public byte[] compilePdf(String latexContent) {
-       log.info("Orchestrating PDF compilation process");
+   public RenderedPage renderPdfPage(String latexContent, int pageNumber, float dpi) {
+       log.info("Orchestrating PDF page rendering process");
        
-       // Use PDFAgent to compile LaTeX to PDF
-       return pdfAgent.process(latexContent);
+       return pdfAgent.renderPage(latexContent, pageNumber, dpi);
    }
 }
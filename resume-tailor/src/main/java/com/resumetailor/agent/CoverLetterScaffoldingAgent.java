@@ -0,0 +1,206 @@
+package com.resumetailor.agent;
+
+import com.resumetailor.dto.AgentContext;
+import com.resumetailor.dto.CoverLetterScaffold;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Agent responsible for building the fixed parts of a cover letter locally.
+ * This agent parses contact details out of the resume (LaTeX or plain text) and
+ * produces the header, date, greeting and closing, so the AI only writes the body.
+ */
+@Component
+@Slf4j
+public class CoverLetterScaffoldingAgent implements Agent<AgentContext, CoverLetterScaffold> {
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("[\\w.+-]+@[\\w-]+(?:\\.[\\w-]+)+");
+    private static final Pattern PHONE_PATTERN = Pattern.compile("\\+?\\(?\\d[\\d \\t().-]{7,}\\d");
+    private static final Pattern LINKEDIN_PATTERN = Pattern.compile("(?:https?://)?(?:www\\.)?linkedin\\.com/in/[\\w-]+/?");
+    private static final Pattern LATEX_NAME_PATTERN = Pattern.compile("\\\\(?:LARGE|Large|Huge|huge)\\s*\\\\textbf\\{(.*?)\\}|\\\\textbf\\{\\\\(?:LARGE|Large|Huge|huge)\\s*(.*?)\\}|\\\\name\\{(.*?)\\}");
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MMMM d, yyyy", Locale.ENGLISH);
+    private static final int PLAIN_TEXT_HEADER_LINES = 8;
+
+    @Override
+    public CoverLetterScaffold process(AgentContext context) {
+        log.info("{}: Building cover letter scaffold from resume contact details", getName());
+
+        String resume = context.getResumeContent() != null ? context.getResumeContent() : "";
+        List<String> headerLines = extractHeaderLines(resume);
+        String headerText = String.join("\n", headerLines);
+
+        String name = extractName(resume, headerLines);
+
+        return CoverLetterScaffold.builder()
+                .name(name)
+                .email(findFirst(EMAIL_PATTERN, headerText, resume))
+                .phone(findFirst(PHONE_PATTERN, headerText, null))
+                .linkedin(findFirst(LINKEDIN_PATTERN, headerText, resume))
+                .location(extractLocation(headerLines, name))
+                .date(LocalDate.now().format(DATE_FORMAT))
+                .greeting("Dear Hiring Manager,")
+                .closing(name != null ? "Sincerely,\n\n" + name : "Sincerely,")
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return "CoverLetterScaffoldingAgent";
+    }
+
+    /**
+     * Assemble the complete cover letter from the scaffold and the AI-generated body
+     *
+     * @param scaffold The locally built scaffold
+     * @param body The body paragraphs
+     * @return The complete cover letter text
+     */
+    public String assemble(CoverLetterScaffold scaffold, String body) {
+        StringBuilder letter = new StringBuilder();
+
+        List<String> header = new ArrayList<>();
+        addIfPresent(header, scaffold.getName());
+        addIfPresent(header, scaffold.getLocation());
+        addIfPresent(header, scaffold.getPhone());
+        addIfPresent(header, scaffold.getEmail());
+        addIfPresent(header, scaffold.getLinkedin());
+
+        if (!header.isEmpty()) {
+            letter.append(String.join("\n", header)).append("\n\n");
+        }
+
+        letter.append(scaffold.getDate()).append("\n\n");
+        letter.append(scaffold.getGreeting()).append("\n\n");
+        letter.append(body.trim()).append("\n\n");
+        letter.append(scaffold.getClosing());
+
+        return letter.toString();
+    }
+
+    /**
+     * Extract the lines that make up the resume header: the LaTeX center block (or
+     * everything before the first section), or the first few lines of a plain text resume
+     */
+    private List<String> extractHeaderLines(String resume) {
+        String header;
+        boolean isLatex = resume.contains("\\begin{document}") || resume.contains("\\section");
+
+        if (isLatex) {
+            Matcher center = Pattern.compile("\\\\begin\\{center\\}(.*?)\\\\end\\{center\\}", Pattern.DOTALL).matcher(resume);
+            if (center.find()) {
+                header = center.group(1);
+            } else {
+                int start = resume.indexOf("\\begin{document}");
+                int end = resume.indexOf("\\section");
+                start = start >= 0 ? start + "\\begin{document}".length() : 0;
+                header = end > start ? resume.substring(start, end) : "";
+            }
+        } else {
+            header = resume;
+        }
+
+        List<String> lines = new ArrayList<>();
+        for (String raw : header.split("\\\\\\\\|\\n")) {
+            String line = cleanLatex(raw);
+            if (!line.isEmpty()) {
+                lines.add(line);
+            }
+            if (!isLatex && lines.size() >= PLAIN_TEXT_HEADER_LINES) {
+                break;
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Extract the candidate name from a LaTeX name command or the first header line
+     */
+    private String extractName(String resume, List<String> headerLines) {
+        Matcher matcher = LATEX_NAME_PATTERN.matcher(resume);
+        if (matcher.find()) {
+            for (int i = 1; i <= matcher.groupCount(); i++) {
+                if (matcher.group(i) != null && !matcher.group(i).isBlank()) {
+                    return cleanLatex(matcher.group(i));
+                }
+            }
+        }
+
+        for (String line : headerLines) {
+            if (isContactLine(line)) {
+                continue;
+            }
+            // A name is a short line of words without digits or separators
+            if (line.matches("[\\p{L} .'-]{2,60}") && line.split("\\s+").length <= 5) {
+                return line;
+            }
+            break;
+        }
+        return null;
+    }
+
+    /**
+     * Extract the candidate location (address or city line) from the header
+     */
+    private String extractLocation(List<String> headerLines, String name) {
+        for (String line : headerLines) {
+            if (line.equals(name)) {
+                continue;
+            }
+            for (String part : line.split("\\s*[|•·]\\s*")) {
+                String candidate = part.trim();
+                if (candidate.contains(",") && !isContactLine(candidate) && candidate.length() <= 80) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean isContactLine(String line) {
+        return EMAIL_PATTERN.matcher(line).find()
+                || PHONE_PATTERN.matcher(line).find()
+                || line.contains("http")
+                || line.contains(".com/");
+    }
+
+    private String findFirst(Pattern pattern, String primary, String fallback) {
+        Matcher matcher = pattern.matcher(primary);
+        if (matcher.find()) {
+            return matcher.group().trim();
+        }
+        if (fallback != null) {
+            matcher = pattern.matcher(fallback);
+            if (matcher.find()) {
+                return matcher.group().trim();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Strip LaTeX markup from a single header line
+     */
+    private String cleanLatex(String text) {
+        return text
+                .replaceAll("\\\\href\\{[^}]*\\}\\{([^}]*)\\}", "$1")
+                .replaceAll("\\\\[a-zA-Z]+\\*?(?:\\[[^\\]]*\\])?", " ")
+                .replaceAll("[{}]", "")
+                .replaceAll("\\s+", " ")
+                .replaceAll("^[\\s|•]+|[\\s|•]+$", "")
+                .trim();
+    }
+
+    private void addIfPresent(List<String> lines, String value) {
+        if (value != null && !value.isBlank()) {
+            lines.add(value);
+        }
+    }
+}
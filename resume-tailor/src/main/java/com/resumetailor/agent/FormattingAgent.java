@@ -1,6 +1,7 @@
 package com.resumetailor.agent;
 
 import com.resumetailor.dto.AgentContext;
+import com.resumetailor.dto.CandidateEvaluation;
 import com.resumetailor.dto.FormattingTask;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -20,6 +21,14 @@ import java.util.stream.Collectors;
 @Slf4j
 public class FormattingAgent implements Agent<FormattingTask, Object> {
 
+   // A greeting line such as "Dear Hiring Manager," at the very start of the body
+   private static final Pattern GREETING = Pattern.compile("^(?:Dear|Hello|Hi|To whom)\\b[^\\n]*[,:][ \\t]*\\n+");
+   private static final Pattern SIGN_OFF = Pattern.compile(
+           "(?i)(?:Sincerely|Best regards|Kind regards|Warm regards|Regards|Respectfully|Yours)\\b.*");
+   // A sign-off is only looked for among the last few short lines of the body
+   private static final int SIGN_OFF_LINES = 3;
+   private static final int SIGN_OFF_LINE_LENGTH = 60;
+
    @Override
    public Object process(FormattingTask task) {
        log.info("{}: Formatting output for task: {}", getName(), task.getTaskType());
@@ -30,6 +39,10 @@ public class FormattingAgent implements Agent<FormattingTask, Object> {
                return formatResumeTailoringResponse(task.getRawOutput());
            case "cover_letter":
                return formatCoverLetterResponse(task.getRawOutput());
+           case "resume_tailoring_with_cover_letter":
+               return formatTailoringWithCoverLetterResponse(task.getRawOutput());
+           case "candidate_evaluation":
+               return formatCandidateEvaluation(task.getRawOutput());
            default:
                return task.getRawOutput();
        }
@@ -371,22 +384,50 @@ public class FormattingAgent implements Agent<FormattingTask, Object> {
        return 65;
    }
    
+   /**
+    * Format combined tailoring + cover letter response by splitting the raw output
+    * at the COVER LETTER header and formatting each part separately
+    */
+   private com.resumetailor.dto.TailorWithCoverLetterResponse formatTailoringWithCoverLetterResponse(String rawOutput) {
+       String tailoringOutput = rawOutput;
+       String coverLetterOutput = "";
+
+       if (rawOutput != null) {
+           Matcher matcher = Pattern.compile("COVER LETTER\\s*\\**\\s*:\\**").matcher(rawOutput);
+           int splitStart = -1;
+           int splitEnd = -1;
+           while (matcher.find()) {
+               splitStart = matcher.start();
+               splitEnd = matcher.end();
+           }
+
+           if (splitStart >= 0) {
+               tailoringOutput = rawOutput.substring(0, splitStart);
+               coverLetterOutput = rawOutput.substring(splitEnd);
+           } else {
+               log.warn("No COVER LETTER section found in combined AI response");
+           }
+       }
+
+       return com.resumetailor.dto.TailorWithCoverLetterResponse.builder()
+               .tailoring(formatResumeTailoringResponse(tailoringOutput))
+               .coverLetter(formatCoverLetterResponse(coverLetterOutput))
+               .build();
+   }
+
    /**
     * Format cover letter response
     */
    private com.resumetailor.dto.CoverLetterResponse formatCoverLetterResponse(String rawOutput) {
-       // For cover letters, we just need to clean up the text a bit
-       String cleanedOutput = rawOutput != null ? rawOutput.trim() : "";
+       // The AI only writes the body, so strip any greeting or sign-off it added anyway
+       String cleanedOutput = rawOutput != null ? stripLetterFrame(rawOutput.trim()) : "";
        
-       // If the output is empty, provide a fallback cover letter
+       // If the output is empty, provide a fallback cover letter body
        if (cleanedOutput.isEmpty()) {
            log.warn("Received empty cover letter response. Providing fallback cover letter.");
-           cleanedOutput = "Dear Hiring Manager,\n\n" +
-                   "I am writing to express my interest in the position at your company. " +
+           cleanedOutput = "I am writing to express my interest in the position at your company. " +
                    "Based on my experience and skills, I believe I would be a valuable addition to your team.\n\n" +
-                   "Please consider my application. I look forward to discussing how I can contribute to your organization.\n\n" +
-                   "Sincerely,\n\n" +
-                   "Your Name";
+                   "Please consider my application. I look forward to discussing how I can contribute to your organization.";
        }
        
        log.info("Formatted cover letter response, length: {}", cleanedOutput.length());
@@ -395,4 +436,62 @@ public class FormattingAgent implements Agent<FormattingTask, Object> {
                .coverLetter(cleanedOutput)
                .build();
    }
+   
+   /**
+    * Format candidate evaluation response. A response without a fit score is an error
+    * rather than a score of 0.
+    */
+   private CandidateEvaluation formatCandidateEvaluation(String rawOutput) {
+       String output = rawOutput != null ? rawOutput : "";
+
+       Matcher scoreMatcher = Pattern.compile("FIT SCORE\\s*\\**\\s*:\\**\\s*(\\d+)").matcher(output);
+       if (!scoreMatcher.find()) {
+           throw new IllegalStateException("No FIT SCORE found in candidate evaluation response");
+       }
+       int fitScore = Math.min(100, Integer.parseInt(scoreMatcher.group(1)));
+
+       String summary = "";
+       Matcher summaryMatcher = Pattern.compile("(?s)SUMMARY\\s*\\**\\s*:\\**\\s*(.+)").matcher(output);
+       if (summaryMatcher.find()) {
+           summary = summaryMatcher.group(1).trim();
+       }
+
+       return CandidateEvaluation.builder()
+               .fitScore(fitScore)
+               .summary(summary)
+               .build();
+   }
+
+   /**
+    * Remove a leading greeting and a trailing sign-off from a cover letter body,
+    * since those are assembled locally by CoverLetterScaffoldingAgent
+    */
+   private String stripLetterFrame(String body) {
+       return stripSignOff(GREETING.matcher(body).replaceFirst("")).trim();
+   }
+
+   /**
+    * Cut the body at a sign-off line among its last few short lines, so a paragraph that
+    * merely starts with "Regards" or "Yours" is kept
+    */
+   private static String stripSignOff(String body) {
+       String text = body.stripTrailing();
+       int end = text.length();
+       int lines = 0;
+       while (end > 0 && lines < SIGN_OFF_LINES) {
+           int start = text.lastIndexOf('\n', end - 1) + 1;
+           String line = text.substring(start, end).strip();
+           if (line.length() > SIGN_OFF_LINE_LENGTH) {
+               break;
+           }
+           if (SIGN_OFF.matcher(line).matches()) {
+               return text.substring(0, start);
+           }
+           if (!line.isEmpty()) {
+               lines++;
+           }
+           end = start - 1;
+       }
+       return text;
+   }
 }
@@ -0,0 +1,203 @@
+package com.resumetailor.agent;
+
+import com.resumetailor.dto.JobDescriptionAnalysis;
+import com.resumetailor.scoring.MatchScoringEngine;
+import com.resumetailor.scoring.TermFrequencyMap;
+import com.resumetailor.taxonomy.SkillTaxonomy;
+import com.resumetailor.util.CompressionUtils;
+import com.resumetailor.util.HashUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Agent responsible for analyzing a job description once so that every request against
+ * the same posting can reuse the result: boilerplate such as equal opportunity statements
+ * and bare application links is removed, requirements are extracted, and the keywords used by
+ * local scoring and GitHub ranking are computed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JobDescriptionAnalysisAgent implements Agent<String, JobDescriptionAnalysis> {
+
+    // Equal opportunity, accommodation and privacy statements
+    private static final Pattern BOILERPLATE_STATEMENT = Pattern.compile(
+            "(?i)\\bequal (?:employment )?opportunity (?:employer|workplace)|\\baffirmative action employer"
+                    + "|without regard to (?:their )?(?:race|color|religion|sex|gender|age|national origin|disability|sexual orientation)"
+                    + "|protected veteran status|\\breasonable accommodations?\\b.{0,80}\\b(?:contact|request|email|disabilit)"
+                    + "|(?:read|review|see) our (?:applicant )?privacy (?:policy|notice)|^(?:applicant )?privacy (?:policy|notice)\\b");
+    // Lines that are nothing but a link, a call to apply or a cookie notice
+    private static final Pattern BOILERPLATE_LINE = Pattern.compile(
+            "(?i)(?:apply (?:now|today|here)|click (?:the )?apply)\\b[^.]*\\.?|(?:[\\w ]{1,30}:\\s*)?(?:https?://|www\\.)\\S+"
+                    + "|(?:this (?:site|website) uses|we use) cookies\\b.*");
+    // Statement paragraphs up to this many lines are dropped whole, not just the matching line
+    private static final int MAX_STATEMENT_LINES = 4;
+    private static final Pattern BULLET = Pattern.compile("^\\s*(?:[-*•▪●◦]|\\d+[.)])\\s+(.+)$");
+    private static final Pattern REQUIREMENTS_HEADING = Pattern.compile(
+            "(?i)^\\s*(?:(?:minimum|basic|preferred) )?(?:requirements|qualifications|required skills|skills"
+                    + "|what you(?:'ll)? (?:bring|need)|must[- ]haves?|who you are|about you)\\s*:?\\s*$");
+    private static final Pattern REQUIREMENT_CUE = Pattern.compile(
+            "(?i)\\b(?:experience|proficien\\w*|knowledge of|familiar\\w*|degree|must|required|ability to|expertise"
+                    + "|understanding of|\\d+\\+? years)\\b");
+    private static final Pattern SENTENCE_END = Pattern.compile("(?<=[.!?])\\s+");
+
+    private static final List<String> COMMON_WORDS = List.of("the", "and", "that", "have", "for", "not", "with", "you", "this", "but");
+
+    private final MatchScoringEngine matchScoringEngine;
+    private final SkillTaxonomy skillTaxonomy;
+
+    @Value("${jd-analysis.max-requirements:25}")
+    private int maxRequirements;
+
+    @Value("${jd-analysis.max-weighted-keywords:30}")
+    private int maxWeightedKeywords;
+
+    @Override
+    public JobDescriptionAnalysis process(String jobDescription) {
+        log.info("{}: Analyzing job description", getName());
+
+        String cleanedText = removeBoilerplate(jobDescription);
+        TermFrequencyMap termFrequencies = matchScoringEngine.indexJobDescription(cleanedText);
+
+        return JobDescriptionAnalysis.builder()
+                .fingerprint(HashUtils.normalizedHash(jobDescription))
+                .requirements(extractRequirements(cleanedText))
+                .weightedKeywords(matchScoringEngine.weightedKeywords(termFrequencies, maxWeightedKeywords))
+                .keywords(extractKeywords(cleanedText))
+                // Rough estimate of about four characters per token
+                .tokenCount((cleanedText.length() + 3) / 4)
+                .compressedText(CompressionUtils.deflate(cleanedText))
+                .termFrequencies(termFrequencies)
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return "JobDescriptionAnalysisAgent";
+    }
+
+    /**
+     * Drop boilerplate and repeated lines, and collapse runs of blank lines. Only known
+     * boilerplate is removed: short paragraphs that are an equal opportunity, accommodation or
+     * privacy statement, statement lines outside bullet lists, and lines that are nothing but a
+     * link, a call to apply or a cookie notice. Bullets are always kept.
+     */
+    private String removeBoilerplate(String jobDescription) {
+        StringBuilder cleaned = new StringBuilder(jobDescription.length());
+        Set<String> seenLines = new HashSet<>();
+        List<String> paragraph = new ArrayList<>();
+
+        for (String line : jobDescription.split("\\R")) {
+            String trimmed = line.strip();
+            if (trimmed.isEmpty()) {
+                appendParagraph(paragraph, seenLines, cleaned);
+                paragraph.clear();
+            } else {
+                paragraph.add(trimmed);
+            }
+        }
+        appendParagraph(paragraph, seenLines, cleaned);
+        return cleaned.toString().strip();
+    }
+
+    private void appendParagraph(List<String> paragraph, Set<String> seenLines, StringBuilder cleaned) {
+        if (paragraph.isEmpty()) {
+            return;
+        }
+        boolean hasBullets = paragraph.stream().anyMatch(line -> BULLET.matcher(line).matches());
+        if (!hasBullets && paragraph.size() <= MAX_STATEMENT_LINES
+                && BOILERPLATE_STATEMENT.matcher(String.join(" ", paragraph)).find()) {
+            return;
+        }
+
+        int start = cleaned.length();
+        for (String line : paragraph) {
+            boolean bullet = BULLET.matcher(line).matches();
+            if (!bullet && (BOILERPLATE_STATEMENT.matcher(line).find() || BOILERPLATE_LINE.matcher(line).matches())
+                    || !seenLines.add(line.toLowerCase(Locale.ROOT).replaceAll("\\s+", " "))) {
+                continue;
+            }
+            cleaned.append(line.replaceAll("[ \\t]{2,}", " ")).append('\n');
+        }
+        if (cleaned.length() > start) {
+            cleaned.append('\n');
+        }
+    }
+
+    /**
+     * Bullets and lines under a requirements heading, plus bullets phrased as requirements;
+     * falls back to requirement-like sentences when the posting has no bullets
+     */
+    private List<String> extractRequirements(String cleanedText) {
+        List<String> requirements = new ArrayList<>();
+        boolean inRequirements = false;
+
+        for (String line : cleanedText.split("\n")) {
+            if (requirements.size() >= maxRequirements) {
+                break;
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            if (REQUIREMENTS_HEADING.matcher(line).matches()) {
+                inRequirements = true;
+                continue;
+            }
+
+            Matcher bullet = BULLET.matcher(line);
+            if (bullet.matches()) {
+                String text = bullet.group(1).strip();
+                if (inRequirements || REQUIREMENT_CUE.matcher(text).find()) {
+                    requirements.add(text);
+                }
+            } else if (isHeading(line)) {
+                inRequirements = false;
+            } else if (inRequirements) {
+                requirements.add(line.strip());
+            }
+        }
+
+        if (requirements.isEmpty()) {
+            for (String sentence : SENTENCE_END.split(cleanedText.replace('\n', ' '))) {
+                if (requirements.size() >= maxRequirements) {
+                    break;
+                }
+                if (REQUIREMENT_CUE.matcher(sentence).find()) {
+                    requirements.add(sentence.strip());
+                }
+            }
+        }
+        return requirements;
+    }
+
+    private boolean isHeading(String line) {
+        String trimmed = line.strip();
+        return trimmed.length() <= 60 && (trimmed.endsWith(":") || !trimmed.matches(".*[.!?,;]\\s*$") && trimmed.split("\\s+").length <= 6);
+    }
+
+    /**
+     * Keywords for ranking GitHub repositories: normalized skills first, then the remaining
+     * longer words
+     */
+    private List<String> extractKeywords(String cleanedText) {
+        Set<String> keywords = new LinkedHashSet<>(skillTaxonomy.extractSkills(cleanedText));
+
+        for (String word : cleanedText.toLowerCase(Locale.ROOT).split("\\W+")) {
+            if (word.length() > 3 && !COMMON_WORDS.contains(word)) {
+                keywords.add(skillTaxonomy.normalizeToken(word));
+            }
+        }
+        return List.copyOf(keywords);
+    }
+}
@@ -1,12 +1,15 @@
 package com.resumetailor.agent;
 
 import com.resumetailor.dto.AgentContext;
+import com.resumetailor.dto.JobDescriptionAnalysis;
 import com.resumetailor.dto.PromptTemplate;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Agent responsible for constructing effective prompts from user inputs.
@@ -19,6 +22,9 @@ public class PromptingAgent implements Agent<AgentContext, String> {
 
     private final Map<String, PromptTemplate> promptTemplates;
 
+    @Value("${prompt.job-description.max-tokens:1500}")
+    private int maxJobDescriptionTokens;
+
     public PromptingAgent() {
         this.promptTemplates = initializePromptTemplates();
     }
@@ -40,6 +46,33 @@ public class PromptingAgent implements Agent<AgentContext, String> {
         return "PromptingAgent";
     }
     
+    /**
+     * Append the job description, followed by its most important terms when it has been
+     * analyzed. A job description longer than the token budget is replaced by its extracted
+     * requirements.
+     */
+    private void appendJobDescription(StringBuilder promptBuilder, AgentContext context) {
+        JobDescriptionAnalysis analysis = context.getJobAnalysis();
+        if (analysis != null && analysis.getTokenCount() > maxJobDescriptionTokens
+                && analysis.getRequirements() != null && !analysis.getRequirements().isEmpty()) {
+            promptBuilder.append("JOB REQUIREMENTS:\n");
+            for (String requirement : analysis.getRequirements()) {
+                promptBuilder.append("- ").append(requirement).append('\n');
+            }
+            promptBuilder.append('\n');
+        } else {
+            promptBuilder.append("JOB DESCRIPTION:\n").append(context.getJobDescription()).append("\n\n");
+        }
+
+        if (analysis != null && analysis.getWeightedKeywords() != null && !analysis.getWeightedKeywords().isEmpty()) {
+            promptBuilder.append("KEY TERMS (most important first): ")
+                    .append(analysis.getWeightedKeywords().stream()
+                            .map(JobDescriptionAnalysis.WeightedKeyword::getKeyword)
+                            .collect(Collectors.joining(", ")))
+                    .append("\n\n");
+        }
+    }
+    
     /**
      * Initialize prompt templates for different tasks
      */
@@ -51,7 +84,7 @@ public class PromptingAgent implements Agent<AgentContext, String> {
             StringBuilder promptBuilder = new StringBuilder();
             promptBuilder.append("You are an expert resume consultant with years of experience helping people land their dream jobs.\n\n");
             promptBuilder.append("RESUME:\n").append(context.getResumeContent()).append("\n\n");
-            promptBuilder.append("JOB DESCRIPTION:\n").append(context.getJobDescription()).append("\n\n");
+            appendJobDescription(promptBuilder, context);
             promptBuilder.append("TASK: Analyze the resume and job description, then provide the following:\n");
             promptBuilder.append("1. A list of 3-5 specific suggestions to tailor the resume for this job\n");
             promptBuilder.append("2. For each suggestion, include: the original text, the improved version, and the reason for the change\n");
@@ -63,29 +96,86 @@ public class PromptingAgent implements Agent<AgentContext, String> {
             return promptBuilder.toString();
         });
         
+        // Template for tailoring a single resume section
+        templates.put("resume_section_tailoring", context -> {
+            StringBuilder promptBuilder = new StringBuilder();
+            promptBuilder.append("You are an expert resume consultant with years of experience helping people land their dream jobs.\n\n");
+            promptBuilder.append("RESUME SECTION (").append(context.getSectionTitle()).append("):\n").append(context.getResumeContent()).append("\n\n");
+            appendJobDescription(promptBuilder, context);
+            promptBuilder.append("TASK: Analyze this section of the resume against the job description, then provide the following:\n");
+            promptBuilder.append("1. A list of 1-3 specific suggestions to tailor this section for this job\n");
+            promptBuilder.append("2. For each suggestion, include: the original text, the improved version, and the reason for the change\n");
+            promptBuilder.append("3. A list of keywords from the job description that are missing in this section\n");
+            promptBuilder.append("4. A list of skills in this section that should be emphasized for this job\n");
+            promptBuilder.append("5. A match score (0-100) indicating how well this section matches the job description\n\n");
+            promptBuilder.append("Format your response in a structured way that can be easily parsed. Use clear section headers.");
+            
+            return promptBuilder.toString();
+        });
+        
         // Template for cover letter generation
         templates.put("cover_letter", context -> {
             StringBuilder promptBuilder = new StringBuilder();
             promptBuilder.append("You are an expert cover letter writer with years of experience in professional writing and career coaching.\n\n");
             promptBuilder.append("RESUME:\n").append(context.getResumeContent()).append("\n\n");
-            promptBuilder.append("JOB DESCRIPTION:\n").append(context.getJobDescription()).append("\n\n");
+            appendJobDescription(promptBuilder, context);
             
             if (context.getAdditionalInfo() != null && !context.getAdditionalInfo().isEmpty()) {
                 promptBuilder.append("ADDITIONAL INFORMATION:\n").append(context.getAdditionalInfo()).append("\n\n");
             }
             
-            promptBuilder.append("TASK: Write a professional, compelling cover letter that:\n");
+            promptBuilder.append("TASK: Write the body paragraphs of a professional, compelling cover letter that:\n");
             promptBuilder.append("1. Is tailored specifically to this job description\n");
             promptBuilder.append("2. Highlights the most relevant skills and experiences from the resume\n");
-            promptBuilder.append("3. Follows a standard cover letter format with proper greeting, introduction, body, and conclusion\n");
-            promptBuilder.append("4. Is approximately 300-400 words in length\n");
+            promptBuilder.append("3. Consists of an introduction, body, and concluding paragraph\n");
+            promptBuilder.append("4. Is approximately 250-350 words in length\n");
             promptBuilder.append("5. Has a professional but conversational tone\n");
             promptBuilder.append("6. Includes a call to action in the closing paragraph\n\n");
-            promptBuilder.append("Write the complete cover letter text only, without any explanations or meta-commentary.");
+            promptBuilder.append("Write the body paragraphs only. Do not include a header, address, date, greeting or sign-off, ");
+            promptBuilder.append("and do not add any explanations or meta-commentary.");
             
             return promptBuilder.toString();
         });
         
+        // Template for tailoring and cover letter generation in a single completion
+        templates.put("resume_tailoring_with_cover_letter", context -> {
+            StringBuilder promptBuilder = new StringBuilder();
+            promptBuilder.append("You are an expert resume consultant and cover letter writer with years of experience helping people land their dream jobs.\n\n");
+            promptBuilder.append("RESUME:\n").append(context.getResumeContent()).append("\n\n");
+            appendJobDescription(promptBuilder, context);
+
+            if (context.getAdditionalInfo() != null && !context.getAdditionalInfo().isEmpty()) {
+                promptBuilder.append("ADDITIONAL INFORMATION:\n").append(context.getAdditionalInfo()).append("\n\n");
+            }
+
+            promptBuilder.append("TASK: Analyze the resume and job description to tailor the resume, then write a cover letter.\n\n");
+            promptBuilder.append("Respond using exactly these section headers, in this order:\n");
+            promptBuilder.append("SUGGESTIONS: 3-5 numbered suggestions, each with lines 'Original:', 'Improved:' and 'Reason:'\n");
+            promptBuilder.append("MISSING KEYWORDS: a dash-prefixed list of keywords from the job description that are missing in the resume\n");
+            promptBuilder.append("SKILLS TO EMPHASIZE: a dash-prefixed list of skills in the resume that should be emphasized for this job\n");
+            promptBuilder.append("MATCH SCORE: an overall match score (0-100) as a plain number\n");
+            promptBuilder.append("COVER LETTER: the body paragraphs of a professional, compelling cover letter of approximately 250-350 words, ");
+            promptBuilder.append("tailored to this job, with an introduction, body, conclusion and a call to action\n\n");
+            promptBuilder.append("The COVER LETTER section must come last and contain only the body paragraphs. Do not include a header, address, ");
+            promptBuilder.append("date, greeting or sign-off, and do not add any explanations or meta-commentary.");
+
+            return promptBuilder.toString();
+        });
+
+        // Template for a recruiter's evaluation of an indexed candidate
+        templates.put("candidate_evaluation", context -> {
+            StringBuilder promptBuilder = new StringBuilder();
+            promptBuilder.append("You are an experienced technical recruiter screening candidates for a job opening.\n\n");
+            promptBuilder.append("RESUME:\n").append(context.getResumeContent()).append("\n\n");
+            appendJobDescription(promptBuilder, context);
+            promptBuilder.append("TASK: Assess how well this candidate fits the job. Respond using exactly these section headers:\n");
+            promptBuilder.append("FIT SCORE: an overall fit score (0-100) as a plain number\n");
+            promptBuilder.append("SUMMARY: two or three sentences on the candidate's strongest matches and most important gaps\n\n");
+            promptBuilder.append("Do not add any other sections, explanations or meta-commentary.");
+
+            return promptBuilder.toString();
+        });
+
         // Default template
         templates.put("default", context -> {
             StringBuilder promptBuilder = new StringBuilder();
@@ -96,7 +186,7 @@ public class PromptingAgent implements Agent<AgentContext, String> {
             }
             
             if (context.getJobDescription() != null) {
-                promptBuilder.append("JOB DESCRIPTION:\n").append(context.getJobDescription()).append("\n\n");
+                appendJobDescription(promptBuilder, context);
             }
             
             if (context.getAdditionalInfo() != null) {
@@ -0,0 +1,312 @@
+package com.resumetailor.agent;
+
+import com.resumetailor.dto.PatchResult;
+import com.resumetailor.dto.PatchTask;
+import com.resumetailor.dto.TailorResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Agent responsible for applying tailoring suggestions to the submitted resume locally.
+ * Each suggestion's original text is located with a whitespace- and LaTeX-tolerant match
+ * and replaced with the suggested text, without another AI call.
+ */
+@Component
+@Slf4j
+public class ResumePatchingAgent implements Agent<PatchTask, PatchResult> {
+
+    @Override
+    public PatchResult process(PatchTask task) {
+        String resume = task.getResumeContent() != null ? task.getResumeContent() : "";
+        List<TailorResponse.Suggestion> suggestions = task.getSuggestions() != null ? task.getSuggestions() : List.of();
+        log.info("{}: Applying {} suggestions to resume", getName(), suggestions.size());
+
+        boolean isLatex = resume.contains("\\begin{") || resume.contains("\\section");
+        NormalizedText haystack = normalize(resume);
+
+        // Locate every suggestion in the normalized resume
+        List<TailorResponse.EditOperation> candidates = new ArrayList<>();
+        for (int i = 0; i < suggestions.size(); i++) {
+            TailorResponse.EditOperation edit = locate(resume, haystack, suggestions.get(i), i, isLatex);
+            if (edit != null) {
+                candidates.add(edit);
+            } else {
+                log.debug("{}: Could not locate original text of suggestion {}", getName(), i);
+            }
+        }
+
+        // Apply non-overlapping edits in document order
+        candidates.sort(Comparator.comparingInt(TailorResponse.EditOperation::getStart));
+        List<TailorResponse.EditOperation> applied = new ArrayList<>();
+        StringBuilder patched = new StringBuilder(resume.length());
+        int cursor = 0;
+
+        for (TailorResponse.EditOperation edit : candidates) {
+            if (edit.getStart() < cursor) {
+                log.debug("{}: Skipping suggestion {} because it overlaps a previous edit", getName(), edit.getSuggestionIndex());
+                continue;
+            }
+            patched.append(resume, cursor, edit.getStart());
+            patched.append(edit.getReplacementText());
+            cursor = edit.getEnd();
+            applied.add(edit);
+        }
+        patched.append(resume, cursor, resume.length());
+
+        log.info("{}: Applied {} of {} suggestions", getName(), applied.size(), suggestions.size());
+
+        return PatchResult.builder()
+                .patchedContent(patched.toString())
+                .edits(applied)
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return "ResumePatchingAgent";
+    }
+
+    /**
+     * Locate a suggestion's original text in the resume and build the edit operation for it
+     */
+    private TailorResponse.EditOperation locate(String resume, NormalizedText haystack,
+                                                TailorResponse.Suggestion suggestion, int index, boolean isLatex) {
+        if (suggestion.getOriginalText() == null || suggestion.getSuggestedText() == null) {
+            return null;
+        }
+
+        String needle = normalize(stripListMarker(suggestion.getOriginalText())).text.trim();
+        String replacement = stripListMarker(suggestion.getSuggestedText()).trim();
+
+        // Tolerate a trailing period that the resume does not have
+        if (needle.endsWith(".")) {
+            needle = needle.substring(0, needle.length() - 1).trim();
+            if (replacement.endsWith(".")) {
+                replacement = replacement.substring(0, replacement.length() - 1);
+            }
+        }
+
+        if (needle.isEmpty()) {
+            return null;
+        }
+
+        int match = indexOf(haystack.text, needle);
+        if (match < 0) {
+            return null;
+        }
+
+        int start = haystack.startOffsets[match];
+        int end = haystack.endOffsets[match + needle.length() - 1];
+
+        // Widen the span so it does not cut through a brace group such as \textbf{...}
+        int[] span = balanceBraces(resume, start, end);
+        if (span == null) {
+            log.debug("{}: Match for suggestion {} has unbalanced braces", getName(), index);
+            return null;
+        }
+
+        return TailorResponse.EditOperation.builder()
+                .suggestionIndex(index)
+                .start(span[0])
+                .end(span[1])
+                .originalText(resume.substring(span[0], span[1]))
+                .replacementText(isLatex ? escapeLatex(replacement) : replacement)
+                .build();
+    }
+
+    /**
+     * Normalize text for matching: LaTeX commands and braces are dropped, escaped characters
+     * are unescaped, whitespace is collapsed and everything is lowercased. For every normalized
+     * character the offsets of the original characters it came from are recorded.
+     */
+    private NormalizedText normalize(String source) {
+        int length = source.length();
+        StringBuilder text = new StringBuilder(length);
+        int[] startOffsets = new int[length];
+        int[] endOffsets = new int[length];
+        boolean pendingSpace = false;
+        int pendingSpaceOffset = 0;
+
+        int i = 0;
+        while (i < length) {
+            char c = source.charAt(i);
+            int charStart = i;
+            char emitted;
+
+            if (c == '\\' && i + 1 < length) {
+                char next = source.charAt(i + 1);
+                if (Character.isLetter(next)) {
+                    // Control word: drop it and treat as a word boundary only when followed by whitespace
+                    i += 2;
+                    while (i < length && Character.isLetter(source.charAt(i))) {
+                        i++;
+                    }
+                    continue;
+                }
+                if (next == '\\') {
+                    // Line break
+                    if (!pendingSpace) {
+                        pendingSpaceOffset = i;
+                    }
+                    pendingSpace = true;
+                    i += 2;
+                    continue;
+                }
+                emitted = next;
+                i += 2;
+            } else if (c == '{' || c == '}') {
+                i++;
+                continue;
+            } else if (Character.isWhitespace(c) || c == '~') {
+                if (!pendingSpace) {
+                    pendingSpaceOffset = i;
+                }
+                pendingSpace = true;
+                i++;
+                continue;
+            } else {
+                emitted = canonicalChar(c);
+                i++;
+            }
+
+            if (pendingSpace && text.length() > 0) {
+                startOffsets[text.length()] = pendingSpaceOffset;
+                endOffsets[text.length()] = pendingSpaceOffset + 1;
+                text.append(' ');
+            }
+            pendingSpace = false;
+
+            startOffsets[text.length()] = charStart;
+            endOffsets[text.length()] = i;
+            text.append(Character.toLowerCase(emitted));
+        }
+
+        return new NormalizedText(text.toString(), startOffsets, endOffsets);
+    }
+
+    /**
+     * Map typographic variants to a single canonical character
+     */
+    private char canonicalChar(char c) {
+        switch (c) {
+            case '‘':
+            case '’':
+            case '`':
+                return '\'';
+            case '“':
+            case '”':
+                return '"';
+            case '–':
+            case '—':
+                return '-';
+            default:
+                return c;
+        }
+    }
+
+    /**
+     * Find the first occurrence of the pattern in the text in linear time (Knuth-Morris-Pratt)
+     */
+    private int indexOf(String text, String pattern) {
+        int[] failure = new int[pattern.length()];
+        for (int i = 1, k = 0; i < pattern.length(); i++) {
+            while (k > 0 && pattern.charAt(i) != pattern.charAt(k)) {
+                k = failure[k - 1];
+            }
+            if (pattern.charAt(i) == pattern.charAt(k)) {
+                k++;
+            }
+            failure[i] = k;
+        }
+
+        for (int i = 0, k = 0; i < text.length(); i++) {
+            while (k > 0 && text.charAt(i) != pattern.charAt(k)) {
+                k = failure[k - 1];
+            }
+            if (text.charAt(i) == pattern.charAt(k)) {
+                k++;
+            }
+            if (k == pattern.length()) {
+                return i - k + 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Extend a span so that its braces are balanced, pulling in the opening command of a
+     * group it starts inside of and the closing brace of a group it ends inside of
+     *
+     * @return The balanced span, or null if it cannot be balanced
+     */
+    private int[] balanceBraces(String source, int start, int end) {
+        int depth = 0;
+        int unmatchedClosing = 0;
+        for (int i = start; i < end; i++) {
+            char c = source.charAt(i);
+            if (c == '\\' && i + 1 < end) {
+                i++;
+            } else if (c == '{') {
+                depth++;
+            } else if (c == '}') {
+                if (depth > 0) {
+                    depth--;
+                } else {
+                    unmatchedClosing++;
+                }
+            }
+        }
+
+        // Pull in "\command{" openers to the left
+        while (unmatchedClosing > 0 && start > 0) {
+            int i = start - 1;
+            if (source.charAt(i) != '{') {
+                return null;
+            }
+            i--;
+            while (i >= 0 && Character.isLetter(source.charAt(i))) {
+                i--;
+            }
+            start = (i >= 0 && source.charAt(i) == '\\') ? i : i + 1;
+            unmatchedClosing--;
+        }
+
+        // Pull in closing braces to the right
+        while (depth > 0 && end < source.length() && source.charAt(end) == '}') {
+            end++;
+            depth--;
+        }
+
+        return unmatchedClosing == 0 && depth == 0 ? new int[]{start, end} : null;
+    }
+
+    private String stripListMarker(String text) {
+        return text.trim().replaceFirst("^(?:[-*•]|\\\\item)\\s+", "");
+    }
+
+    /**
+     * Escape LaTeX special characters that are not already escaped
+     */
+    private String escapeLatex(String text) {
+        return text.replaceAll("(?<!\\\\)([%&#_$])", "\\\\$1");
+    }
+
+    /**
+     * Normalized text with, for each character, the original start and end offsets
+     */
+    private static class NormalizedText {
+        final String text;
+        final int[] startOffsets;
+        final int[] endOffsets;
+
+        NormalizedText(String text, int[] startOffsets, int[] endOffsets) {
+            this.text = text;
+            this.startOffsets = startOffsets;
+            this.endOffsets = endOffsets;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.resumetailor.agent;
+
+import com.resumetailor.dto.ResumeSection;
+import com.resumetailor.dto.SectionMergeTask;
+import com.resumetailor.dto.TailorResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Agent responsible for combining per-section tailoring responses into a single response.
+ * Suggestions are concatenated in section order, keyword lists are deduplicated, keywords
+ * reported missing by one section but present elsewhere in the resume are dropped, and the
+ * match score is the section scores weighted by section length.
+ */
+@Component
+@Slf4j
+public class SectionMergingAgent implements Agent<SectionMergeTask, TailorResponse> {
+
+    @Override
+    public TailorResponse process(SectionMergeTask task) {
+        List<ResumeSection> sections = task.getSections();
+        List<TailorResponse> responses = task.getSectionResponses();
+        log.info("{}: Merging {} section responses", getName(), responses.size());
+
+        String resumeLower = task.getResumeContent() != null ? task.getResumeContent().toLowerCase(Locale.ROOT) : "";
+
+        List<TailorResponse.Suggestion> suggestions = new ArrayList<>();
+        Set<String> seenSuggestions = new HashSet<>();
+        Map<String, String> matched = new LinkedHashMap<>();
+        Map<String, String> missing = new LinkedHashMap<>();
+        long weightedScore = 0;
+        long totalWeight = 0;
+
+        for (int i = 0; i < responses.size(); i++) {
+            TailorResponse response = responses.get(i);
+            if (response == null) {
+                continue;
+            }
+
+            if (response.getSuggestions() != null) {
+                for (TailorResponse.Suggestion suggestion : response.getSuggestions()) {
+                    String key = suggestion.getOriginalText() != null ? suggestion.getOriginalText().trim().toLowerCase(Locale.ROOT) : "";
+                    if (seenSuggestions.add(key)) {
+                        suggestions.add(suggestion);
+                    }
+                }
+            }
+
+            addKeywords(matched, response.getKeywordsMatched());
+            addKeywords(missing, response.getKeywordsMissing());
+
+            int weight = i < sections.size() && sections.get(i).getContent() != null
+                    ? Math.max(1, sections.get(i).getContent().length())
+                    : 1;
+            weightedScore += (long) response.getMatchScore() * weight;
+            totalWeight += weight;
+        }
+
+        // A keyword is only missing if no section of the resume mentions it
+        missing.keySet().removeIf(key -> matched.containsKey(key) || resumeLower.contains(key));
+
+        int matchScore = totalWeight > 0 ? (int) Math.round((double) weightedScore / totalWeight) : 0;
+
+        return TailorResponse.builder()
+                .tailoredResume("")
+                .suggestions(suggestions)
+                .keywordsMatched(new ArrayList<>(matched.values()))
+                .keywordsMissing(new ArrayList<>(missing.values()))
+                .matchScore(matchScore)
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return "SectionMergingAgent";
+    }
+
+    private void addKeywords(Map<String, String> target, List<String> keywords) {
+        if (keywords == null) {
+            return;
+        }
+        for (String keyword : keywords) {
+            if (keyword != null && !keyword.isBlank()) {
+                target.putIfAbsent(keyword.trim().toLowerCase(Locale.ROOT), keyword.trim());
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.resumetailor.agent;
+
+import com.resumetailor.dto.ResumeSection;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Agent responsible for splitting a resume into its sections.
+ * LaTeX resumes are split on \section commands, plain text resumes on heading lines.
+ * The header (name and contact details) before the first section is not returned.
+ */
+@Component
+@Slf4j
+public class SectionSplittingAgent implements Agent<String, List<ResumeSection>> {
+
+    private static final Pattern LATEX_SECTION_PATTERN = Pattern.compile("\\\\section\\*?\\{([^}]*)\\}");
+    private static final Set<String> KNOWN_HEADINGS = Set.of(
+            "summary", "professional summary", "profile", "objective", "experience", "work experience",
+            "professional experience", "employment", "employment history", "education", "skills",
+            "technical skills", "projects", "certifications", "publications", "awards", "achievements",
+            "volunteer experience", "languages", "interests", "leadership", "activities"
+    );
+
+    @Override
+    public List<ResumeSection> process(String resumeContent) {
+        if (resumeContent == null || resumeContent.isEmpty()) {
+            return List.of();
+        }
+
+        List<ResumeSection> sections = resumeContent.contains("\\section")
+                ? splitLatex(resumeContent)
+                : splitPlainText(resumeContent);
+
+        log.info("{}: Split resume into {} sections", getName(), sections.size());
+        return sections;
+    }
+
+    @Override
+    public String getName() {
+        return "SectionSplittingAgent";
+    }
+
+    private List<ResumeSection> splitLatex(String resume) {
+        List<ResumeSection> sections = new ArrayList<>();
+        Matcher matcher = LATEX_SECTION_PATTERN.matcher(resume);
+
+        String title = null;
+        int contentStart = -1;
+        while (matcher.find()) {
+            if (title != null) {
+                sections.add(section(title, resume.substring(contentStart, matcher.start())));
+            }
+            title = matcher.group(1).trim();
+            contentStart = matcher.end();
+        }
+
+        if (title != null) {
+            int end = resume.indexOf("\\end{document}", contentStart);
+            sections.add(section(title, resume.substring(contentStart, end >= 0 ? end : resume.length())));
+        }
+        return sections;
+    }
+
+    private List<ResumeSection> splitPlainText(String resume) {
+        List<ResumeSection> sections = new ArrayList<>();
+        String title = null;
+        StringBuilder content = new StringBuilder();
+
+        for (String line : resume.split("\\r?\\n")) {
+            if (isHeading(line)) {
+                if (title != null) {
+                    sections.add(section(title, content.toString()));
+                }
+                title = line.trim().replaceAll(":$", "");
+                content.setLength(0);
+            } else if (title != null) {
+                content.append(line).append('\n');
+            }
+        }
+
+        if (title != null) {
+            sections.add(section(title, content.toString()));
+        }
+        return sections;
+    }
+
+    /**
+     * A heading is a short line that is either a known section name or written in capitals
+     */
+    private boolean isHeading(String line) {
+        String trimmed = line.trim().replaceAll(":$", "").trim();
+        if (trimmed.isEmpty() || trimmed.length() > 40) {
+            return false;
+        }
+        if (KNOWN_HEADINGS.contains(trimmed.toLowerCase(Locale.ROOT))) {
+            return true;
+        }
+        return trimmed.matches("[A-Z][A-Z &/-]{2,}");
+    }
+
+    private ResumeSection section(String title, String content) {
+        return ResumeSection.builder()
+                .title(title)
+                .content(content.trim())
+                .build();
+    }
+}
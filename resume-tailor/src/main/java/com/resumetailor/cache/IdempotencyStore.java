@@ -0,0 +1,154 @@
+package com.resumetailor.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resumetailor.exception.IdempotencyKeyConflictException;
+import com.resumetailor.util.HashUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, TTL-evicted store of results keyed by the client's Idempotency-Key header.
+ * The first request with a key reserves it and computes the result; retries with the
+ * same key and body wait for that result or replay it, and retries with a different
+ * body are rejected.
+ */
+@Component
+@Slf4j
+public class IdempotencyStore {
+
+    private final ObjectMapper objectMapper;
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final long waitTimeoutMillis;
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    public IdempotencyStore(ObjectMapper objectMapper,
+                            @Value("${idempotency.ttl-seconds:3600}") long ttlSeconds,
+                            @Value("${idempotency.max-entries:10000}") int maxEntries,
+                            @Value("${idempotency.wait-timeout-seconds:120}") long waitTimeoutSeconds) {
+        this.objectMapper = objectMapper;
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        this.maxEntries = maxEntries;
+        this.waitTimeoutMillis = TimeUnit.SECONDS.toMillis(waitTimeoutSeconds);
+    }
+
+    /**
+     * Execute the action at most once per idempotency key
+     *
+     * @param scope The endpoint the key belongs to
+     * @param idempotencyKey The client's Idempotency-Key header, or null to always execute
+     * @param requestBody The request body, used to detect key reuse with a different request
+     * @param action The action computing the result
+     * @return The computed or replayed result
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String scope, String idempotencyKey, Object requestBody, Supplier<T> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+
+        String key = scope + ":" + idempotencyKey;
+        String fingerprint = fingerprint(requestBody);
+        Entry entry;
+        boolean owner = false;
+
+        synchronized (entries) {
+            evictExpired();
+            entry = entries.get(key);
+            if (entry == null) {
+                entry = new Entry(fingerprint, System.currentTimeMillis() + ttlMillis);
+                entries.put(key, entry);
+                owner = true;
+                evictOverflow();
+            }
+        }
+
+        if (!entry.fingerprint.equals(fingerprint)) {
+            throw new IdempotencyKeyConflictException("Idempotency-Key " + idempotencyKey + " was already used with a different request");
+        }
+
+        if (owner) {
+            try {
+                T result = action.get();
+                entry.result.complete(result);
+                return result;
+            } catch (RuntimeException e) {
+                // Release the key so the client can retry a failed request
+                synchronized (entries) {
+                    entries.remove(key, entry);
+                }
+                entry.result.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        log.info("Replaying result for Idempotency-Key {}", idempotencyKey);
+        try {
+            return (T) entry.result.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new RuntimeException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new RuntimeException("Timed out waiting for the original request with Idempotency-Key " + idempotencyKey);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the original request", e);
+        }
+    }
+
+    private String fingerprint(Object requestBody) {
+        try {
+            return HashUtils.sha256(objectMapper.writeValueAsBytes(requestBody));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Request body cannot be serialized", e);
+        }
+    }
+
+    /**
+     * Entries are inserted in expiry order, so expired entries are always at the head
+     */
+    private void evictExpired() {
+        long now = System.currentTimeMillis();
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.expiresAt > now) {
+                break;
+            }
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Drop the oldest completed entries when the store is over capacity
+     */
+    private void evictOverflow() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            if (iterator.next().result.isDone()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static class Entry {
+        final String fingerprint;
+        final long expiresAt;
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        Entry(String fingerprint, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.resumetailor.cache;
+
+import com.resumetailor.agent.JobDescriptionAnalysisAgent;
+import com.resumetailor.dto.CacheStats;
+import com.resumetailor.dto.JobDescriptionAnalysis;
+import com.resumetailor.util.HashUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded LRU store of job description analyses shared across users, keyed by the
+ * normalized job description fingerprint, so popular postings are analyzed once
+ */
+@Component
+@Slf4j
+public class JobDescriptionAnalysisStore {
+
+    private final JobDescriptionAnalysisAgent jobDescriptionAnalysisAgent;
+    private final Map<String, JobDescriptionAnalysis> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public JobDescriptionAnalysisStore(JobDescriptionAnalysisAgent jobDescriptionAnalysisAgent,
+                                       @Value("${jd-analysis.max-entries:500}") int maxEntries) {
+        this.jobDescriptionAnalysisAgent = jobDescriptionAnalysisAgent;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, JobDescriptionAnalysis> eldest) {
+                if (size() > maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get the analysis of a job description, analyzing it on first use
+     *
+     * @param jobDescription The job description
+     * @return The shared analysis
+     */
+    public JobDescriptionAnalysis analyze(String jobDescription) {
+        String fingerprint = HashUtils.normalizedHash(jobDescription);
+
+        synchronized (entries) {
+            JobDescriptionAnalysis cached = entries.get(fingerprint);
+            if (cached != null) {
+                hits.incrementAndGet();
+                log.debug("Job description analysis cache hit for {}", fingerprint);
+                return cached;
+            }
+        }
+
+        // Analyze outside the lock; concurrent first requests for a posting may both analyze it
+        misses.incrementAndGet();
+        JobDescriptionAnalysis analysis = jobDescriptionAnalysisAgent.process(jobDescription);
+
+        synchronized (entries) {
+            JobDescriptionAnalysis existing = entries.putIfAbsent(fingerprint, analysis);
+            return existing != null ? existing : analysis;
+        }
+    }
+
+    /**
+     * Hit and miss counts of the store since startup
+     *
+     * @return The store statistics
+     */
+    public CacheStats stats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        long lookups = hitCount + missCount;
+
+        return CacheStats.builder()
+                .hits(hitCount)
+                .misses(missCount)
+                .evictions(evictions.get())
+                .size(size)
+                .hitRate(lookups > 0 ? (double) hitCount / lookups : 0.0)
+                .build();
+    }
+}
@@ -0,0 +1,307 @@
+package com.resumetailor.cache;
+
+import com.resumetailor.dto.TailorResponse;
+import com.resumetailor.util.HashUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Bounded cache of tailoring results that also matches near-identical job descriptions,
+ * such as re-pasted copies with different whitespace, an extra tracking footer or reordered
+ * bullets. Job descriptions are reduced to MinHash signatures over word shingles and indexed
+ * with locality-sensitive hashing (banding), scoped to the exact resume and provider, so a
+ * lookup only compares against a handful of candidates. A candidate is served when its
+ * estimated Jaccard similarity reaches the configured threshold.
+ */
+@Component
+@Slf4j
+public class NearDuplicateTailorCache {
+
+    private static final int NUM_HASHES = 128;
+    private static final int BANDS = 32;
+    private static final int ROWS = NUM_HASHES / BANDS;
+    private static final int SHINGLE_SIZE = 3;
+
+    private static final Pattern URL_PATTERN = Pattern.compile("https?://\\S+|www\\.\\S+");
+    // Bullets, lines and sentences: shingles never span two of them, so reordering is free
+    private static final Pattern UNIT_SEPARATOR = Pattern.compile("[\\r\\n]+|(?<=[.!?;])\\s+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}+#.]+");
+
+    private static final long[] HASH_SEEDS = new long[NUM_HASHES];
+
+    static {
+        long seed = 0x5DEECE66DL;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            seed += 0x9E3779B97F4A7C15L;
+            HASH_SEEDS[i] = mix(seed);
+        }
+    }
+
+    private final boolean enabled;
+    private final double threshold;
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    // Entries in access order, so the eldest is the least recently used
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Long, List<Entry>> buckets = new HashMap<>();
+    private long nextId;
+
+    public NearDuplicateTailorCache(@Value("${tailoring.near-duplicate-cache.enabled:true}") boolean enabled,
+                                    @Value("${tailoring.near-duplicate-cache.threshold:0.8}") double threshold,
+                                    @Value("${tailoring.near-duplicate-cache.max-entries:1000}") int maxEntries,
+                                    @Value("${tailoring.near-duplicate-cache.ttl-seconds:86400}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.threshold = threshold;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+    }
+
+    /**
+     * Find the result of a recent request for the same resume and provider whose job
+     * description is near-identical to this one
+     *
+     * @param resumeContent The resume content
+     * @param jobDescription The job description
+     * @param provider The AI provider
+     * @return A copy of the cached response, or null if there is none
+     */
+    public TailorResponse find(String resumeContent, String jobDescription, String provider) {
+        if (!enabled) {
+            return null;
+        }
+
+        String scope = scope(resumeContent, provider);
+        int[] signature = signature(jobDescription);
+        long[] bandKeys = bandKeys(scope, signature);
+        long now = System.currentTimeMillis();
+
+        synchronized (this) {
+            Entry best = null;
+            double bestSimilarity = 0;
+            Set<Entry> compared = new HashSet<>();
+            for (long bandKey : bandKeys) {
+                for (Entry candidate : buckets.getOrDefault(bandKey, List.of())) {
+                    if (!compared.add(candidate) || !candidate.scope.equals(scope) || candidate.expiresAt <= now) {
+                        continue;
+                    }
+                    double similarity = similarity(signature, candidate.signature);
+                    if (similarity > bestSimilarity) {
+                        best = candidate;
+                        bestSimilarity = similarity;
+                    }
+                }
+            }
+
+            if (best == null || bestSimilarity < threshold) {
+                return null;
+            }
+
+            entries.get(best.id); // Refresh the entry's LRU position
+            log.info("Serving cached tailoring result for a near-identical job description (similarity {})",
+                    String.format(Locale.ROOT, "%.2f", bestSimilarity));
+            return copy(best.response);
+        }
+    }
+
+    /**
+     * Cache the result of a tailoring request
+     *
+     * @param resumeContent The resume content
+     * @param jobDescription The job description
+     * @param provider The AI provider
+     * @param response The tailoring result
+     */
+    public void put(String resumeContent, String jobDescription, String provider, TailorResponse response) {
+        if (!enabled) {
+            return;
+        }
+
+        String scope = scope(resumeContent, provider);
+        int[] signature = signature(jobDescription);
+        long[] bandKeys = bandKeys(scope, signature);
+
+        synchronized (this) {
+            Entry entry = new Entry(nextId++, scope, signature, bandKeys, copy(response),
+                    System.currentTimeMillis() + ttlMillis);
+            entries.put(entry.id, entry);
+            for (long bandKey : bandKeys) {
+                buckets.computeIfAbsent(bandKey, key -> new ArrayList<>(1)).add(entry);
+            }
+            evict();
+        }
+    }
+
+    /**
+     * Drop expired entries and the least recently used entries beyond capacity
+     */
+    private void evict() {
+        long now = System.currentTimeMillis();
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entries.size() <= maxEntries && entry.expiresAt > now) {
+                // Remaining entries are more recently used; expired ones are skipped on lookup
+                break;
+            }
+            iterator.remove();
+            for (long bandKey : entry.bandKeys) {
+                List<Entry> bucket = buckets.get(bandKey);
+                if (bucket != null) {
+                    bucket.remove(entry);
+                    if (bucket.isEmpty()) {
+                        buckets.remove(bandKey);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Entries hold a tailored copy of the resume and edit offsets into it, so they are only
+     * served for exactly the same resume text, whitespace included
+     */
+    private String scope(String resumeContent, String provider) {
+        return HashUtils.sha256(resumeContent) + ":" + provider;
+    }
+
+    /**
+     * MinHash signature of the job description's word shingles
+     */
+    private int[] signature(String jobDescription) {
+        int[] signature = new int[NUM_HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+
+        for (long shingle : shingles(jobDescription)) {
+            for (int i = 0; i < NUM_HASHES; i++) {
+                int hash = (int) (mix(shingle ^ HASH_SEEDS[i]) >>> 33);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Hashes of the word shingles of the lowercased job description with URLs removed
+     */
+    private Set<Long> shingles(String jobDescription) {
+        Set<Long> shingles = new HashSet<>();
+        String text = URL_PATTERN.matcher(jobDescription.toLowerCase(Locale.ROOT)).replaceAll(" ");
+
+        for (String unit : UNIT_SEPARATOR.split(text)) {
+            String[] words = NON_WORD.split(unit.trim());
+            List<String> tokens = new ArrayList<>(words.length);
+            for (String word : words) {
+                if (!word.isEmpty()) {
+                    tokens.add(word);
+                }
+            }
+            if (tokens.isEmpty()) {
+                continue;
+            }
+            if (tokens.size() < SHINGLE_SIZE) {
+                shingles.add(hash(String.join(" ", tokens)));
+                continue;
+            }
+            for (int i = 0; i + SHINGLE_SIZE <= tokens.size(); i++) {
+                shingles.add(hash(String.join(" ", tokens.subList(i, i + SHINGLE_SIZE))));
+            }
+        }
+        return shingles;
+    }
+
+    /**
+     * One key per band of the signature, scoped to the resume and provider
+     */
+    private long[] bandKeys(String scope, int[] signature) {
+        long scopeHash = hash(scope);
+        long[] keys = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long key = mix(scopeHash + band);
+            for (int row = 0; row < ROWS; row++) {
+                key = mix(key ^ signature[band * ROWS + row]);
+            }
+            keys[band] = key;
+        }
+        return keys;
+    }
+
+    /**
+     * Estimated Jaccard similarity: the share of equal signature components
+     */
+    private double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / NUM_HASHES;
+    }
+
+    private TailorResponse copy(TailorResponse response) {
+        return TailorResponse.builder()
+                .tailoredResume(response.getTailoredResume())
+                .suggestions(response.getSuggestions() != null ? new ArrayList<>(response.getSuggestions()) : null)
+                .keywordsMatched(response.getKeywordsMatched() != null ? new ArrayList<>(response.getKeywordsMatched()) : null)
+                .keywordsMissing(response.getKeywordsMissing() != null ? new ArrayList<>(response.getKeywordsMissing()) : null)
+                .matchScore(response.getMatchScore())
+                .edits(response.getEdits() != null ? new ArrayList<>(response.getEdits()) : null)
+                .build();
+    }
+
+    /**
+     * 64-bit FNV-1a hash
+     */
+    private static long hash(String text) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * SplitMix64 finalizer
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static class Entry {
+        final long id;
+        final String scope;
+        final int[] signature;
+        final long[] bandKeys;
+        final TailorResponse response;
+        final long expiresAt;
+
+        Entry(long id, String scope, int[] signature, long[] bandKeys, TailorResponse response, long expiresAt) {
+            this.id = id;
+            this.scope = scope;
+            this.signature = signature;
+            this.bandKeys = bandKeys;
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
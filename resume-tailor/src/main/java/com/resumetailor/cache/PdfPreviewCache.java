@@ -0,0 +1,52 @@
+package com.resumetailor.cache;
+
+import com.resumetailor.dto.PdfPreview;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of encoded page previews, keyed by the content hash of the LaTeX, the
+ * page and the resolution. Bounded by the total size of the images.
+ */
+@Component
+public class PdfPreviewCache {
+
+    private final long maxBytes;
+    private final Map<String, PdfPreview> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    public PdfPreviewCache(@Value("${pdf.preview.cache.max-bytes:16777216}") long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Build the cache key of a page preview
+     *
+     * @param contentKey The render cache key of the LaTeX
+     * @param page The page number
+     * @param dpi The resolution
+     * @return The cache key
+     */
+    public String key(String contentKey, int page, float dpi) {
+        return contentKey + ":" + page + ":" + dpi;
+    }
+
+    public synchronized PdfPreview get(String key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(String key, PdfPreview preview) {
+        PdfPreview previous = entries.put(key, preview);
+        bytes += preview.getImage().length - (previous != null ? previous.getImage().length : 0);
+
+        Iterator<PdfPreview> eldest = entries.values().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            bytes -= eldest.next().getImage().length;
+            eldest.remove();
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.resumetailor.cache;
+
+import com.resumetailor.agent.PDFAgent;
+import com.resumetailor.pdf.FontRegistry;
+import com.resumetailor.util.HashUtils;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed cache of compiled PDFs, keyed by a hash of the LaTeX and the render
+ * version. Small, recently used PDFs are kept on the heap; every render is also written to
+ * a file that is memory-mapped when served, so the disk tier survives restarts and costs
+ * no heap. Both tiers are bounded and evict least recently used entries.
+ */
+@Component
+@Slf4j
+public class PdfRenderCache {
+
+    private static final String PDF_SUFFIX = ".pdf";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final FontRegistry fontRegistry;
+    private final Path directory;
+    private final long maxMemoryBytes;
+    private final long maxMemoryEntryBytes;
+    private final Map<String, byte[]> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Long> disk;
+    private long memoryBytes;
+
+    public PdfRenderCache(FontRegistry fontRegistry,
+                          @Value("${pdf.render-cache.dir:${java.io.tmpdir}/resume-tailor/pdf-cache}") String directory,
+                          @Value("${pdf.render-cache.memory.max-bytes:33554432}") long maxMemoryBytes,
+                          @Value("${pdf.render-cache.memory.max-entry-bytes:1048576}") long maxMemoryEntryBytes,
+                          @Value("${pdf.render-cache.disk.max-entries:2000}") int maxDiskEntries) {
+        this.fontRegistry = fontRegistry;
+        this.directory = Path.of(directory);
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.maxMemoryEntryBytes = maxMemoryEntryBytes;
+        this.disk = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                if (size() <= maxDiskEntries) {
+                    return false;
+                }
+                deleteQuietly(file(eldest.getKey()));
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Index the renders left by a previous run, oldest first, and drop unfinished writes
+     */
+    @PostConstruct
+    public void load() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(Files::isRegularFile).toList();
+        }
+
+        files.stream()
+                .filter(file -> file.getFileName().toString().endsWith(TEMP_SUFFIX))
+                .forEach(PdfRenderCache::deleteQuietly);
+        List<Path> renders = files.stream()
+                .filter(file -> file.getFileName().toString().endsWith(PDF_SUFFIX))
+                .sorted(Comparator.comparingLong(PdfRenderCache::lastModified))
+                .toList();
+        synchronized (this) {
+            for (Path render : renders) {
+                String name = render.getFileName().toString();
+                disk.put(name.substring(0, name.length() - PDF_SUFFIX.length()), size(render));
+            }
+        }
+        log.info("PDF render cache at {} holds {} renders", directory, renders.size());
+    }
+
+    /**
+     * Build the cache key of a LaTeX document from the LaTeX, the render version and the
+     * configured fonts. Identical keys always compile to identical bytes, so the key
+     * doubles as a strong ETag.
+     *
+     * @param latexContent The LaTeX content
+     * @return The cache key
+     */
+    public String key(String latexContent) {
+        return key(latexContent, false);
+    }
+
+    /**
+     * Build the cache key of a LaTeX document compiled to a linearized or a regular PDF
+     *
+     * @param latexContent The LaTeX content
+     * @param linearized Whether the PDF is linearized
+     * @return The cache key
+     */
+    public String key(String latexContent, boolean linearized) {
+        // Regular renders keep the keys they had before linearized output existed
+        String variant = linearized ? "linearized\n" : "";
+        return HashUtils.sha256("v" + PDFAgent.RENDER_VERSION + "\n" + fontRegistry.fingerprint() + "\n" + variant + latexContent);
+    }
+
+    /**
+     * The cached PDF for a key, rendering and caching it first on a miss. Rendering errors
+     * surface here, before anything is written; the entry stays readable even if it is
+     * evicted before it is written out.
+     *
+     * @param key The cache key
+     * @param render Writes the PDF for the key to the stream it is given
+     * @return The PDF
+     */
+    public Entry get(String key, Consumer<OutputStream> render) throws IOException {
+        byte[] bytes = getFromMemory(key);
+        if (bytes != null) {
+            return new Entry(ByteBuffer.wrap(bytes), true);
+        }
+
+        Path file = file(key);
+        boolean hit = isOnDisk(key) && Files.exists(file);
+        if (!hit) {
+            renderToDisk(key, render);
+        }
+        try {
+            return new Entry(readFromDisk(key, file), hit);
+        } catch (NoSuchFileException e) {
+            // Evicted between the lookup and the read
+            renderToDisk(key, render);
+            return new Entry(readFromDisk(key, file), false);
+        }
+    }
+
+    /**
+     * Render into a temporary file and move it into place, so readers never see a partial
+     * render. Concurrent misses on the same key write identical bytes.
+     */
+    private void renderToDisk(String key, Consumer<OutputStream> render) throws IOException {
+        Path temp = Files.createTempFile(directory, key, TEMP_SUFFIX);
+        try {
+            try (OutputStream fileOut = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                render.accept(fileOut);
+            }
+            Files.move(temp, file(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(temp);
+            throw e;
+        }
+        synchronized (this) {
+            disk.put(key, size(file(key)));
+        }
+    }
+
+    /**
+     * Map a render from its file, keeping a heap copy when it is small enough
+     */
+    private ByteBuffer readFromDisk(String key, Path file) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (mapped.capacity() <= maxMemoryEntryBytes) {
+            byte[] bytes = new byte[mapped.capacity()];
+            mapped.get(bytes);
+            putInMemory(key, bytes);
+            return ByteBuffer.wrap(bytes);
+        }
+        return mapped;
+    }
+
+    private synchronized byte[] getFromMemory(String key) {
+        byte[] bytes = memory.get(key);
+        if (bytes != null) {
+            // Keep the disk entry warm so it is not evicted before its heap copy
+            disk.get(key);
+        }
+        return bytes;
+    }
+
+    private synchronized boolean isOnDisk(String key) {
+        return disk.get(key) != null;
+    }
+
+    private synchronized void putInMemory(String key, byte[] bytes) {
+        byte[] previous = memory.put(key, bytes);
+        memoryBytes += bytes.length - (previous != null ? previous.length : 0);
+
+        Iterator<byte[]> eldest = memory.values().iterator();
+        while (memoryBytes > maxMemoryBytes && eldest.hasNext()) {
+            memoryBytes -= eldest.next().length;
+            eldest.remove();
+        }
+    }
+
+    private Path file(String key) {
+        return directory.resolve(key + PDF_SUFFIX);
+    }
+
+    private static long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete cached PDF {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * A rendered PDF, held on the heap or mapped from its cache file
+     */
+    public static final class Entry {
+
+        private final ByteBuffer content;
+        private final boolean cached;
+
+        private Entry(ByteBuffer content, boolean cached) {
+            this.content = content;
+            this.cached = cached;
+        }
+
+        /**
+         * Whether the PDF was already in the cache rather than rendered for this lookup
+         */
+        public boolean isCached() {
+            return cached;
+        }
+
+        /**
+         * Write the PDF to a stream
+         *
+         * @param out The stream to write the PDF to
+         */
+        public void writeTo(OutputStream out) throws IOException {
+            ByteBuffer remaining = content.duplicate();
+            if (remaining.hasArray()) {
+                out.write(remaining.array(), remaining.arrayOffset() + remaining.position(), remaining.remaining());
+                return;
+            }
+            WritableByteChannel target = Channels.newChannel(out);
+            while (remaining.hasRemaining()) {
+                target.write(remaining);
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.resumetailor.cache;
+
+import com.resumetailor.latex.LatexDocument;
+import com.resumetailor.pdf.BoxLayout;
+import com.resumetailor.util.HashUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of laid out resume sections, keyed by a hash of the section content.
+ * Lets a recompile after a small edit lay out only the sections that changed.
+ */
+@Component
+public class SectionLayoutCache {
+
+    private static final char FIELD = '\u0000';
+    private static final char BLOCK = '\u0001';
+
+    private final Map<String, BoxLayout> entries;
+
+    public SectionLayoutCache(@Value("${pdf.layout-cache.max-entries:1000}") int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, BoxLayout> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Build the cache key of a section from the text and structure its layout depends on
+     *
+     * @param section The section
+     * @return The cache key
+     */
+    public String key(LatexDocument.Section section) {
+        StringBuilder content = new StringBuilder(section.getTitle());
+        for (LatexDocument.Block block : section.getBlocks()) {
+            content.append(BLOCK);
+            if (block instanceof LatexDocument.Paragraph paragraph) {
+                content.append('P');
+                appendAll(content, paragraph.getLines());
+            } else if (block instanceof LatexDocument.ItemList list) {
+                content.append('L');
+                appendAll(content, list.getItems());
+            } else if (block instanceof LatexDocument.Entry entry) {
+                content.append('E').append(FIELD).append(entry.getTitle().getPlainText())
+                        .append(FIELD).append(entry.getDates() != null ? entry.getDates() : "")
+                        .append(FIELD).append(entry.getSubtitle() != null ? entry.getSubtitle().getPlainText() : "");
+                appendAll(content, entry.getItems());
+            }
+        }
+        return HashUtils.sha256(content.toString());
+    }
+
+    public synchronized BoxLayout get(String key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(String key, BoxLayout layout) {
+        entries.put(key, layout);
+    }
+
+    private static void appendAll(StringBuilder content, Iterable<LatexDocument.InlineText> lines) {
+        for (LatexDocument.InlineText line : lines) {
+            content.append(FIELD).append(line.getPlainText());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.resumetailor.cache;
+
+import com.resumetailor.dto.ResumeSection;
+import com.resumetailor.dto.TailorResponse;
+import com.resumetailor.util.HashUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of per-section tailoring results, keyed by the section content hash,
+ * the job description hash and the provider. Lets a resubmitted resume re-tailor only
+ * the sections that changed.
+ */
+@Component
+@Slf4j
+public class SectionTailoringCache {
+
+    private final Map<String, TailorResponse> entries;
+
+    public SectionTailoringCache(@Value("${tailoring.section-cache.max-entries:2000}") int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TailorResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Build the cache key for a section tailored against a job description
+     *
+     * @param section The resume section
+     * @param jobDescription The job description
+     * @param provider The AI provider
+     * @return The cache key
+     */
+    public String key(ResumeSection section, String jobDescription, String provider) {
+        String sectionHash = HashUtils.normalizedHash(section.getTitle() + "\n" + section.getContent());
+        return sectionHash + ":" + HashUtils.normalizedHash(jobDescription) + ":" + provider;
+    }
+
+    public synchronized TailorResponse get(String key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(String key, TailorResponse response) {
+        entries.put(key, response);
+    }
+}
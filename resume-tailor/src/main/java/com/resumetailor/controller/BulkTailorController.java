@@ -0,0 +1,87 @@
+package com.resumetailor.controller;
+
+import com.resumetailor.dto.BulkJobStatus;
+import com.resumetailor.service.BulkTailoringService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/bulk")
+@RequiredArgsConstructor
+@Slf4j
+public class BulkTailorController {
+
+    private final BulkTailoringService bulkTailoringService;
+
+    /**
+     * Endpoint to create a bulk tailoring job from a CSV or JSONL upload
+     *
+     * @param file CSV (with resumeContent and jobDescription columns) or JSONL file
+     * @param apiKey API key used for every item
+     * @param provider AI provider used for every item
+     * @return The created job status
+     */
+    @PostMapping(value = "/jobs", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<BulkJobStatus> submitJob(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam String apiKey,
+            @RequestParam(defaultValue = "openai") String provider) throws IOException {
+        log.info("Received bulk tailoring upload: {}", file.getOriginalFilename());
+        BulkJobStatus status = bulkTailoringService.submitJob(file.getInputStream(), file.getOriginalFilename(), apiKey, provider);
+        return ResponseEntity.accepted().body(status);
+    }
+
+    /**
+     * Endpoint to resume a bulk tailoring job interrupted by a restart. API keys are never
+     * persisted, so the key has to be submitted again.
+     *
+     * @param jobId The job ID
+     * @param apiKey API key used for the remaining items
+     * @return The job status
+     */
+    @PostMapping("/jobs/{jobId}/resume")
+    public ResponseEntity<BulkJobStatus> resumeJob(@PathVariable String jobId, @RequestParam String apiKey) {
+        log.info("Received request to resume bulk job {}", jobId);
+        return ResponseEntity.ok(bulkTailoringService.resumeJob(jobId, apiKey));
+    }
+
+    /**
+     * Endpoint to get the progress of a bulk tailoring job
+     *
+     * @param jobId The job ID
+     * @return The job status
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<BulkJobStatus> getStatus(@PathVariable String jobId) {
+        return ResponseEntity.ok(bulkTailoringService.getStatus(jobId));
+    }
+
+    /**
+     * Endpoint to stream the results of a bulk tailoring job as JSON lines as they complete
+     *
+     * @param jobId The job ID
+     * @param follow Whether to keep the stream open until the job has finished
+     * @return Streamed results
+     */
+    @GetMapping(value = "/jobs/{jobId}/results", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> streamResults(
+            @PathVariable String jobId,
+            @RequestParam(defaultValue = "true") boolean follow) throws IOException {
+        ResponseBodyEmitter emitter = bulkTailoringService.streamResults(jobId, follow);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(emitter);
+    }
+}
@@ -1,5 +1,6 @@
 package com.resumetailor.controller;
 
+import com.resumetailor.cache.IdempotencyStore;
 import com.resumetailor.dto.CoverLetterRequest;
 import com.resumetailor.dto.CoverLetterResponse;
 import com.resumetailor.service.CoverLetterService;
@@ -8,6 +9,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -18,17 +20,22 @@ import org.springframework.web.bind.annotation.RestController;
 public class CoverLetterController {
 
     private final CoverLetterService coverLetterService;
+    private final IdempotencyStore idempotencyStore;
 
     /**
      * Endpoint to generate a cover letter based on resume and job description using AI
      *
      * @param request Contains resume content, job description, additional info, and API key
+     * @param idempotencyKey Optional key that makes client retries replay the first result
      * @return Generated cover letter
      */
     @PostMapping("/cover-letter")
-    public ResponseEntity<CoverLetterResponse> generateCoverLetter(@RequestBody CoverLetterRequest request) {
+    public ResponseEntity<CoverLetterResponse> generateCoverLetter(
+            @RequestBody CoverLetterRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         log.info("Received request to generate cover letter");
-        CoverLetterResponse response = coverLetterService.generateCoverLetter(request);
+        CoverLetterResponse response = idempotencyStore.execute("cover-letter", idempotencyKey, request,
+                () -> coverLetterService.generateCoverLetter(request));
         return ResponseEntity.ok(response);
     }
 }
@@ -0,0 +1,29 @@
+package com.resumetailor.controller;
+
+import com.resumetailor.cache.JobDescriptionAnalysisStore;
+import com.resumetailor.dto.CacheStats;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/job-description")
+@RequiredArgsConstructor
+@Slf4j
+public class JobDescriptionController {
+
+    private final JobDescriptionAnalysisStore jobDescriptionAnalysisStore;
+
+    /**
+     * Endpoint to get the hit rate of the shared job description analysis store
+     *
+     * @return Hits, misses, evictions and current size of the store
+     */
+    @GetMapping("/analysis/stats")
+    public ResponseEntity<CacheStats> getAnalysisStats() {
+        return ResponseEntity.ok(jobDescriptionAnalysisStore.stats());
+    }
+}
@@ -1,16 +1,29 @@
 package com.resumetailor.controller;
 
+import com.resumetailor.cache.PdfRenderCache;
+import com.resumetailor.dto.BatchCompileRequest;
 import com.resumetailor.dto.PdfRequest;
+import com.resumetailor.service.PdfBatchService;
 import com.resumetailor.service.PdfCompilerService;
+import com.resumetailor.service.PdfPreviewService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/resume")
@@ -18,25 +31,133 @@ import org.springframework.web.bind.annotation.RestController;
 @Slf4j
 public class PdfController {
 
+    private static final String PAGE_COUNT_HEADER = "X-Page-Count";
+    private static final MediaType ZIP = MediaType.parseMediaType("application/zip");
+
     private final PdfCompilerService pdfCompilerService;
+    private final PdfPreviewService pdfPreviewService;
+    private final PdfBatchService pdfBatchService;
 
     /**
-     * Endpoint to compile LaTeX content to PDF
+     * Endpoint to compile LaTeX content to PDF. The document is compiled into the render
+     * cache before the response starts, so malformed LaTeX still gets a JSON error, then
+     * streamed from the cache instead of being copied into a byte array. Responses carry a
+     * strong ETag; a request whose If-None-Match lists it gets 304 without a body. With
+     * {@code linearize=true} the PDF is linearized, so a browser viewer can show the first
+     * page while the rest is still downloading.
      *
      * @param request Contains LaTeX content
-     * @return Compiled PDF as byte array
+     * @param linearize Whether to return a linearized ("fast web view") PDF
+     * @param ifNoneMatch Entity tags of PDFs the client already has
+     * @return Compiled PDF streamed to the client
      */
     @PostMapping("/compile")
-    public ResponseEntity<byte[]> compilePdf(@RequestBody PdfRequest request) {
+    public ResponseEntity<StreamingResponseBody> compilePdf(@RequestBody PdfRequest request,
+                                                            @RequestParam(defaultValue = "false") boolean linearize,
+                                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) throws IOException {
         log.info("Received request to compile LaTeX to PDF");
-        byte[] pdfBytes = pdfCompilerService.compilePdf(request.getLatexContent());
+        String latexContent = request.getLatexContent();
+        if (latexContent == null || latexContent.isEmpty()) {
+            throw new IllegalArgumentException("LaTeX content cannot be empty");
+        }
+        
+        String etag = pdfCompilerService.etag(latexContent, linearize);
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        
+        // Compile before any header is sent; once the body starts an error can only cut it short
+        PdfRenderCache.Entry pdf = pdfCompilerService.render(latexContent, linearize);
         
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_PDF);
         headers.setContentDispositionFormData("attachment", "resume.pdf");
+        headers.setETag(etag);
+        
+        StreamingResponseBody body = pdf::writeTo;
         
         return ResponseEntity.ok()
                 .headers(headers)
-                .body(pdfBytes);
+                .body(body);
+    }
+    
+    /**
+     * Endpoint to compile several LaTeX documents into one ZIP archive. Documents are
+     * compiled in parallel and streamed into the archive as each one finishes.
+     *
+     * @param request Contains the documents and their file names
+     * @return ZIP archive of the compiled PDFs streamed to the client
+     */
+    @PostMapping("/compile/batch")
+    public ResponseEntity<StreamingResponseBody> compileBatch(@RequestBody BatchCompileRequest request) {
+        log.info("Received request to compile a batch of LaTeX documents");
+        // Reject bad batches before the response starts
+        pdfBatchService.validate(request.getDocuments());
+        
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(ZIP);
+        headers.setContentDispositionFormData("attachment", "resumes.zip");
+        
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream);
+            pdfBatchService.compileBatch(request.getDocuments(), out);
+            out.flush();
+        };
+        
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(body);
+    }
+    
+    /**
+     * Endpoint to render a low-resolution PNG preview of one page of the compiled LaTeX,
+     * for the live editor. The X-Page-Count header gives the number of pages.
+     *
+     * @param request Contains LaTeX content
+     * @param page The page to preview, starting at 1
+     * @param ifNoneMatch Entity tags of previews the client already has
+     * @return The PNG image
+     */
+    @PostMapping("/preview")
+    public CompletableFuture<ResponseEntity<byte[]>> previewPdf(@RequestBody PdfRequest request,
+                                                                @RequestParam(defaultValue = "1") int page,
+                                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.info("Received request to preview page {} of LaTeX", page);
+        String latexContent = request.getLatexContent();
+        if (latexContent == null || latexContent.isEmpty()) {
+            throw new IllegalArgumentException("LaTeX content cannot be empty");
+        }
+        
+        String etag = pdfPreviewService.etag(latexContent, page);
+        if (matches(ifNoneMatch, etag)) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build());
+        }
+        
+        return pdfPreviewService.preview(latexContent, page)
+                .thenApply(preview -> ResponseEntity.ok()
+                        .contentType(MediaType.IMAGE_PNG)
+                        .eTag(etag)
+                        .header(PAGE_COUNT_HEADER, String.valueOf(preview.getPageCount()))
+                        .body(preview.getImage()));
+    }
+    
+    /**
+     * Whether an If-None-Match header lists an entity tag. Uses the weak comparison
+     * RFC 9110 requires for If-None-Match.
+     */
+    private boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
     }
 }
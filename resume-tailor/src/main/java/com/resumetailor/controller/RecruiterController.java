@@ -0,0 +1,88 @@
+package com.resumetailor.controller;
+
+import com.resumetailor.dto.CandidateSearchRequest;
+import com.resumetailor.dto.CandidateSearchResponse;
+import com.resumetailor.dto.IndexedResume;
+import com.resumetailor.dto.ResumeIndexStats;
+import com.resumetailor.service.RecruiterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/recruiter")
+@RequiredArgsConstructor
+@Slf4j
+public class RecruiterController {
+
+    private final RecruiterService recruiterService;
+
+    /**
+     * Endpoint to add resumes to the recruiter index
+     *
+     * @param resumes Resumes with an ID, a display name and their content
+     * @return The index statistics
+     */
+    @PostMapping("/resumes")
+    public ResponseEntity<ResumeIndexStats> addResumes(@RequestBody List<IndexedResume> resumes) {
+        return ResponseEntity.ok(recruiterService.ingest(resumes));
+    }
+
+    /**
+     * Endpoint to add uploaded resume files (PDF or text) to the recruiter index
+     *
+     * @param files The resume files; each file name is used as the resume ID
+     * @return The index statistics
+     */
+    @PostMapping(value = "/resumes/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ResumeIndexStats> uploadResumes(@RequestParam("files") List<MultipartFile> files) throws IOException {
+        log.info("Received {} resume files for the recruiter index", files.size());
+        return ResponseEntity.ok(recruiterService.ingestFiles(files));
+    }
+
+    /**
+     * Endpoint to remove a resume from the recruiter index
+     *
+     * @param id The resume ID
+     * @return No content
+     */
+    @DeleteMapping("/resumes/{id}")
+    public ResponseEntity<Void> removeResume(@PathVariable String id) {
+        recruiterService.remove(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Endpoint to rank the indexed resumes against a job description
+     *
+     * @param request Contains the job description and how many candidates to return and evaluate
+     * @return The ranked candidates
+     */
+    @PostMapping("/search")
+    public ResponseEntity<CandidateSearchResponse> search(@RequestBody CandidateSearchRequest request) {
+        return ResponseEntity.ok(recruiterService.search(request));
+    }
+
+    /**
+     * Endpoint to get the size of the recruiter index
+     *
+     * @return The index statistics
+     */
+    @GetMapping("/index/stats")
+    public ResponseEntity<ResumeIndexStats> getStats() {
+        return ResponseEntity.ok(recruiterService.stats());
+    }
+}
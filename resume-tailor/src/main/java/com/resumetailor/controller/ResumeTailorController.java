@@ -1,13 +1,17 @@
 package com.resumetailor.controller;
 
+import com.resumetailor.cache.IdempotencyStore;
+import com.resumetailor.dto.CoverLetterRequest;
 import com.resumetailor.dto.TailorRequest;
 import com.resumetailor.dto.TailorResponse;
+import com.resumetailor.dto.TailorWithCoverLetterResponse;
 import com.resumetailor.service.ResumeTailorService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -18,17 +22,39 @@ import org.springframework.web.bind.annotation.RestController;
 public class ResumeTailorController {
 
     private final ResumeTailorService resumeTailorService;
+    private final IdempotencyStore idempotencyStore;
 
     /**
      * Endpoint to tailor a resume based on a job description using AI
      *
      * @param request Contains resume content, job description, and API key
+     * @param idempotencyKey Optional key that makes client retries replay the first result
      * @return Tailored resume suggestions
      */
     @PostMapping("/tailor")
-    public ResponseEntity<TailorResponse> tailorResume(@RequestBody TailorRequest request) {
+    public ResponseEntity<TailorResponse> tailorResume(
+            @RequestBody TailorRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         log.info("Received request to tailor resume");
-        TailorResponse response = resumeTailorService.tailorResume(request);
+        TailorResponse response = idempotencyStore.execute("tailor", idempotencyKey, request,
+                () -> resumeTailorService.tailorResume(request));
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Endpoint to tailor a resume and generate a cover letter with a single AI call
+     *
+     * @param request Contains resume content, job description, additional info, and API key
+     * @param idempotencyKey Optional key that makes client retries replay the first result
+     * @return Tailored resume suggestions together with the generated cover letter
+     */
+    @PostMapping("/tailor-with-cover-letter")
+    public ResponseEntity<TailorWithCoverLetterResponse> tailorResumeWithCoverLetter(
+            @RequestBody CoverLetterRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        log.info("Received request to tailor resume and generate cover letter");
+        TailorWithCoverLetterResponse response = idempotencyStore.execute("tailor-with-cover-letter", idempotencyKey, request,
+                () -> resumeTailorService.tailorResumeWithCoverLetter(request));
         return ResponseEntity.ok(response);
     }
 }
@@ -0,0 +1,32 @@
+package com.resumetailor.controller;
+
+import com.resumetailor.dto.MatchScoreResponse;
+import com.resumetailor.dto.ScoreRequest;
+import com.resumetailor.service.MatchScoringService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/score")
+@RequiredArgsConstructor
+@Slf4j
+public class ScoringController {
+
+    private final MatchScoringService matchScoringService;
+
+    /**
+     * Endpoint to score a resume against a job description locally
+     *
+     * @param request Contains resume content and job description
+     * @return Match score with matched and missing keywords
+     */
+    @PostMapping
+    public ResponseEntity<MatchScoreResponse> score(@RequestBody ScoreRequest request) {
+        return ResponseEntity.ok(matchScoringService.score(request));
+    }
+}
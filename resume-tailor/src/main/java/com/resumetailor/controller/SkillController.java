@@ -0,0 +1,36 @@
+package com.resumetailor.controller;
+
+import com.resumetailor.dto.SkillSuggestion;
+import com.resumetailor.taxonomy.SkillTaxonomy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/skills")
+@RequiredArgsConstructor
+@Slf4j
+public class SkillController {
+
+    private final SkillTaxonomy skillTaxonomy;
+
+    /**
+     * Endpoint to autocomplete a skill name as it is typed
+     *
+     * @param prefix The typed prefix
+     * @param limit Maximum number of suggestions
+     * @return Matching skills with the alias the prefix matched
+     */
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<SkillSuggestion>> autocomplete(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(skillTaxonomy.autocomplete(prefix, limit));
+    }
+}
@@ -14,5 +14,8 @@ public class AgentContext {
     private String resumeContent;
     private String jobDescription;
     private String additionalInfo;
+    private String sectionTitle;
     private String apiKey;
+    // Shared analysis of the job description, when one is available
+    private JobDescriptionAnalysis jobAnalysis;
 }
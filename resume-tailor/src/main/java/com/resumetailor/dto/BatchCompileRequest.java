@@ -0,0 +1,23 @@
+package com.resumetailor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCompileRequest {
+   private List<Document> documents;
+   
+   @Data
+   @NoArgsConstructor
+   @AllArgsConstructor
+   public static class Document {
+      // File name in the archive; defaults to resume-<n>.pdf
+      private String name;
+      private String latexContent;
+   }
+}
@@ -0,0 +1,20 @@
+package com.resumetailor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of one item of a bulk tailoring job, as checkpointed and streamed to the client.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkItemResult {
+    private int index;
+    private String status;
+    private TailorResponse response;
+    private String error;
+}
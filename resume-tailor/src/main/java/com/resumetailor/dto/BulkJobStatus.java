@@ -0,0 +1,21 @@
+package com.resumetailor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkJobStatus {
+    private String jobId;
+    private String status;
+    private int total;
+    private int completed;
+    private int failed;
+    private LocalDateTime createdAt;
+}
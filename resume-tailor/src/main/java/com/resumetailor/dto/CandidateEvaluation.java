@@ -0,0 +1,15 @@
+package com.resumetailor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidateEvaluation {
+    private int fitScore;
+    private String summary;
+}
@@ -0,0 +1,17 @@
+package com.resumetailor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidateSearchRequest {
+   private String jobDescription;
+   private int topK = 20;
+   // Number of top candidates to evaluate with the AI provider; 0 disables the AI pass
+   private int evaluateTop;
+   private String apiKey;
+   private String provider;
+}
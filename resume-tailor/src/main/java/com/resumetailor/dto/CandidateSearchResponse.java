@@ -0,0 +1,33 @@
+package com.resumetailor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidateSearchResponse {
+    private List<Candidate> candidates;
+    private int totalDocuments;
+    private long tookMillis;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Candidate {
+        private String id;
+        private String name;
+        private double score;
+        // Set when the candidate was evaluated by the AI provider
+        private Integer fitScore;
+        private String summary;
+        // "evaluated" or "unavailable" when an evaluation was requested, null otherwise
+        private String evaluationStatus;
+    }
+}
@@ -0,0 +1,25 @@
+package com.resumetailor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Locally assembled parts of a cover letter (header, date, greeting and closing).
+ * Only the body paragraphs are generated by the AI.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoverLetterScaffold {
+    private String name;
+    private String location;
+    private String phone;
+    private String email;
+    private String linkedin;
+    private String date;
+    private String greeting;
+    private String closing;
+}
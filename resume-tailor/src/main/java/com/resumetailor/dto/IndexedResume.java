@@ -0,0 +1,14 @@
+package com.resumetailor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IndexedResume {
+   private String id;
+   private String name;
+   private String content;
+}
@@ -0,0 +1,51 @@
+package com.resumetailor.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.resumetailor.scoring.TermFrequencyMap;
+import com.resumetailor.util.CompressionUtils;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Job description analysis shared by every request for the same posting: computed once,
+ * then reused by prompting, GitHub ranking and local scoring
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobDescriptionAnalysis {
+    private String fingerprint;
+    private List<String> requirements;
+    // Highest TF-IDF weighted terms, heaviest first
+    private List<WeightedKeyword> weightedKeywords;
+    // Keywords used to rank GitHub repositories
+    private List<String> keywords;
+    // Estimated prompt tokens of the cleaned text
+    private int tokenCount;
+    // Job description without boilerplate, deflated
+    @JsonIgnore
+    private byte[] compressedText;
+    @JsonIgnore
+    private TermFrequencyMap termFrequencies;
+    
+    /**
+     * The job description without boilerplate such as equal opportunity statements
+     */
+    public String cleanedText() {
+        return CompressionUtils.inflate(compressedText);
+    }
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class WeightedKeyword {
+        private String keyword;
+        private double weight;
+    }
+}
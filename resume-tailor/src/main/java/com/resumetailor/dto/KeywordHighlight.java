@@ -0,0 +1,19 @@
+package com.resumetailor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeywordHighlight {
+    private String keyword;
+    // Character offsets of the occurrence, end exclusive
+    private int start;
+    private int end;
+    // Whether the keyword was found in the resume
+    private boolean matched;
+}
@@ -0,0 +1,20 @@
+package com.resumetailor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LiveEditMessage {
+   // "init" to start a session, "edit" to replace a range of the resume
+   private String type;
+   private String resumeContent;
+   private String jobDescription;
+   private int start;
+   private int end;
+   private String text;
+   // Echoed in the score pushed back, so the client can match scores to its edits
+   private long version;
+}
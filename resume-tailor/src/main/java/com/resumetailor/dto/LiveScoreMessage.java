@@ -0,0 +1,22 @@
+package com.resumetailor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LiveScoreMessage {
+    // "score" or "error"
+    private String type;
+    private long version;
+    private int matchScore;
+    private List<String> keywordsMatched;
+    private List<String> keywordsMissing;
+    private String message;
+}
@@ -0,0 +1,20 @@
+package com.resumetailor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchScoreResponse {
+    private int matchScore;
+    private List<String> keywordsMatched;
+    private List<String> keywordsMissing;
+    private List<KeywordHighlight> resumeHighlights;
+    private List<KeywordHighlight> jobDescriptionHighlights;
+}
@@ -0,0 +1,21 @@
+package com.resumetailor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of applying suggestions to a resume: the patched document
+ * and the edit operations that were applied.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatchResult {
+    private String patchedContent;
+    private List<TailorResponse.EditOperation> edits;
+}
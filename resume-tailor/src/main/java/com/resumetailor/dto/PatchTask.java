@@ -0,0 +1,17 @@
+package com.resumetailor.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Task object for the ResumePatchingAgent.
+ * Contains the submitted resume and the suggestions to apply to it.
+ */
+@Data
+@Builder
+public class PatchTask {
+    private String resumeContent;
+    private List<TailorResponse.Suggestion> suggestions;
+}
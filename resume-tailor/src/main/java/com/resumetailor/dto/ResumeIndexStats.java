@@ -0,0 +1,18 @@
+package com.resumetailor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumeIndexStats {
+    private int documents;
+    private int deletedDocuments;
+    private int terms;
+    private long postingBytes;
+    private long storedContentBytes;
+}
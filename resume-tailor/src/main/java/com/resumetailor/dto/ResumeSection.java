@@ -0,0 +1,18 @@
+package com.resumetailor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A titled section of a resume (e.g. Experience, Skills) as located in the submitted content.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumeSection {
+    private String title;
+    private String content;
+}
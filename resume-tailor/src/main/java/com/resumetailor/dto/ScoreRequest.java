@@ -0,0 +1,13 @@
+package com.resumetailor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoreRequest {
+   private String resumeContent;
+   private String jobDescription;
+}
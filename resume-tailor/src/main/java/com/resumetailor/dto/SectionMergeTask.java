@@ -0,0 +1,18 @@
+package com.resumetailor.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Task object for the SectionMergingAgent.
+ * Contains the full resume and the tailoring responses of its individual sections.
+ */
+@Data
+@Builder
+public class SectionMergeTask {
+    private String resumeContent;
+    private List<ResumeSection> sections;
+    private List<TailorResponse> sectionResponses;
+}
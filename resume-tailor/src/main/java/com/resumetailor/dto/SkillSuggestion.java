@@ -0,0 +1,16 @@
+package com.resumetailor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkillSuggestion {
+    private String name;
+    // The alias the prefix matched, or null when it matched the name itself
+    private String matchedAlias;
+}
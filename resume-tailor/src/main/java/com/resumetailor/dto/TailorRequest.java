@@ -12,4 +12,5 @@ public class TailorRequest {
    private String jobDescription;
    private String apiKey;
    private String provider; // Add provider field
+   private boolean incremental; // Tailor by section and reuse results of unchanged sections
 }
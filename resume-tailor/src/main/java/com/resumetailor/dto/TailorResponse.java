@@ -17,6 +17,7 @@ public class TailorResponse {
     private List<String> keywordsMatched;
     private List<String> keywordsMissing;
     private int matchScore;
+    private List<EditOperation> edits;
     
     @Data
     @Builder
@@ -27,4 +28,20 @@ public class TailorResponse {
         private String suggestedText;
         private String reason;
     }
+    
+    /**
+     * A single splice applied to the submitted resume to produce the tailored resume.
+     * Offsets refer to the original resume content.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EditOperation {
+        private int suggestionIndex;
+        private int start;
+        private int end;
+        private String originalText;
+        private String replacementText;
+    }
 }
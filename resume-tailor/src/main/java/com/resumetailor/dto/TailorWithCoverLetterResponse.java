@@ -0,0 +1,19 @@
+package com.resumetailor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Combined response for the fused tailoring + cover letter task.
+ * Both parts are produced from a single AI completion.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TailorWithCoverLetterResponse {
+    private TailorResponse tailoring;
+    private CoverLetterResponse coverLetter;
+}
@@ -0,0 +1,13 @@
+package com.resumetailor.exception;
+
+/**
+ * Thrown when an Idempotency-Key is reused with a different request body
+ */
+public class IdempotencyKeyConflictException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public IdempotencyKeyConflictException(String message) {
+        super(message);
+    }
+}
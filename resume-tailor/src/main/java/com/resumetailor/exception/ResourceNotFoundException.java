@@ -0,0 +1,13 @@
+package com.resumetailor.exception;
+
+/**
+ * Thrown when a request refers to a job or document that does not exist
+ */
+public class ResourceNotFoundException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+}
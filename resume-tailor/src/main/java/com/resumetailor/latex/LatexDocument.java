@@ -0,0 +1,91 @@
+package com.resumetailor.latex;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Lightweight document tree of a LaTeX resume: the header (name and contact lines) and the
+ * sections, each made of paragraphs, itemize lists and entries (a bold title with
+ * right-aligned dates, an optional italic subtitle and optional bullets).
+ */
+@Getter
+@RequiredArgsConstructor
+public class LatexDocument {
+
+    private final String name;
+    private final List<String> contactLines;
+    private final List<Section> sections;
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Section {
+        private final String title;
+        private final List<Block> blocks;
+    }
+
+    /**
+     * A block of section content: a {@link Paragraph}, an {@link ItemList} or an {@link Entry}
+     */
+    public interface Block {
+    }
+
+    /**
+     * Paragraph text; each line was ended by an explicit line break in the source
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Paragraph implements Block {
+        private final List<InlineText> lines;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class ItemList implements Block {
+        private final List<InlineText> items;
+    }
+
+    /**
+     * A job, education or project entry: {@code \textbf{Title} \hfill Dates \\ \textit{Subtitle}}
+     * optionally followed by an itemize list
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Entry implements Block {
+        private final InlineText title;
+        private final String dates;
+        private final InlineText subtitle;
+        private final List<InlineText> items;
+    }
+
+    /**
+     * Text with inline formatting, as runs of uniformly styled text
+     */
+    @Getter
+    public static class InlineText {
+        private final List<TextRun> runs;
+        private final String plainText;
+
+        public InlineText(List<TextRun> runs) {
+            this.runs = runs;
+            StringBuilder text = new StringBuilder();
+            for (TextRun run : runs) {
+                text.append(run.getText());
+            }
+            this.plainText = text.toString();
+        }
+
+        public boolean isEmpty() {
+            return plainText.isEmpty();
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class TextRun {
+        private final String text;
+        private final boolean bold;
+        private final boolean italic;
+    }
+}
@@ -0,0 +1,655 @@
+package com.resumetailor.latex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Single-pass parser from LaTeX resume source to a {@link LatexDocument}. Tokens are read
+ * once, front to back, and the tree is built as they arrive: everything before the first
+ * section is the header, a line containing {@code \hfill} starts an entry, the line after
+ * an entry's {@code \\} is its subtitle, an itemize list right after an entry holds its
+ * bullets, and any other text forms paragraphs. Formatting commands become styled text
+ * runs and layout-only commands are dropped. Groups and lists are parsed recursively, so
+ * their nesting depth is capped and deeper input is rejected as malformed.
+ */
+public final class LatexParser {
+
+    private static final int BOLD = 1;
+    private static final int ITALIC = 2;
+    private static final int LARGE = 4;
+
+    // Real resumes nest a handful of levels; the cap keeps malformed input off the stack limit
+    static final int MAX_NESTING_DEPTH = 100;
+
+    private static final Set<String> SECTION_COMMANDS = Set.of("section", "section*", "subsection", "subsection*");
+    private static final Set<String> LIST_ENVIRONMENTS = Set.of("itemize", "enumerate", "description");
+
+    // Commands whose arguments are settings rather than text, by number of brace arguments
+    private static final Map<String, Integer> DROPPED_ARGUMENTS = Map.ofEntries(
+            Map.entry("vspace", 1), Map.entry("vspace*", 1), Map.entry("hspace", 1), Map.entry("hspace*", 1),
+            Map.entry("label", 1), Map.entry("color", 1), Map.entry("pagestyle", 1), Map.entry("thispagestyle", 1),
+            Map.entry("includegraphics", 1), Map.entry("setlength", 2), Map.entry("addtolength", 2),
+            Map.entry("fontsize", 2), Map.entry("rule", 2));
+
+    // Brace arguments of environments that are settings, such as a tabular column spec
+    private static final Map<String, Integer> ENVIRONMENT_ARGUMENTS = Map.of(
+            "tabular", 1, "tabular*", 2, "tabularx", 2, "minipage", 1, "multicols", 1);
+
+    private static final Map<String, String> SYMBOLS = Map.ofEntries(
+            Map.entry("ldots", "…"), Map.entry("dots", "…"), Map.entry("textbullet", "•"), Map.entry("cdot", "·"),
+            Map.entry("textbar", "|"), Map.entry("textendash", "–"), Map.entry("textemdash", "—"),
+            Map.entry("quad", " "), Map.entry("qquad", " "), Map.entry("enspace", " "), Map.entry("LaTeX", "LaTeX"),
+            Map.entry("TeX", "TeX"), Map.entry("textasciitilde", "~"), Map.entry("textbackslash", "\\"));
+
+    private enum Mode {
+        HEADER, SECTION, LIST
+    }
+
+    private final LatexTokenizer tokens;
+    private Mode mode = Mode.HEADER;
+    private LineBuilder line = new LineBuilder();
+    private boolean ended;
+    private int depth;
+
+    private String name;
+    private final List<String> contactLines = new ArrayList<>();
+
+    private final List<LatexDocument.Section> sections = new ArrayList<>();
+    private List<LatexDocument.Block> blocks;
+    private final List<LatexDocument.InlineText> paragraphLines = new ArrayList<>();
+    private EntryBuilder pendingEntry;
+    private boolean awaitingSubtitle;
+
+    private ListState list;
+    // A section command closed an unterminated list; the section starts once the list is done
+    private boolean sectionAfterList;
+
+    private LatexParser(String source) {
+        this.tokens = new LatexTokenizer(source);
+    }
+
+    /**
+     * Parse LaTeX resume source
+     *
+     * @param source The LaTeX source
+     * @return The document tree
+     * @throws IllegalArgumentException If groups or lists are nested deeper than the cap
+     */
+    public static LatexDocument parse(String source) {
+        LatexParser parser = new LatexParser(source);
+        if (source.contains("\\begin{document}")) {
+            parser.skipPreamble();
+        }
+        return parser.parseBody();
+    }
+
+    private void skipPreamble() {
+        while (tokens.type() != LatexTokenizer.Type.EOF) {
+            if (tokens.type() == LatexTokenizer.Type.COMMAND && tokens.value().equals("begin")) {
+                tokens.advance();
+                if (readEnvironmentName().equals("document")) {
+                    return;
+                }
+            } else {
+                tokens.advance();
+            }
+        }
+    }
+
+    private LatexDocument parseBody() {
+        int style = 0;
+        while (!ended && tokens.type() != LatexTokenizer.Type.EOF) {
+            style = step(style);
+        }
+        endLine(true);
+        finishSection();
+
+        return new LatexDocument(name != null ? name : "Resume", contactLines, sections);
+    }
+
+    /**
+     * Consume one token (or one command with its arguments) in the current style
+     *
+     * @return The style in effect after the token
+     */
+    private int step(int style) {
+        switch (tokens.type()) {
+            case TEXT:
+                line.append(tokens.value(), style);
+                tokens.advance();
+                return style;
+            case OPEN_BRACE:
+                parseGroup(style);
+                return style;
+            case OPEN_BRACKET:
+                line.append("[", style);
+                tokens.advance();
+                return style;
+            case CLOSE_BRACKET:
+                line.append("]", style);
+                tokens.advance();
+                return style;
+            case LINE_BREAK:
+                tokens.advance();
+                skipOptional();
+                endLine(false);
+                // Size and weight switches in the header apply to one line
+                return mode == Mode.HEADER ? 0 : style;
+            case PARAGRAPH_BREAK:
+                tokens.advance();
+                endLine(true);
+                return style;
+            case COMMAND:
+                return command(style);
+            default:
+                // Unbalanced closing brace
+                tokens.advance();
+                return style;
+        }
+    }
+
+    private int command(int style) {
+        String command = tokens.value();
+        tokens.advance();
+
+        if (SECTION_COMMANDS.contains(command)) {
+            startSection();
+            return 0;
+        }
+
+        switch (command) {
+            case "begin":
+                beginEnvironment(readEnvironmentName());
+                return style;
+            case "end":
+                endEnvironment(readEnvironmentName());
+                return 0;
+            case "item":
+                if (mode == Mode.LIST) {
+                    startItem();
+                }
+                return style;
+            case "hfill":
+                if (mode == Mode.SECTION) {
+                    line.markHfill();
+                } else {
+                    line.appendSpace();
+                }
+                return style;
+            case "par":
+                endLine(true);
+                return style;
+            case "newline":
+            case "linebreak":
+                endLine(false);
+                return style;
+            case "textbf":
+                parseArgument(style | BOLD);
+                return style;
+            case "textit":
+            case "emph":
+            case "textsl":
+                parseArgument(style | ITALIC);
+                return style;
+            case "textnormal":
+                parseArgument(0);
+                return style;
+            case "href":
+                skipGroup();
+                parseArgument(style);
+                return style;
+            case "textcolor":
+                skipOptional();
+                skipGroup();
+                parseArgument(style);
+                return style;
+            case "bfseries":
+            case "bf":
+                return style | BOLD;
+            case "itshape":
+            case "it":
+            case "em":
+            case "slshape":
+                return style | ITALIC;
+            case "LARGE":
+            case "Large":
+            case "huge":
+            case "Huge":
+                return style | LARGE;
+            default:
+                String symbol = SYMBOLS.get(command);
+                if (symbol != null) {
+                    line.append(symbol, style);
+                    return style;
+                }
+                Integer dropped = DROPPED_ARGUMENTS.get(command);
+                if (dropped != null) {
+                    skipOptional();
+                    for (int i = 0; i < dropped; i++) {
+                        skipGroup();
+                    }
+                }
+                // Other commands (textsc, underline, url, icons, size switches, ...) keep
+                // the text of their arguments, which are parsed as ordinary groups
+                return style;
+        }
+    }
+
+    /**
+     * Parse a brace group; style switches inside it end with the group
+     */
+    private void parseGroup(int style) {
+        enter();
+        tokens.advance();
+        while (!ended && tokens.type() != LatexTokenizer.Type.CLOSE_BRACE && tokens.type() != LatexTokenizer.Type.EOF) {
+            style = step(style);
+        }
+        tokens.advance();
+        depth--;
+    }
+
+    private void enter() {
+        if (++depth > MAX_NESTING_DEPTH) {
+            throw new IllegalArgumentException("LaTeX groups and lists are nested deeper than " + MAX_NESTING_DEPTH + " levels");
+        }
+    }
+
+    private void parseArgument(int style) {
+        if (tokens.type() == LatexTokenizer.Type.OPEN_BRACE) {
+            parseGroup(style);
+        }
+    }
+
+    private void beginEnvironment(String environment) {
+        if (LIST_ENVIRONMENTS.contains(environment)) {
+            parseList();
+            return;
+        }
+
+        if (mode != Mode.LIST) {
+            endLine(true);
+        }
+        skipOptional();
+        int arguments = ENVIRONMENT_ARGUMENTS.getOrDefault(environment, 0);
+        for (int i = 0; i < arguments; i++) {
+            skipGroup();
+        }
+    }
+
+    private void endEnvironment(String environment) {
+        if (mode == Mode.LIST) {
+            if (LIST_ENVIRONMENTS.contains(environment)) {
+                list.closed = true;
+            }
+        } else if (environment.equals("document")) {
+            ended = true;
+        } else {
+            endLine(true);
+        }
+    }
+
+    private void startSection() {
+        if (mode == Mode.LIST) {
+            // A section inside an unclosed list closes it
+            list.closed = true;
+            sectionAfterList = true;
+            return;
+        }
+
+        endLine(true);
+        finishSection();
+
+        skipOptional();
+        LineBuilder saved = line;
+        line = new LineBuilder();
+        parseArgument(0);
+        String title = line.all().getPlainText();
+        line = saved;
+
+        blocks = new ArrayList<>();
+        sections.add(new LatexDocument.Section(title, blocks));
+        mode = Mode.SECTION;
+    }
+
+    private void finishSection() {
+        if (mode == Mode.SECTION) {
+            flushParagraph();
+            flushEntry();
+            awaitingSubtitle = false;
+        }
+    }
+
+    /**
+     * Parse an itemize, enumerate or description environment up to its end
+     */
+    private void parseList() {
+        if (mode != Mode.LIST) {
+            endLine(true);
+        } else {
+            finishItem();
+        }
+        skipOptional();
+
+        enter();
+        Mode savedMode = mode;
+        LineBuilder savedLine = line;
+        ListState savedList = list;
+        mode = Mode.LIST;
+        line = new LineBuilder();
+        list = new ListState();
+
+        int style = 0;
+        while (!list.closed && tokens.type() != LatexTokenizer.Type.EOF) {
+            style = step(style);
+        }
+        finishItem();
+        List<LatexDocument.InlineText> items = list.items;
+        depth--;
+
+        mode = savedMode;
+        line = savedLine;
+        list = savedList;
+
+        switch (mode) {
+            case LIST:
+                // Nested list items are flattened into the enclosing list
+                list.items.addAll(items);
+                line = new LineBuilder();
+                list.inItem = false;
+                break;
+            case SECTION:
+                if (pendingEntry != null && pendingEntry.items == null) {
+                    pendingEntry.items = items;
+                } else {
+                    flushParagraph();
+                    flushEntry();
+                    blocks.add(new LatexDocument.ItemList(items));
+                }
+                awaitingSubtitle = false;
+                break;
+            default:
+                for (LatexDocument.InlineText item : items) {
+                    contactLines.add(item.getPlainText());
+                }
+        }
+
+        if (sectionAfterList) {
+            if (mode == Mode.LIST) {
+                list.closed = true;
+            } else {
+                sectionAfterList = false;
+                startSection();
+            }
+        }
+    }
+
+    private void startItem() {
+        finishItem();
+        line = new LineBuilder();
+        list.inItem = true;
+
+        // Description list label
+        if (tokens.type() == LatexTokenizer.Type.OPEN_BRACKET) {
+            tokens.advance();
+            while (tokens.type() != LatexTokenizer.Type.CLOSE_BRACKET && tokens.type() != LatexTokenizer.Type.EOF) {
+                step(BOLD);
+            }
+            tokens.advance();
+            line.appendSpace();
+        }
+    }
+
+    private void finishItem() {
+        if (list.inItem && !line.isEmpty()) {
+            list.items.add(line.all());
+        }
+        list.inItem = false;
+    }
+
+    /**
+     * End the current line, either at a line break or at the end of a paragraph
+     */
+    private void endLine(boolean paragraphEnd) {
+        if (mode == Mode.LIST) {
+            line.appendSpace();
+            return;
+        }
+
+        LineBuilder ended = line;
+        line = new LineBuilder();
+
+        if (mode == Mode.HEADER) {
+            addHeaderLine(ended);
+            return;
+        }
+
+        if (ended.isEmpty()) {
+            if (paragraphEnd) {
+                flushParagraph();
+                awaitingSubtitle = false;
+            }
+            return;
+        }
+
+        if (ended.hasHfill()) {
+            flushParagraph();
+            flushEntry();
+            pendingEntry = new EntryBuilder(ended.beforeHfill(), ended.afterHfill().getPlainText());
+            awaitingSubtitle = !paragraphEnd;
+        } else if (awaitingSubtitle && pendingEntry != null && pendingEntry.subtitle == null) {
+            pendingEntry.subtitle = ended.all();
+            awaitingSubtitle = false;
+        } else {
+            flushEntry();
+            paragraphLines.add(ended.all());
+            if (paragraphEnd) {
+                flushParagraph();
+            }
+        }
+    }
+
+    /**
+     * The first large text of the header is the name; other header lines are contact details
+     */
+    private void addHeaderLine(LineBuilder headerLine) {
+        if (headerLine.isEmpty()) {
+            return;
+        }
+        String large = headerLine.withStyle(LARGE, true);
+        String rest;
+        if (name == null && !large.isBlank()) {
+            name = large.strip();
+            rest = headerLine.withStyle(LARGE, false);
+        } else {
+            rest = headerLine.all().getPlainText();
+        }
+
+        String contact = rest.replace('|', '•').strip();
+        if (!contact.isEmpty()) {
+            contactLines.add(contact);
+        }
+    }
+
+    private void flushParagraph() {
+        if (!paragraphLines.isEmpty()) {
+            blocks.add(new LatexDocument.Paragraph(new ArrayList<>(paragraphLines)));
+            paragraphLines.clear();
+        }
+    }
+
+    private void flushEntry() {
+        if (pendingEntry != null) {
+            blocks.add(new LatexDocument.Entry(pendingEntry.title, pendingEntry.dates, pendingEntry.subtitle,
+                    pendingEntry.items != null ? pendingEntry.items : List.of()));
+            pendingEntry = null;
+        }
+    }
+
+    private String readEnvironmentName() {
+        if (tokens.type() != LatexTokenizer.Type.OPEN_BRACE) {
+            return "";
+        }
+        tokens.advance();
+        StringBuilder environment = new StringBuilder();
+        while (tokens.type() != LatexTokenizer.Type.CLOSE_BRACE && tokens.type() != LatexTokenizer.Type.EOF) {
+            if (tokens.type() == LatexTokenizer.Type.TEXT) {
+                environment.append(tokens.value());
+            }
+            tokens.advance();
+        }
+        tokens.advance();
+        return environment.toString().strip();
+    }
+
+    private void skipGroup() {
+        skipBalanced(LatexTokenizer.Type.OPEN_BRACE, LatexTokenizer.Type.CLOSE_BRACE);
+    }
+
+    private void skipOptional() {
+        skipBalanced(LatexTokenizer.Type.OPEN_BRACKET, LatexTokenizer.Type.CLOSE_BRACKET);
+    }
+
+    private void skipBalanced(LatexTokenizer.Type open, LatexTokenizer.Type close) {
+        if (tokens.type() != open) {
+            return;
+        }
+        int depth = 0;
+        do {
+            if (tokens.type() == open) {
+                depth++;
+            } else if (tokens.type() == close) {
+                depth--;
+            }
+            tokens.advance();
+        } while (depth > 0 && tokens.type() != LatexTokenizer.Type.EOF);
+    }
+
+    /**
+     * Accumulates the styled text of one line, collapsing whitespace as TeX does
+     */
+    private static final class LineBuilder {
+        private final List<StringBuilder> texts = new ArrayList<>();
+        private final List<Integer> styles = new ArrayList<>();
+        private boolean pendingSpace;
+        private boolean segmentHasContent;
+        private boolean forceNewRun;
+        private int hfillRun = -1;
+
+        void append(String text, int style) {
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    pendingSpace = segmentHasContent;
+                    continue;
+                }
+                StringBuilder run = run(style);
+                if (pendingSpace) {
+                    run.append(' ');
+                    pendingSpace = false;
+                }
+                run.append(c);
+                segmentHasContent = true;
+            }
+        }
+
+        void appendSpace() {
+            pendingSpace = segmentHasContent;
+        }
+
+        /**
+         * Split the line into left- and right-aligned parts; later fills are spaces
+         */
+        void markHfill() {
+            if (hfillRun >= 0) {
+                appendSpace();
+                return;
+            }
+            hfillRun = texts.size();
+            forceNewRun = true;
+            pendingSpace = false;
+            segmentHasContent = false;
+        }
+
+        boolean isEmpty() {
+            return texts.isEmpty();
+        }
+
+        boolean hasHfill() {
+            return hfillRun >= 0;
+        }
+
+        LatexDocument.InlineText all() {
+            return build(0, texts.size());
+        }
+
+        LatexDocument.InlineText beforeHfill() {
+            return build(0, hfillRun);
+        }
+
+        LatexDocument.InlineText afterHfill() {
+            return build(hfillRun, texts.size());
+        }
+
+        /**
+         * Plain text of the runs that have (or lack) a style flag
+         */
+        String withStyle(int flag, boolean present) {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < texts.size(); i++) {
+                if (((styles.get(i) & flag) != 0) == present) {
+                    text.append(normalize(texts.get(i)));
+                }
+            }
+            return text.toString();
+        }
+
+        private StringBuilder run(int style) {
+            int last = texts.size() - 1;
+            if (last >= 0 && !forceNewRun && styles.get(last) == style) {
+                return texts.get(last);
+            }
+            forceNewRun = false;
+            StringBuilder run = new StringBuilder();
+            texts.add(run);
+            styles.add(style);
+            return run;
+        }
+
+        private LatexDocument.InlineText build(int from, int to) {
+            List<LatexDocument.TextRun> runs = new ArrayList<>(Math.max(0, to - from));
+            for (int i = from; i < to; i++) {
+                int style = styles.get(i);
+                runs.add(new LatexDocument.TextRun(normalize(texts.get(i)), (style & BOLD) != 0, (style & ITALIC) != 0));
+            }
+            return new LatexDocument.InlineText(runs);
+        }
+
+        private static String normalize(StringBuilder text) {
+            String normalized = text.toString();
+            if (normalized.contains("--")) {
+                normalized = normalized.replace("---", "—").replace("--", "–");
+            }
+            return normalized;
+        }
+    }
+
+    private static final class EntryBuilder {
+        final LatexDocument.InlineText title;
+        final String dates;
+        LatexDocument.InlineText subtitle;
+        List<LatexDocument.InlineText> items;
+
+        EntryBuilder(LatexDocument.InlineText title, String dates) {
+            this.title = title;
+            this.dates = dates;
+        }
+    }
+
+    private static final class ListState {
+        final List<LatexDocument.InlineText> items = new ArrayList<>();
+        boolean inItem;
+        boolean closed;
+    }
+}
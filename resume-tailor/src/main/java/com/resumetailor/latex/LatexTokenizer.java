@@ -0,0 +1,184 @@
+package com.resumetailor.latex;
+
+/**
+ * Pull tokenizer for the LaTeX subset used by resumes. Reads the source once, front to
+ * back, with one token of lookahead and no per-character allocation. Comments and math
+ * shifts are dropped, escaped characters become text and a blank line becomes a paragraph
+ * break.
+ */
+final class LatexTokenizer {
+
+    enum Type {
+        TEXT, COMMAND, OPEN_BRACE, CLOSE_BRACE, OPEN_BRACKET, CLOSE_BRACKET, LINE_BREAK, PARAGRAPH_BREAK, EOF
+    }
+
+    private final String source;
+    private final int length;
+    private int position;
+
+    private Type type;
+    private String value;
+
+    LatexTokenizer(String source) {
+        this.source = source;
+        this.length = source.length();
+        advance();
+    }
+
+    /**
+     * Type of the current token
+     */
+    Type type() {
+        return type;
+    }
+
+    /**
+     * Command name (without the backslash) or text of the current token
+     */
+    String value() {
+        return value;
+    }
+
+    /**
+     * Move to the next token
+     */
+    void advance() {
+        value = null;
+        while (position < length) {
+            char c = source.charAt(position);
+            switch (c) {
+                case '\\':
+                    scanEscape();
+                    return;
+                case '{':
+                    position++;
+                    type = Type.OPEN_BRACE;
+                    return;
+                case '}':
+                    position++;
+                    type = Type.CLOSE_BRACE;
+                    return;
+                case '[':
+                    position++;
+                    type = Type.OPEN_BRACKET;
+                    return;
+                case ']':
+                    position++;
+                    type = Type.CLOSE_BRACKET;
+                    return;
+                case '%':
+                    skipComment();
+                    continue;
+                case '$':
+                    position++;
+                    continue;
+                case '&':
+                case '~':
+                    position++;
+                    text(" ");
+                    return;
+                default:
+                    if (Character.isWhitespace(c)) {
+                        scanWhitespace();
+                    } else {
+                        scanText();
+                    }
+                    return;
+            }
+        }
+        type = Type.EOF;
+    }
+
+    private void scanEscape() {
+        int start = ++position;
+        if (position >= length) {
+            text("");
+            return;
+        }
+
+        char c = source.charAt(position);
+        if (Character.isLetter(c)) {
+            while (position < length && Character.isLetter(source.charAt(position))) {
+                position++;
+            }
+            if (position < length && source.charAt(position) == '*') {
+                position++;
+            }
+            type = Type.COMMAND;
+            value = source.substring(start, position);
+            // Spaces after a control word only end the word
+            while (position < length && (source.charAt(position) == ' ' || source.charAt(position) == '\t')) {
+                position++;
+            }
+            return;
+        }
+
+        position++;
+        switch (c) {
+            case '\\':
+                type = Type.LINE_BREAK;
+                return;
+            case '%': case '&': case '$': case '#': case '_': case '{': case '}':
+                text(String.valueOf(c));
+                return;
+            case ' ': case ',': case ';': case ':': case '!':
+                text(" ");
+                return;
+            default:
+                // Accents and other control symbols: the accented letter follows as text
+                text("");
+        }
+    }
+
+    /**
+     * A run of whitespace is a single space, or a paragraph break when it contains a blank line
+     */
+    private void scanWhitespace() {
+        int newlines = 0;
+        while (position < length && Character.isWhitespace(source.charAt(position))) {
+            if (source.charAt(position) == '\n') {
+                newlines++;
+            }
+            position++;
+        }
+        if (newlines >= 2) {
+            type = Type.PARAGRAPH_BREAK;
+        } else {
+            text(" ");
+        }
+    }
+
+    /**
+     * Plain text up to the next special character or line end
+     */
+    private void scanText() {
+        int start = position;
+        while (position < length) {
+            char c = source.charAt(position);
+            if (c == '\\' || c == '{' || c == '}' || c == '[' || c == ']' || c == '%' || c == '$'
+                    || c == '&' || c == '~' || c == '\n' || c == '\r') {
+                break;
+            }
+            position++;
+        }
+        text(source.substring(start, position));
+    }
+
+    /**
+     * Skip to the end of the line and the indentation of the next one, as TeX does
+     */
+    private void skipComment() {
+        while (position < length && source.charAt(position) != '\n') {
+            position++;
+        }
+        position++;
+        while (position < length && (source.charAt(position) == ' ' || source.charAt(position) == '\t')) {
+            position++;
+        }
+    }
+
+    private void text(String text) {
+        type = Type.TEXT;
+        value = text;
+    }
+}
@@ -0,0 +1,55 @@
+package com.resumetailor.pdf;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Positioned boxes of a laid out part of the page (the header or a section), ready to be
+ * emitted. Horizontal positions are absolute; vertical positions are offsets from the top
+ * of the part, negative going down, so a layout can be placed anywhere on any page.
+ * Immutable and shared between documents.
+ */
+@Getter
+@RequiredArgsConstructor
+public class BoxLayout {
+
+    private final List<Box> boxes;
+
+    /**
+     * Vertical space taken by the part, including the spacing after it
+     */
+    private final float height;
+
+    /**
+     * A positioned box: a {@link TextBox} or a {@link RuleBox}
+     */
+    public interface Box {
+    }
+
+    /**
+     * A single line of text; {@code y} is the baseline
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class TextBox implements Box {
+        private final float x;
+        private final float y;
+        private final FontStyle style;
+        private final float fontSize;
+        private final String text;
+    }
+
+    /**
+     * A horizontal rule from {@code x1} to {@code x2}
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class RuleBox implements Box {
+        private final float x1;
+        private final float x2;
+        private final float y;
+        private final float lineWidth;
+    }
+}
@@ -0,0 +1,109 @@
+package com.resumetailor.pdf;
+
+import org.apache.pdfbox.pdmodel.font.PDFont;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Glyph advance widths of a font, looked up once and shared by every document that uses
+ * the font. Latin-1 characters come from a flat table filled on first use; other code points
+ * (bullets, dashes, quotes, supplementary characters) are cached as they are measured.
+ * Widths are in text space units of 1/1000 em, so a width at a given size is
+ * {@code width * size / 1000}, the same as {@link PDFont#getStringWidth(String)}. Thread-safe.
+ */
+public final class FontMetrics {
+
+    private static final int TABLE_SIZE = 256;
+    private static final Map<PDFont, FontMetrics> CACHE = new ConcurrentHashMap<>();
+
+    private final PDFont font;
+    private final float[] table = new float[TABLE_SIZE];
+    private final Map<Integer, Float> extended = new ConcurrentHashMap<>();
+
+    private FontMetrics(PDFont font) {
+        this.font = font;
+        for (int c = 0; c < TABLE_SIZE; c++) {
+            table[c] = measure(c);
+        }
+    }
+
+    /**
+     * Metrics of a font, built on first use
+     *
+     * @param font The font
+     * @return The shared metrics
+     */
+    public static FontMetrics of(PDFont font) {
+        return CACHE.computeIfAbsent(font, FontMetrics::new);
+    }
+
+    /**
+     * Width of text at a font size, in points
+     *
+     * @param text The text
+     * @param fontSize The font size
+     * @return The width
+     * @throws IllegalArgumentException if the font cannot encode a character of the text
+     */
+    public float width(CharSequence text, float fontSize) {
+        return width(text, 0, text.length()) * fontSize / 1000;
+    }
+
+    /**
+     * Width of a range of text in text space units (1/1000 em). Surrogate pairs are measured
+     * as the one character they encode.
+     *
+     * @param text The text
+     * @param start Start of the range (inclusive)
+     * @param end End of the range (exclusive)
+     * @return The width
+     * @throws IllegalArgumentException if the font cannot encode a character of the range
+     */
+    public float width(CharSequence text, int start, int end) {
+        float width = 0;
+        int i = start;
+        while (i < end) {
+            int codePoint = Character.codePointAt(text, i);
+            width += advance(codePoint);
+            i += Character.charCount(codePoint);
+        }
+        return width;
+    }
+
+    /**
+     * Advance width of a code point in text space units
+     *
+     * @throws IllegalArgumentException if the font cannot encode the code point
+     */
+    public float advance(int codePoint) {
+        float advance = codePoint < TABLE_SIZE ? table[codePoint] : extended.computeIfAbsent(codePoint, this::measure);
+        if (Float.isNaN(advance)) {
+            // Same failure showText would report
+            throw new IllegalArgumentException(String.format("U+%04X is not available in the font %s", codePoint, font.getName()));
+        }
+        return advance;
+    }
+
+    /**
+     * Width of a single code point, or NaN if the font cannot encode it
+     */
+    private float measure(int codePoint) {
+        // Fonts keep unsynchronized width caches of their own
+        synchronized (font) {
+            return measureUnsynchronized(codePoint);
+        }
+    }
+
+    private float measureUnsynchronized(int codePoint) {
+        try {
+            return font.getStringWidth(new String(Character.toChars(codePoint)));
+        } catch (IllegalArgumentException e) {
+            return Float.NaN;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
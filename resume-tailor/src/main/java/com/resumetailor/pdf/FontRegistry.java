@@ -0,0 +1,162 @@
+package com.resumetailor.pdf;
+
+import com.resumetailor.util.HashUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fontbox.ttf.TTFParser;
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Fonts of the rendered PDFs. Each face can be backed by a TrueType font file, which is
+ * parsed once at startup and shared by every document; a document embeds a subset of the
+ * glyphs it uses. Faces without a configured file use the standard Helvetica fonts, which
+ * are not embedded and only cover WinAnsi (Latin-1) characters.
+ */
+@Component
+@Slf4j
+public class FontRegistry {
+
+    private final ResourceLoader resourceLoader;
+    private final Map<FontStyle, String> locations = new EnumMap<>(FontStyle.class);
+
+    private final Map<FontStyle, TrueTypeFont> embeddedFonts = new EnumMap<>(FontStyle.class);
+    private final Map<FontStyle, PDFont> metricsFonts = new EnumMap<>(FontStyle.class);
+    private PDDocument metricsDocument;
+    private String fingerprint;
+
+    public FontRegistry(ResourceLoader resourceLoader,
+                        @Value("${pdf.fonts.regular:}") String regular,
+                        @Value("${pdf.fonts.bold:}") String bold,
+                        @Value("${pdf.fonts.italic:}") String italic) {
+        this.resourceLoader = resourceLoader;
+        locations.put(FontStyle.REGULAR, regular);
+        locations.put(FontStyle.BOLD, bold);
+        locations.put(FontStyle.ITALIC, italic);
+    }
+
+    /**
+     * Parse the configured font files
+     */
+    @PostConstruct
+    public void load() throws IOException {
+        // Holds the fonts used for measuring text; it is never saved
+        metricsDocument = new PDDocument();
+        Map<String, TrueTypeFont> parsed = new HashMap<>();
+        Map<String, String> fileHashes = new HashMap<>();
+        StringBuilder identity = new StringBuilder();
+
+        for (FontStyle style : FontStyle.values()) {
+            String location = locations.get(style);
+            identity.append(style).append('=');
+            if (location.isEmpty()) {
+                metricsFonts.put(style, style.standardFont());
+                identity.append(style.standardFont().getName()).append('\n');
+                continue;
+            }
+
+            TrueTypeFont ttf = parsed.get(location);
+            if (ttf == null) {
+                Resource resource = resourceLoader.getResource(location);
+                byte[] bytes;
+                try (InputStream in = resource.getInputStream()) {
+                    bytes = in.readAllBytes();
+                }
+                ttf = new TTFParser().parse(new ByteArrayInputStream(bytes));
+                parsed.put(location, ttf);
+                fileHashes.put(location, HashUtils.sha256(bytes));
+                log.info("Loaded font {} from {}", ttf.getName(), location);
+            }
+            embeddedFonts.put(style, ttf);
+            metricsFonts.put(style, PDType0Font.load(metricsDocument, ttf, true));
+            identity.append(fileHashes.get(location)).append('\n');
+        }
+
+        fingerprint = HashUtils.sha256(identity.toString());
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        // Faces may share a font
+        for (TrueTypeFont ttf : new HashSet<>(embeddedFonts.values())) {
+            ttf.close();
+        }
+        metricsDocument.close();
+    }
+
+    /**
+     * Glyph metrics of a face, shared by all documents
+     *
+     * @param style The face
+     * @return The metrics
+     */
+    public FontMetrics metrics(FontStyle style) {
+        return FontMetrics.of(metricsFonts.get(style));
+    }
+
+    /**
+     * Identity of the configured fonts; changes whenever a font file changes
+     */
+    public String fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Fonts for a single document, loaded when first used so unused faces are not embedded
+     *
+     * @param document The document being rendered
+     * @return The document fonts
+     */
+    public DocumentFonts forDocument(PDDocument document) {
+        return new DocumentFonts(document);
+    }
+
+    /**
+     * Faces resolved to fonts of one document. Not thread-safe, like the document itself.
+     */
+    public class DocumentFonts {
+
+        private final PDDocument document;
+        private final Map<FontStyle, PDFont> fonts = new EnumMap<>(FontStyle.class);
+        private final Map<TrueTypeFont, PDFont> embedded = new IdentityHashMap<>();
+
+        private DocumentFonts(PDDocument document) {
+            this.document = document;
+        }
+
+        public PDFont get(FontStyle style) throws IOException {
+            PDFont font = fonts.get(style);
+            if (font == null) {
+                TrueTypeFont ttf = embeddedFonts.get(style);
+                if (ttf == null) {
+                    font = style.standardFont();
+                } else {
+                    // One subset per font file, built when the document is saved; the shared font stays open
+                    font = embedded.get(ttf);
+                    if (font == null) {
+                        font = PDType0Font.load(document, ttf, true);
+                        embedded.put(ttf, font);
+                    }
+                }
+                fonts.put(style, font);
+            }
+            return font;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.resumetailor.pdf;
+
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+
+/**
+ * Font faces used by the resume layout. Layouts refer to faces rather than fonts so a
+ * layout can be emitted into any document; {@link FontRegistry} resolves a face to the
+ * configured embedded font or to its standard Helvetica font.
+ */
+public enum FontStyle {
+
+    REGULAR(PDType1Font.HELVETICA),
+    BOLD(PDType1Font.HELVETICA_BOLD),
+    ITALIC(PDType1Font.HELVETICA_OBLIQUE);
+
+    private final PDFont standardFont;
+
+    FontStyle(PDFont standardFont) {
+        this.standardFont = standardFont;
+    }
+
+    /**
+     * Standard 14 font used when no embedded font is configured for the face
+     */
+    public PDFont standardFont() {
+        return standardFont;
+    }
+}
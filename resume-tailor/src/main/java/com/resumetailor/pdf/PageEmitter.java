@@ -0,0 +1,103 @@
+package com.resumetailor.pdf;
+
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Emit phase of PDF rendering: draws laid out boxes into the content stream of one page.
+ * Graphics state is written once and reused instead of being repeated for every box:
+ * consecutive lines of text share one text object and are positioned relative to each
+ * other, and the font, line width and stroke color are only set when they change.
+ * Not thread-safe, like the content stream.
+ */
+public class PageEmitter implements Closeable {
+
+    private final PDPageContentStream contentStream;
+    private final FontRegistry.DocumentFonts fonts;
+
+    private boolean inText;
+    private float lineX;
+    private float lineY;
+    private PDFont font;
+    private float fontSize;
+    private float lineWidth = Float.NaN;
+
+    public PageEmitter(PDPageContentStream contentStream, FontRegistry.DocumentFonts fonts) {
+        this.contentStream = contentStream;
+        this.fonts = fonts;
+    }
+
+    /**
+     * Draw the boxes of a layout with its top at the given height
+     *
+     * @param layout The layout
+     * @param top Height of the top of the layout on the page
+     */
+    public void emit(BoxLayout layout, float top) throws IOException {
+        for (BoxLayout.Box box : layout.getBoxes()) {
+            if (box instanceof BoxLayout.TextBox text) {
+                showText(text, top + text.getY());
+            } else if (box instanceof BoxLayout.RuleBox rule) {
+                drawRule(rule, top + rule.getY());
+            }
+        }
+    }
+
+    private void showText(BoxLayout.TextBox text, float y) throws IOException {
+        PDFont textFont = fonts.get(text.getStyle());
+        // Text state survives the end of a text object, so only changes are written
+        if (textFont != font || text.getFontSize() != fontSize) {
+            contentStream.setFont(textFont, text.getFontSize());
+            font = textFont;
+            fontSize = text.getFontSize();
+        }
+
+        if (inText) {
+            // Td moves relative to the start of the previous line
+            contentStream.newLineAtOffset(text.getX() - lineX, y - lineY);
+        } else {
+            contentStream.beginText();
+            contentStream.newLineAtOffset(text.getX(), y);
+            inText = true;
+        }
+        lineX = text.getX();
+        lineY = y;
+        contentStream.showText(text.getText());
+    }
+
+    private void drawRule(BoxLayout.RuleBox rule, float y) throws IOException {
+        endText();
+        if (Float.isNaN(lineWidth)) {
+            contentStream.setStrokingColor(0f, 0f, 0f);
+        }
+        if (rule.getLineWidth() != lineWidth) {
+            contentStream.setLineWidth(rule.getLineWidth());
+            lineWidth = rule.getLineWidth();
+        }
+        contentStream.moveTo(rule.getX1(), y);
+        contentStream.lineTo(rule.getX2(), y);
+        contentStream.stroke();
+    }
+
+    private void endText() throws IOException {
+        if (inText) {
+            contentStream.endText();
+            inText = false;
+        }
+    }
+
+    /**
+     * End the open text object and close the content stream
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            endText();
+        } finally {
+            contentStream.close();
+        }
+    }
+}
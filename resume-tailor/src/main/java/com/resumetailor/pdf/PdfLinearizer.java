@@ -0,0 +1,594 @@
+package com.resumetailor.pdf;
+
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSBoolean;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSFloat;
+import org.apache.pdfbox.cos.COSInteger;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSNull;
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.cos.COSObjectKey;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.cos.COSString;
+import org.apache.pdfbox.pdfwriter.COSWriter;
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Rewrites a saved PDF as a linearized ("fast web view") file, laid out as in Annex F of
+ * ISO 32000-1: the catalog, the hint tables and everything the first page needs come first,
+ * indexed by their own cross-reference table, so a viewer can show page 1 while the rest
+ * of the file is still arriving. PDFBox only writes objects in its own order, so the saved
+ * file is parsed back and its objects are renumbered and written again in that layout.
+ */
+public final class PdfLinearizer {
+
+    /**
+     * Width of the numbers that are only known once the file is laid out, so writing them
+     * does not move anything after them
+     */
+    private static final int FIELD_WIDTH = 10;
+
+    private final PDDocument document;
+
+    private final List<COSObject> pageTree = new ArrayList<>();
+    private final List<COSObject> pages = new ArrayList<>();
+    private final Map<COSObjectKey, Integer> numbers = new HashMap<>();
+
+    // Parts of the file, in the order they are written
+    private final List<COSObject> catalogPart = new ArrayList<>();
+    private final List<COSObject> firstPagePart = new ArrayList<>();
+    private final List<List<COSObject>> otherPageParts = new ArrayList<>();
+    private final List<COSObject> sharedPart = new ArrayList<>();
+    private final List<COSObject> otherPart = new ArrayList<>();
+
+    /**
+     * Objects used by each page, and the number of pages using each object
+     */
+    private final List<Set<COSObjectKey>> pageObjects = new ArrayList<>();
+    private final Map<COSObjectKey, Integer> pageUsers = new HashMap<>();
+
+    private PdfLinearizer(PDDocument document) {
+        this.document = document;
+    }
+
+    /**
+     * Linearize a PDF
+     *
+     * @param pdf The PDF, as saved by PDFBox
+     * @param out The stream to write the linearized PDF to; it is not closed
+     */
+    public static void linearize(byte[] pdf, OutputStream out) throws IOException {
+        try (PDDocument document = PDDocument.load(pdf)) {
+            PdfLinearizer linearizer = new PdfLinearizer(document);
+            linearizer.partition();
+            linearizer.write(out);
+        }
+    }
+
+    /**
+     * Sort the objects of the document into the parts of the linearized file and number them
+     */
+    private void partition() throws IOException {
+        COSDictionary trailer = document.getDocument().getTrailer();
+        COSObject root = indirect(trailer.getItem(COSName.ROOT));
+        COSObject pagesRoot = indirect(((COSDictionary) root.getObject()).getItem(COSName.PAGES));
+        collectPages(pagesRoot);
+        if (pages.isEmpty()) {
+            throw new IOException("Cannot linearize a PDF without pages");
+        }
+
+        // Page tree nodes are only placed explicitly, so traversals stop at them
+        Set<COSObjectKey> placed = new HashSet<>();
+        pageTree.forEach(node -> placed.add(key(node)));
+        pages.forEach(page -> placed.add(key(page)));
+
+        Map<COSObjectKey, COSObject> catalog = new LinkedHashMap<>();
+        reach(root, placed, catalog);
+        catalogPart.addAll(catalog.values());
+        placed.addAll(catalog.keySet());
+
+        List<Map<COSObjectKey, COSObject>> used = new ArrayList<>();
+        for (COSObject page : pages) {
+            Map<COSObjectKey, COSObject> objects = new LinkedHashMap<>();
+            objects.put(key(page), page);
+            reach(page.getObject(), placed, objects);
+            used.add(objects);
+            pageObjects.add(objects.keySet());
+            objects.keySet().forEach(key -> pageUsers.merge(key, 1, Integer::sum));
+        }
+
+        // The first page section holds everything page 1 uses, shared or not
+        firstPagePart.addAll(used.get(0).values());
+        placed.addAll(used.get(0).keySet());
+
+        Map<COSObjectKey, COSObject> shared = new LinkedHashMap<>();
+        for (Map<COSObjectKey, COSObject> objects : used.subList(1, used.size())) {
+            List<COSObject> part = new ArrayList<>();
+            objects.forEach((key, object) -> {
+                if (placed.contains(key) && !pages.contains(object)) {
+                    return;
+                }
+                if (pageUsers.get(key) > 1) {
+                    shared.put(key, object);
+                } else {
+                    part.add(object);
+                }
+            });
+            otherPageParts.add(part);
+        }
+        used.forEach(objects -> placed.addAll(objects.keySet()));
+        sharedPart.addAll(shared.values());
+
+        Map<COSObjectKey, COSObject> other = new LinkedHashMap<>();
+        pageTree.forEach(node -> other.put(key(node), node));
+        for (COSObject node : pageTree) {
+            reach(node.getObject(), placed, other);
+        }
+        COSBase info = trailer.getItem(COSName.INFO);
+        if (info != null) {
+            reach(info, placed, other);
+        }
+        otherPart.addAll(other.values());
+
+        // The main cross-reference table indexes the later parts from object 1, the first
+        // page table everything after them, starting with the linearization dictionary
+        int number = 1;
+        for (List<COSObject> part : otherPageParts) {
+            number = number(part, number);
+        }
+        number = number(sharedPart, number);
+        number = number(otherPart, number);
+        number = number(catalogPart, number + 1);
+        number(firstPagePart, number + 1);
+    }
+
+    private void collectPages(COSObject node) throws IOException {
+        COSDictionary dictionary = (COSDictionary) node.getObject();
+        if (!COSName.PAGES.equals(dictionary.getCOSName(COSName.TYPE))) {
+            pages.add(node);
+            return;
+        }
+        pageTree.add(node);
+        COSArray kids = (COSArray) dictionary.getDictionaryObject(COSName.KIDS);
+        for (int i = 0; i < kids.size(); i++) {
+            collectPages(indirect(kids.get(i)));
+        }
+    }
+
+    /**
+     * Add the indirect objects reachable from an object that are not already placed, in
+     * the order they are first reached
+     */
+    private void reach(COSBase base, Set<COSObjectKey> placed, Map<COSObjectKey, COSObject> found) {
+        if (base instanceof COSObject object) {
+            COSObjectKey key = key(object);
+            if (object.getObject() == null || placed.contains(key) || found.containsKey(key)) {
+                return;
+            }
+            found.put(key, object);
+            reach(object.getObject(), placed, found);
+        } else if (base instanceof COSDictionary dictionary) {
+            for (Map.Entry<COSName, COSBase> entry : dictionary.entrySet()) {
+                // Stream lengths are written directly
+                if (!(dictionary instanceof COSStream && COSName.LENGTH.equals(entry.getKey()))) {
+                    reach(entry.getValue(), placed, found);
+                }
+            }
+        } else if (base instanceof COSArray array) {
+            for (int i = 0; i < array.size(); i++) {
+                reach(array.get(i), placed, found);
+            }
+        }
+    }
+
+    private int number(List<COSObject> part, int first) {
+        for (COSObject object : part) {
+            numbers.put(key(object), first++);
+        }
+        return first;
+    }
+
+    /**
+     * Lay out the file and write it. Offsets in the hint tables are given as if the hint
+     * stream were not in the file, so they are known before the hint stream is built.
+     */
+    private void write(OutputStream out) throws IOException {
+        List<byte[]> catalogObjects = serialize(catalogPart);
+        List<byte[]> firstPageObjects = serialize(firstPagePart);
+        List<List<byte[]>> otherPageObjects = new ArrayList<>();
+        for (List<COSObject> part : otherPageParts) {
+            otherPageObjects.add(serialize(part));
+        }
+        List<byte[]> sharedObjects = serialize(sharedPart);
+        List<byte[]> otherObjects = serialize(otherPart);
+
+        List<byte[]> mainObjects = new ArrayList<>();
+        otherPageObjects.forEach(mainObjects::addAll);
+        mainObjects.addAll(sharedObjects);
+        mainObjects.addAll(otherObjects);
+        int linearizationNumber = mainObjects.size() + 1;
+        int hintNumber = linearizationNumber + catalogObjects.size() + 1;
+        int firstPageCount = 1 + catalogObjects.size() + 1 + firstPageObjects.size();
+
+        byte[] header = ("%PDF-" + document.getVersion() + "\n%\u00e2\u00e3\u00cf\u00d3\n").getBytes(StandardCharsets.ISO_8859_1);
+        long linearizationOffset = header.length;
+        long firstXrefOffset = linearizationOffset + linearizationDictionary(linearizationNumber, 0, 0, 0, 0, 0, 0).length;
+        long catalogOffset = firstXrefOffset + firstPageXref(linearizationNumber, firstPageCount, new long[firstPageCount], 0).length;
+        long hintOffset = catalogOffset + totalLength(catalogObjects);
+
+        byte[] hint = hintStream(hintNumber, hintOffset, firstPageObjects, otherPageObjects, sharedObjects);
+        long firstPageOffset = hintOffset + hint.length;
+        long firstPageEnd = firstPageOffset + totalLength(firstPageObjects);
+        long mainXrefOffset = firstPageEnd + totalLength(mainObjects);
+
+        long[] mainOffsets = offsets(mainObjects, firstPageEnd);
+        long[] firstPageOffsets = new long[firstPageCount];
+        firstPageOffsets[0] = linearizationOffset;
+        System.arraycopy(offsets(catalogObjects, catalogOffset), 0, firstPageOffsets, 1, catalogObjects.size());
+        firstPageOffsets[1 + catalogObjects.size()] = hintOffset;
+        System.arraycopy(offsets(firstPageObjects, firstPageOffset), 0, firstPageOffsets, 2 + catalogObjects.size(), firstPageObjects.size());
+
+        byte[] mainXref = mainXref(mainOffsets, firstXrefOffset);
+        long firstEntryOffset = mainXrefOffset + ("xref\n0 " + (mainObjects.size() + 1)).length();
+        long fileLength = mainXrefOffset + mainXref.length;
+
+        out.write(header);
+        out.write(linearizationDictionary(linearizationNumber, fileLength, hintOffset, hint.length,
+                numbers.get(key(pages.get(0))), firstPageEnd, firstEntryOffset));
+        out.write(firstPageXref(linearizationNumber, firstPageCount, firstPageOffsets, mainXrefOffset));
+        writeAll(catalogObjects, out);
+        out.write(hint);
+        writeAll(firstPageObjects, out);
+        writeAll(mainObjects, out);
+        out.write(mainXref);
+    }
+
+    private byte[] linearizationDictionary(int number, long fileLength, long hintOffset, long hintLength,
+                                           int firstPage, long firstPageEnd, long firstEntryOffset) {
+        return ascii(number + " 0 obj\n<< /Linearized 1 /L " + field(fileLength)
+                + " /H [ " + field(hintOffset) + " " + field(hintLength) + " ] /O " + field(firstPage)
+                + " /E " + field(firstPageEnd) + " /N " + field(pages.size())
+                + " /T " + field(firstEntryOffset) + " >>\nendobj\n");
+    }
+
+    private byte[] firstPageXref(int first, int count, long[] offsets, long mainXrefOffset) throws IOException {
+        ByteArrayOutputStream xref = new ByteArrayOutputStream();
+        xref.write(ascii("xref\n" + first + " " + count + "\n"));
+        for (long offset : offsets) {
+            xref.write(ascii(String.format("%010d 00000 n\r\n", offset)));
+        }
+
+        COSDictionary trailer = document.getDocument().getTrailer();
+        xref.write(ascii("trailer\n<< /Size " + (first + count) + " /Root "));
+        writeValue(trailer.getItem(COSName.ROOT), xref);
+        if (trailer.getItem(COSName.INFO) != null) {
+            xref.write(ascii(" /Info "));
+            writeValue(trailer.getItem(COSName.INFO), xref);
+        }
+        if (trailer.getItem(COSName.ID) != null) {
+            xref.write(ascii(" /ID "));
+            writeValue(trailer.getItem(COSName.ID), xref);
+        }
+        xref.write(ascii(" /Prev " + field(mainXrefOffset) + " >>\nstartxref\n0\n%%EOF\n"));
+        return xref.toByteArray();
+    }
+
+    private byte[] mainXref(long[] offsets, long firstXrefOffset) {
+        StringBuilder xref = new StringBuilder("xref\n0 " + (offsets.length + 1) + "\n0000000000 65535 f\r\n");
+        for (long offset : offsets) {
+            xref.append(String.format("%010d 00000 n\r\n", offset));
+        }
+        // The last startxref points at the first page table, which links to this one
+        xref.append("trailer\n<< /Size ").append(offsets.length + 1).append(" >>\nstartxref\n")
+                .append(firstXrefOffset).append("\n%%EOF\n");
+        return ascii(xref.toString());
+    }
+
+    /**
+     * Build the primary hint stream: the page offset hint table followed by the shared
+     * object hint table. Every shared object group is a single object.
+     *
+     * @param firstPageOffset Offset of the first page section, ignoring the hint stream
+     */
+    private byte[] hintStream(int number, long firstPageOffset, List<byte[]> firstPageObjects,
+                              List<List<byte[]>> otherPageObjects, List<byte[]> sharedObjects) throws IOException {
+        int pageCount = pages.size();
+        int[] objectCounts = new int[pageCount];
+        long[] pageLengths = new long[pageCount];
+        objectCounts[0] = firstPageObjects.size();
+        pageLengths[0] = totalLength(firstPageObjects);
+        for (int i = 1; i < pageCount; i++) {
+            objectCounts[i] = otherPageObjects.get(i - 1).size();
+            pageLengths[i] = totalLength(otherPageObjects.get(i - 1));
+        }
+
+        // Shared object table entries: the first page section, then the shared objects section
+        Map<COSObjectKey, Integer> sharedIdentifiers = new HashMap<>();
+        for (COSObject object : firstPagePart) {
+            sharedIdentifiers.put(key(object), sharedIdentifiers.size());
+        }
+        for (COSObject object : sharedPart) {
+            sharedIdentifiers.put(key(object), sharedIdentifiers.size());
+        }
+        List<List<Integer>> pageShared = new ArrayList<>();
+        for (Set<COSObjectKey> objects : pageObjects) {
+            List<Integer> identifiers = new ArrayList<>();
+            for (COSObjectKey key : objects) {
+                if (pageUsers.get(key) > 1 && sharedIdentifiers.containsKey(key)) {
+                    identifiers.add(sharedIdentifiers.get(key));
+                }
+            }
+            pageShared.add(identifiers);
+        }
+
+        int minObjects = min(objectCounts);
+        long minPageLength = min(pageLengths);
+        int maxShared = pageShared.stream().mapToInt(List::size).max().orElse(0);
+        int maxIdentifier = pageShared.stream().flatMap(List::stream).mapToInt(Integer::intValue).max().orElse(0);
+        int objectBits = bits(max(objectCounts) - minObjects);
+        int lengthBits = bits(max(pageLengths) - minPageLength);
+
+        BitWriter hints = new BitWriter();
+        hints.write(minObjects, 32);
+        hints.write(firstPageOffset, 32);
+        hints.write(objectBits, 16);
+        hints.write(minPageLength, 32);
+        hints.write(lengthBits, 16);
+        // Content stream offsets and lengths are not used by viewers; they cover the whole page
+        hints.write(0, 32);
+        hints.write(0, 16);
+        hints.write(minPageLength, 32);
+        hints.write(lengthBits, 16);
+        hints.write(bits(maxShared), 16);
+        hints.write(bits(maxIdentifier), 16);
+        hints.write(0, 16);
+        hints.write(4, 16);
+
+        for (int count : objectCounts) {
+            hints.write(count - minObjects, objectBits);
+        }
+        hints.flush();
+        for (long length : pageLengths) {
+            hints.write(length - minPageLength, lengthBits);
+        }
+        hints.flush();
+        for (List<Integer> identifiers : pageShared) {
+            hints.write(identifiers.size(), bits(maxShared));
+        }
+        hints.flush();
+        for (List<Integer> identifiers : pageShared) {
+            for (int identifier : identifiers) {
+                hints.write(identifier, bits(maxIdentifier));
+            }
+        }
+        hints.flush();
+        // Shared object numerators and content stream offsets take no bits
+        for (long length : pageLengths) {
+            hints.write(length - minPageLength, lengthBits);
+        }
+        hints.flush();
+
+        int sharedTableOffset = hints.size();
+        List<byte[]> groups = new ArrayList<>(firstPageObjects);
+        groups.addAll(sharedObjects);
+        long[] groupLengths = groups.stream().mapToLong(group -> group.length).toArray();
+        long minGroupLength = min(groupLengths);
+        int groupBits = bits(max(groupLengths) - minGroupLength);
+
+        hints.write(sharedPart.isEmpty() ? 0 : numbers.get(key(sharedPart.get(0))), 32);
+        hints.write(sharedPart.isEmpty() ? 0 : firstPageOffset + totalLength(firstPageObjects) + otherPageObjects.stream().mapToLong(PdfLinearizer::totalLength).sum(), 32);
+        hints.write(firstPageObjects.size(), 32);
+        hints.write(groups.size(), 32);
+        hints.write(0, 16);
+        hints.write(minGroupLength, 32);
+        hints.write(groupBits, 16);
+        for (long length : groupLengths) {
+            hints.write(length - minGroupLength, groupBits);
+        }
+        hints.flush();
+        // No group carries an MD5 signature
+        for (int i = 0; i < groups.size(); i++) {
+            hints.write(0, 1);
+        }
+        hints.flush();
+
+        byte[] table = hints.toByteArray();
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        stream.write(ascii(number + " 0 obj\n<< /Length " + table.length + " /S " + sharedTableOffset + " >>\nstream\n"));
+        stream.write(table);
+        stream.write(ascii("\nendstream\nendobj\n"));
+        return stream.toByteArray();
+    }
+
+    private List<byte[]> serialize(List<COSObject> part) throws IOException {
+        List<byte[]> serialized = new ArrayList<>();
+        for (COSObject object : part) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            out.write(ascii(numbers.get(key(object)) + " 0 obj\n"));
+            COSBase value = object.getObject();
+            if (value instanceof COSStream stream) {
+                byte[] data;
+                try (InputStream raw = stream.createRawInputStream()) {
+                    data = raw.readAllBytes();
+                }
+                out.write(ascii("<<"));
+                for (Map.Entry<COSName, COSBase> entry : stream.entrySet()) {
+                    if (!COSName.LENGTH.equals(entry.getKey())) {
+                        writeEntry(entry, out);
+                    }
+                }
+                out.write(ascii(" /Length " + data.length + " >>\nstream\n"));
+                out.write(data);
+                out.write(ascii("\nendstream"));
+            } else {
+                writeValue(value, out);
+            }
+            out.write(ascii("\nendobj\n"));
+            serialized.add(out.toByteArray());
+        }
+        return serialized;
+    }
+
+    /**
+     * Write a direct value, renumbering the references in it
+     */
+    private void writeValue(COSBase value, OutputStream out) throws IOException {
+        if (value instanceof COSObject object) {
+            Integer number = numbers.get(key(object));
+            out.write(ascii(number != null ? number + " 0 R" : "null"));
+        } else if (value instanceof COSStream) {
+            throw new IOException("Stream used as a direct object");
+        } else if (value instanceof COSDictionary dictionary) {
+            out.write(ascii("<<"));
+            for (Map.Entry<COSName, COSBase> entry : dictionary.entrySet()) {
+                writeEntry(entry, out);
+            }
+            out.write(ascii(" >>"));
+        } else if (value instanceof COSArray array) {
+            out.write('[');
+            for (int i = 0; i < array.size(); i++) {
+                if (i > 0) {
+                    out.write(' ');
+                }
+                writeValue(array.get(i), out);
+            }
+            out.write(']');
+        } else if (value instanceof COSName name) {
+            name.writePDF(out);
+        } else if (value instanceof COSString string) {
+            COSWriter.writeString(string, out);
+        } else if (value instanceof COSInteger integer) {
+            integer.writePDF(out);
+        } else if (value instanceof COSFloat number) {
+            number.writePDF(out);
+        } else if (value instanceof COSBoolean bool) {
+            bool.writePDF(out);
+        } else if (value == null || value instanceof COSNull) {
+            COSNull.NULL.writePDF(out);
+        } else {
+            throw new IOException("Unexpected PDF object " + value.getClass().getSimpleName());
+        }
+    }
+
+    private void writeEntry(Map.Entry<COSName, COSBase> entry, OutputStream out) throws IOException {
+        out.write(' ');
+        entry.getKey().writePDF(out);
+        out.write(' ');
+        writeValue(entry.getValue(), out);
+    }
+
+    private static COSObject indirect(COSBase base) throws IOException {
+        if (base instanceof COSObject object) {
+            return object;
+        }
+        throw new IOException("Expected an indirect object but found " + base);
+    }
+
+    private static COSObjectKey key(COSObject object) {
+        return new COSObjectKey(object.getObjectNumber(), object.getGenerationNumber());
+    }
+
+    private static long[] offsets(List<byte[]> objects, long start) {
+        long[] offsets = new long[objects.size()];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = start;
+            start += objects.get(i).length;
+        }
+        return offsets;
+    }
+
+    private static long totalLength(List<byte[]> objects) {
+        return objects.stream().mapToLong(object -> object.length).sum();
+    }
+
+    private static void writeAll(List<byte[]> objects, OutputStream out) throws IOException {
+        for (byte[] object : objects) {
+            out.write(object);
+        }
+    }
+
+    private static String field(long value) {
+        return String.format("%-" + FIELD_WIDTH + "d", value);
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Number of bits needed to represent a value
+     */
+    private static int bits(long value) {
+        return 64 - Long.numberOfLeadingZeros(value);
+    }
+
+    private static int min(int[] values) {
+        return Arrays.stream(values).min().orElse(0);
+    }
+
+    private static int max(int[] values) {
+        return Arrays.stream(values).max().orElse(0);
+    }
+
+    private static long min(long[] values) {
+        return Arrays.stream(values).min().orElse(0);
+    }
+
+    private static long max(long[] values) {
+        return Arrays.stream(values).max().orElse(0);
+    }
+
+    /**
+     * Packs hint table items most significant bit first
+     */
+    private static class BitWriter {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private int current;
+        private int used;
+
+        void write(long value, int bits) {
+            for (int bit = bits - 1; bit >= 0; bit--) {
+                current = (current << 1) | (int) ((value >>> bit) & 1);
+                if (++used == 8) {
+                    bytes.write(current);
+                    current = 0;
+                    used = 0;
+                }
+            }
+        }
+
+        /**
+         * Pad to the next byte boundary
+         */
+        void flush() {
+            if (used > 0) {
+                write(0, 8 - used);
+            }
+        }
+
+        int size() {
+            return bytes.size();
+        }
+
+        byte[] toByteArray() {
+            return bytes.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.resumetailor.pdf;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * Image of one page of a compiled resume
+ */
+@Getter
+@RequiredArgsConstructor
+public class RenderedPage {
+
+    private final BufferedImage image;
+
+    /**
+     * Number of pages in the whole document
+     */
+    private final int pageCount;
+}
@@ -0,0 +1,200 @@
+package com.resumetailor.pdf;
+
+import com.resumetailor.cache.SectionLayoutCache;
+import com.resumetailor.latex.LatexDocument;
+import lombok.RequiredArgsConstructor;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Layout phase of PDF rendering: turns the parsed resume into positioned boxes without
+ * touching a PDF document. Text is measured and wrapped here; the emit phase only draws.
+ * Section layouts are cached by content, so after an edit only the changed sections are
+ * laid out again.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResumeLayoutEngine {
+
+    public static final PDRectangle PAGE_SIZE = PDRectangle.A4;
+    public static final float MARGIN = 50;
+    public static final float CONTENT_WIDTH = PAGE_SIZE.getWidth() - 2 * MARGIN;
+
+    private static final float LINE_HEIGHT = 14;
+    private static final float SECTION_SPACING = 20;
+    private static final float ITEM_INDENT = 20;
+
+    private final SectionLayoutCache sectionLayoutCache;
+    private final FontRegistry fontRegistry;
+
+    /**
+     * Lay out the header: the centered name and contact lines
+     *
+     * @param latex The parsed resume
+     * @return The header layout
+     */
+    public BoxLayout layoutHeader(LatexDocument latex) {
+        List<BoxLayout.Box> boxes = new ArrayList<>();
+        float y = 0;
+
+        String name = latex.getName();
+        float nameWidth = fontRegistry.metrics(FontStyle.BOLD).width(name, 20);
+        boxes.add(new BoxLayout.TextBox(MARGIN + (CONTENT_WIDTH - nameWidth) / 2, y, FontStyle.BOLD, 20, name));
+        y -= 25;
+
+        for (String line : latex.getContactLines()) {
+            float lineWidth = fontRegistry.metrics(FontStyle.REGULAR).width(line, 10);
+            boxes.add(new BoxLayout.TextBox(MARGIN + (CONTENT_WIDTH - lineWidth) / 2, y, FontStyle.REGULAR, 10, line));
+            y -= 12;
+        }
+
+        return new BoxLayout(List.copyOf(boxes), -y + SECTION_SPACING);
+    }
+
+    /**
+     * Lay out a section, reusing the cached layout of an identical section
+     *
+     * @param section The section
+     * @return The section layout
+     */
+    public BoxLayout layoutSection(LatexDocument.Section section) {
+        String key = sectionLayoutCache.key(section);
+        BoxLayout layout = sectionLayoutCache.get(key);
+        if (layout == null) {
+            layout = layoutUncached(section);
+            sectionLayoutCache.put(key, layout);
+        }
+        return layout;
+    }
+
+    private BoxLayout layoutUncached(LatexDocument.Section section) {
+        List<BoxLayout.Box> boxes = new ArrayList<>();
+        float y = 0;
+
+        // Section title with a rule under it
+        boxes.add(new BoxLayout.TextBox(MARGIN, y, FontStyle.BOLD, 14, section.getTitle().toUpperCase()));
+        boxes.add(new BoxLayout.RuleBox(MARGIN, MARGIN + CONTENT_WIDTH, y - 3, 1));
+        y -= 18;
+
+        for (LatexDocument.Block block : section.getBlocks()) {
+            if (block instanceof LatexDocument.Paragraph paragraph) {
+                y = layoutParagraph(boxes, paragraph.getLines(), y);
+            } else if (block instanceof LatexDocument.ItemList list) {
+                y = layoutList(boxes, list.getItems(), y);
+            } else if (block instanceof LatexDocument.Entry entry) {
+                y = layoutEntry(boxes, entry, y);
+            }
+        }
+
+        return new BoxLayout(List.copyOf(boxes), -y + SECTION_SPACING);
+    }
+
+    /**
+     * Lay out a paragraph, wrapping each of its lines
+     */
+    private float layoutParagraph(List<BoxLayout.Box> boxes, List<LatexDocument.InlineText> paragraphLines, float y) {
+        for (LatexDocument.InlineText paragraphLine : paragraphLines) {
+            for (String line : wrapText(paragraphLine.getPlainText(), CONTENT_WIDTH - MARGIN, FontStyle.REGULAR, 11)) {
+                boxes.add(new BoxLayout.TextBox(MARGIN, y, FontStyle.REGULAR, 11, line));
+                y -= LINE_HEIGHT;
+            }
+        }
+        return y - 5;
+    }
+
+    /**
+     * Lay out a bulleted list
+     */
+    private float layoutList(List<BoxLayout.Box> boxes, List<LatexDocument.InlineText> items, float y) {
+        for (LatexDocument.InlineText item : items) {
+            boxes.add(new BoxLayout.TextBox(MARGIN + ITEM_INDENT, y, FontStyle.REGULAR, 11, "•"));
+
+            List<String> lines = wrapText(item.getPlainText(), CONTENT_WIDTH - MARGIN - ITEM_INDENT - 10, FontStyle.REGULAR, 11);
+            for (int i = 0; i < lines.size(); i++) {
+                boxes.add(new BoxLayout.TextBox(MARGIN + ITEM_INDENT + 10, y, FontStyle.REGULAR, 11, lines.get(i)));
+                if (i < lines.size() - 1) {
+                    y -= LINE_HEIGHT;
+                }
+            }
+
+            y -= LINE_HEIGHT;
+        }
+        return y - 5;
+    }
+
+    /**
+     * Lay out a job entry: bold title with right-aligned dates, italic company and bullets
+     */
+    private float layoutEntry(List<BoxLayout.Box> boxes, LatexDocument.Entry entry, float y) {
+        boxes.add(new BoxLayout.TextBox(MARGIN, y, FontStyle.BOLD, 12, entry.getTitle().getPlainText()));
+
+        if (entry.getDates() != null && !entry.getDates().isEmpty()) {
+            float dateWidth = fontRegistry.metrics(FontStyle.REGULAR).width(entry.getDates(), 11);
+            boxes.add(new BoxLayout.TextBox(MARGIN + CONTENT_WIDTH - dateWidth, y, FontStyle.REGULAR, 11, entry.getDates()));
+        }
+        y -= LINE_HEIGHT;
+
+        if (entry.getSubtitle() != null && !entry.getSubtitle().isEmpty()) {
+            boxes.add(new BoxLayout.TextBox(MARGIN, y, FontStyle.ITALIC, 11, entry.getSubtitle().getPlainText()));
+            y -= LINE_HEIGHT;
+        }
+
+        if (!entry.getItems().isEmpty()) {
+            y = layoutList(boxes, entry.getItems(), y - 5);
+        }
+        return y - 5;
+    }
+
+    /**
+     * Wrap text to fit within specified width. Word widths are summed from the cached
+     * glyph advances of the font, so each character is measured once and no intermediate
+     * line strings are built.
+     */
+    private List<String> wrapText(String text, float width, FontStyle style, int fontSize) {
+        List<String> lines = new ArrayList<>();
+        FontMetrics metrics = fontRegistry.metrics(style);
+        // Compare in text space units to avoid scaling every word
+        float maxWidth = width * 1000 / fontSize;
+        float spaceWidth = metrics.advance(' ');
+
+        int length = text.length();
+        int lineStart = -1;
+        int lineEnd = 0;
+        float lineWidth = 0;
+        int wordStart = 0;
+
+        while (wordStart <= length) {
+            int wordEnd = text.indexOf(' ', wordStart);
+            if (wordEnd < 0) {
+                wordEnd = length;
+            }
+            if (wordEnd == wordStart) {
+                wordStart++;
+                continue;
+            }
+            float wordWidth = metrics.width(text, wordStart, wordEnd);
+
+            if (lineStart < 0) {
+                lineStart = wordStart;
+                lineWidth = wordWidth;
+            } else if (lineWidth + spaceWidth + wordWidth > maxWidth) {
+                lines.add(text.substring(lineStart, lineEnd));
+                lineStart = wordStart;
+                lineWidth = wordWidth;
+            } else {
+                lineWidth += spaceWidth + wordWidth;
+            }
+            lineEnd = wordEnd;
+            wordStart = wordEnd + 1;
+        }
+
+        if (lineStart >= 0) {
+            lines.add(text.substring(lineStart, lineEnd));
+        }
+
+        return lines;
+    }
+}
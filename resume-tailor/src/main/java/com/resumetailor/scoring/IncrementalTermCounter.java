@@ -0,0 +1,90 @@
+package com.resumetailor.scoring;
+
+/**
+ * Resume text and its counts of job description terms, kept up to date as the text is
+ * edited. An edit only re-tokenizes the lines around the changed range, since tokens and
+ * multi-word skills never cross a line break, so the cost of an edit does not depend on the
+ * length of the resume. Only terms of the job description are counted; they are all the match
+ * score depends on. Not thread-safe.
+ */
+public class IncrementalTermCounter {
+
+    private final Tokenizer tokenizer;
+    private final TermDictionary termDictionary;
+    private final TermFrequencyMap jobTerms;
+    private final StringBuilder text;
+    private final TermFrequencyMap resumeTerms = new TermFrequencyMap();
+    // Whether a job description term appeared or disappeared since the last reset
+    private boolean presenceChanged = true;
+
+    IncrementalTermCounter(Tokenizer tokenizer, TermDictionary termDictionary, TermFrequencyMap jobTerms, String resumeContent) {
+        this.tokenizer = tokenizer;
+        this.termDictionary = termDictionary;
+        this.jobTerms = jobTerms;
+        this.text = new StringBuilder(resumeContent);
+        count(resumeContent, 1);
+    }
+
+    /**
+     * Replace a range of the text
+     *
+     * @param start Start of the replaced range (inclusive)
+     * @param end End of the replaced range (exclusive)
+     * @param replacement The new text for the range
+     */
+    public void replace(int start, int end, String replacement) {
+        if (start < 0 || end < start || end > text.length()) {
+            throw new IllegalArgumentException("Edit range [" + start + ", " + end + ") is outside the text of length " + text.length());
+        }
+
+        // Widen the range to whole lines on both sides
+        int regionStart = start;
+        while (regionStart > 0 && text.charAt(regionStart - 1) != '\n') {
+            regionStart--;
+        }
+        int regionEnd = end;
+        while (regionEnd < text.length() && text.charAt(regionEnd) != '\n') {
+            regionEnd++;
+        }
+
+        count(text.substring(regionStart, regionEnd), -1);
+        text.replace(start, end, replacement);
+        count(text.substring(regionStart, regionEnd + replacement.length() - (end - start)), 1);
+    }
+
+    public int length() {
+        return text.length();
+    }
+
+    public TermFrequencyMap resumeTerms() {
+        return resumeTerms;
+    }
+
+    public TermFrequencyMap jobTerms() {
+        return jobTerms;
+    }
+
+    /**
+     * Whether the set of job description terms present in the text changed since the last
+     * call, which is the only time the match score can change
+     *
+     * @return Whether the presence of any term changed
+     */
+    public boolean consumePresenceChanged() {
+        boolean changed = presenceChanged;
+        presenceChanged = false;
+        return changed;
+    }
+
+    private void count(String span, int delta) {
+        tokenizer.tokenize(span, token -> {
+            int id = MatchScoringEngine.termId(termDictionary, token, jobTerms);
+            if (id != 0 && jobTerms.contains(id)) {
+                int updated = resumeTerms.add(id, delta);
+                if (delta > 0 ? updated == delta : updated == 0) {
+                    presenceChanged = true;
+                }
+            }
+        });
+    }
+}
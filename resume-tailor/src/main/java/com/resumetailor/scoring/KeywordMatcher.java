@@ -0,0 +1,274 @@
+package com.resumetailor.scoring;
+
+import com.resumetailor.taxonomy.SkillTaxonomy;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Case-insensitive multi-keyword matcher (Aho-Corasick). Built once per job description and
+ * reused for every text scanned against it, so each text is read once no matter how many
+ * keywords there are. Patterns and text are lowercased one char at a time, so match offsets
+ * are offsets into the original text. Immutable and safe to share between threads.
+ */
+public final class KeywordMatcher {
+
+    // Shorter keywords only match as whole words, even when substring matches are allowed
+    private static final int MIN_SUBSTRING_LENGTH = 4;
+
+    private final List<String> keywords;
+
+    // Goto function: sorted labels and target states per state
+    private final char[][] labels;
+    private final int[][] targets;
+    private final int[] failure;
+    // Nearest state on the failure chain that ends a pattern, or -1
+    private final int[] outputLink;
+    // Patterns ending at each state
+    private final int[][] patternsAt;
+
+    private final int[] patternKeyword;
+    private final int[] patternLength;
+    private final boolean[] patternWholeWord;
+
+    private KeywordMatcher(Builder builder) {
+        this.keywords = List.copyOf(builder.keywords);
+        int stateCount = builder.transitions.size();
+
+        this.labels = new char[stateCount][];
+        this.targets = new int[stateCount][];
+        for (int state = 0; state < stateCount; state++) {
+            Map<Character, Integer> transitions = builder.transitions.get(state);
+            char[] stateLabels = new char[transitions.size()];
+            int i = 0;
+            for (char label : transitions.keySet()) {
+                stateLabels[i++] = label;
+            }
+            Arrays.sort(stateLabels);
+            int[] stateTargets = new int[stateLabels.length];
+            for (i = 0; i < stateLabels.length; i++) {
+                stateTargets[i] = transitions.get(stateLabels[i]);
+            }
+            labels[state] = stateLabels;
+            targets[state] = stateTargets;
+        }
+
+        this.patternsAt = new int[stateCount][];
+        for (int state = 0; state < stateCount; state++) {
+            List<Integer> patterns = builder.patternsAt.get(state);
+            patternsAt[state] = patterns.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        this.patternKeyword = builder.patternKeyword.stream().mapToInt(Integer::intValue).toArray();
+        this.patternLength = builder.patternLength.stream().mapToInt(Integer::intValue).toArray();
+        this.patternWholeWord = new boolean[builder.patternWholeWord.size()];
+        for (int i = 0; i < patternWholeWord.length; i++) {
+            patternWholeWord[i] = builder.patternWholeWord.get(i);
+        }
+
+        // Failure and output links, breadth-first from the root
+        this.failure = new int[stateCount];
+        this.outputLink = new int[stateCount];
+        outputLink[0] = -1;
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[0]) {
+            failure[child] = 0;
+            outputLink[child] = -1;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int i = 0; i < labels[state].length; i++) {
+                char label = labels[state][i];
+                int child = targets[state][i];
+                int fallback = failure[state];
+                while (fallback != 0 && next(fallback, label) < 0) {
+                    fallback = failure[fallback];
+                }
+                int target = next(fallback, label);
+                failure[child] = target >= 0 && target != child ? target : 0;
+                outputLink[child] = patternsAt[failure[child]].length > 0 ? failure[child] : outputLink[failure[child]];
+                queue.add(child);
+            }
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Build a matcher for keywords, adding the taxonomy aliases of every keyword that is a
+     * known skill. Keywords match as substrings when {@code substring} is set, as whole words
+     * otherwise; aliases and keywords of three characters or fewer always match as whole
+     * words, so "go" does not match inside "django" or "mongo".
+     *
+     * @param keywords The keywords
+     * @param skillTaxonomy The skill taxonomy supplying aliases
+     * @param substring Whether keywords may match inside longer words
+     * @return The matcher
+     */
+    public static KeywordMatcher forKeywords(Collection<String> keywords, SkillTaxonomy skillTaxonomy, boolean substring) {
+        Builder builder = builder();
+        for (String keyword : keywords) {
+            boolean keywordSubstring = substring && keyword.strip().length() >= MIN_SUBSTRING_LENGTH;
+            builder.keyword(keyword, keywordSubstring, skillTaxonomy.aliases(keyword));
+        }
+        return builder.build();
+    }
+
+    public List<String> keywords() {
+        return keywords;
+    }
+
+    /**
+     * Visit every keyword occurrence in the text
+     *
+     * @param text The text to scan
+     * @param consumer Receives the keyword ID (its index in {@link #keywords()}) and the
+     * character span of every occurrence
+     */
+    public void scan(CharSequence text, MatchConsumer consumer) {
+        if (text == null) {
+            return;
+        }
+
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            int target;
+            while ((target = next(state, c)) < 0 && state != 0) {
+                state = failure[state];
+            }
+            state = Math.max(target, 0);
+
+            for (int output = patternsAt[state].length > 0 ? state : outputLink[state]; output >= 0; output = outputLink[output]) {
+                for (int pattern : patternsAt[output]) {
+                    int end = i + 1;
+                    int start = end - patternLength[pattern];
+                    if (!patternWholeWord[pattern] || isWholeWord(text, start, end)) {
+                        consumer.accept(patternKeyword[pattern], start, end);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * IDs of the keywords that occur in the text
+     *
+     * @param text The text to scan
+     * @return The matched keyword IDs
+     */
+    public BitSet matches(CharSequence text) {
+        BitSet matched = new BitSet(keywords.size());
+        scan(text, (keyword, start, end) -> matched.set(keyword));
+        return matched;
+    }
+
+    private int next(int state, char c) {
+        int index = Arrays.binarySearch(labels[state], c);
+        return index >= 0 ? targets[state][index] : -1;
+    }
+
+    /**
+     * Lowercase each char on its own, the same way {@link #scan} reads the text, so a pattern
+     * never changes length
+     */
+    private static String lowerCase(String value) {
+        char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    private static boolean isWholeWord(CharSequence text, int start, int end) {
+        return (start == 0 || !Character.isLetterOrDigit(text.charAt(start - 1)))
+                && (end == text.length() || !Character.isLetterOrDigit(text.charAt(end)));
+    }
+
+    /**
+     * Receives a keyword occurrence found while scanning text
+     */
+    @FunctionalInterface
+    public interface MatchConsumer {
+        void accept(int keyword, int start, int end);
+    }
+
+    public static final class Builder {
+        private final List<String> keywords = new ArrayList<>();
+        private final Map<String, Integer> keywordIds = new HashMap<>();
+        private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+        private final List<List<Integer>> patternsAt = new ArrayList<>();
+        private final List<Integer> patternKeyword = new ArrayList<>();
+        private final List<Integer> patternLength = new ArrayList<>();
+        private final List<Boolean> patternWholeWord = new ArrayList<>();
+
+        private Builder() {
+            newState();
+        }
+
+        /**
+         * Add a keyword and the aliases that also count as an occurrence of it
+         *
+         * @param keyword The keyword
+         * @param substring Whether the keyword may match inside a longer word
+         * @param aliases Aliases, matched as whole words
+         * @return The keyword ID
+         */
+        public int keyword(String keyword, boolean substring, Collection<String> aliases) {
+            String normalized = lowerCase(keyword);
+            Integer existing = keywordIds.get(normalized);
+            if (existing != null) {
+                return existing;
+            }
+
+            int id = keywords.size();
+            keywords.add(keyword);
+            keywordIds.put(normalized, id);
+            addPattern(normalized, id, !substring);
+            for (String alias : aliases) {
+                addPattern(lowerCase(alias), id, true);
+            }
+            return id;
+        }
+
+        public KeywordMatcher build() {
+            return new KeywordMatcher(this);
+        }
+
+        private void addPattern(String pattern, int keyword, boolean wholeWord) {
+            if (pattern.isEmpty()) {
+                return;
+            }
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                Integer target = transitions.get(state).get(c);
+                if (target == null) {
+                    target = newState();
+                    transitions.get(state).put(c, target);
+                }
+                state = target;
+            }
+            patternsAt.get(state).add(patternKeyword.size());
+            patternKeyword.add(keyword);
+            patternLength.add(pattern.length());
+            patternWholeWord.add(wholeWord);
+        }
+
+        private int newState() {
+            transitions.add(new HashMap<>());
+            patternsAt.add(new ArrayList<>());
+            return transitions.size() - 1;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.resumetailor.scoring;
+
+import com.resumetailor.dto.JobDescriptionAnalysis;
+import com.resumetailor.dto.MatchScoreResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Local match scoring of a resume against a job description.
+ * Job description terms are weighted by TF-IDF, with document frequencies taken from the
+ * recent job descriptions tracked by {@link TermDictionary}; the match score is the share of total
+ * job description weight covered by terms present in the resume, and the highest
+ * weighted terms are reported as matched or missing keywords.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MatchScoringEngine {
+
+    private final Tokenizer tokenizer;
+    private final TermDictionary termDictionary;
+
+    @Value("${scoring.max-keywords:30}")
+    private int maxKeywords;
+
+    /**
+     * Score a resume against a job description
+     *
+     * @param resumeContent The resume (plain text or LaTeX)
+     * @param jobDescription The job description
+     * @return The match score and matched/missing keywords
+     */
+    public MatchScoreResponse score(String resumeContent, String jobDescription) {
+        // Index the job description first, so its terms are known when counting the resume
+        TermFrequencyMap jobTerms = indexJobDescription(jobDescription);
+        return score(resumeTermFrequencies(resumeContent, jobTerms), jobTerms);
+    }
+
+    /**
+     * Count the terms of a job description and add it to the document frequency statistics.
+     * Terms the shared dictionary has no room for are kept under IDs local to the returned map.
+     *
+     * @param jobDescription The job description
+     * @return The term frequencies of the job description
+     */
+    public TermFrequencyMap indexJobDescription(String jobDescription) {
+        TermFrequencyMap jobTerms = new TermFrequencyMap(256);
+        tokenizer.tokenize(jobDescription, token -> {
+            int id = termDictionary.intern(token);
+            jobTerms.increment(id > 0 ? id : jobTerms.localId(token));
+        });
+        termDictionary.addDocument(jobDescription, jobTerms);
+        return jobTerms;
+    }
+
+    /**
+     * The highest weighted terms of a job description
+     *
+     * @param jobTerms Term frequencies of the job description
+     * @param limit Maximum number of terms
+     * @return The terms with their TF-IDF weights, heaviest first
+     */
+    public List<JobDescriptionAnalysis.WeightedKeyword> weightedKeywords(TermFrequencyMap jobTerms, int limit) {
+        int termCount = jobTerms.size();
+        int[] ids = new int[termCount];
+        double[] weights = new double[termCount];
+        int[] cursor = new int[1];
+
+        jobTerms.forEach((termId, count) -> {
+            ids[cursor[0]] = termId;
+            weights[cursor[0]] = weight(termId, count);
+            cursor[0]++;
+        });
+
+        List<JobDescriptionAnalysis.WeightedKeyword> keywords = new ArrayList<>();
+        for (int index : topIndexes(weights, ids, jobTerms, Math.min(limit, termCount))) {
+            keywords.add(JobDescriptionAnalysis.WeightedKeyword.builder()
+                    .keyword(term(ids[index], jobTerms))
+                    .weight(weights[index])
+                    .build());
+        }
+        return keywords;
+    }
+
+    /**
+     * Score pre-computed resume term frequencies against job description term frequencies
+     *
+     * @param resumeTerms Term frequencies of the resume
+     * @param jobTerms Term frequencies of the job description
+     * @return The match score and matched/missing keywords
+     */
+    public MatchScoreResponse score(TermFrequencyMap resumeTerms, TermFrequencyMap jobTerms) {
+        int termCount = jobTerms.size();
+        int[] ids = new int[termCount];
+        double[] weights = new double[termCount];
+        double[] totals = new double[2];
+        int[] cursor = new int[1];
+
+        jobTerms.forEach((termId, count) -> {
+            double weight = weight(termId, count);
+            ids[cursor[0]] = termId;
+            weights[cursor[0]] = weight;
+            cursor[0]++;
+            totals[0] += weight;
+            if (resumeTerms.contains(termId)) {
+                totals[1] += weight;
+            }
+        });
+
+        int matchScore = totals[0] > 0 ? (int) Math.round(100.0 * totals[1] / totals[0]) : 0;
+
+        // Report the highest weighted job description terms
+        List<String> matched = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        for (int index : topIndexes(weights, ids, jobTerms, Math.min(maxKeywords, termCount))) {
+            String term = term(ids[index], jobTerms);
+            if (resumeTerms.contains(ids[index])) {
+                matched.add(term);
+            } else {
+                missing.add(term);
+            }
+        }
+
+        return MatchScoreResponse.builder()
+                .matchScore(matchScore)
+                .keywordsMatched(matched)
+                .keywordsMissing(missing)
+                .build();
+    }
+
+    /**
+     * Count the normalized terms of a resume. Only terms already in the dictionary or local to
+     * the job description are counted, since only job description terms affect the score;
+     * resume text never adds terms to the shared dictionary.
+     *
+     * @param resumeContent The resume (plain text or LaTeX)
+     * @param jobTerms Term frequencies of the job description the resume is scored against
+     * @return The term frequencies keyed by term ID
+     */
+    public TermFrequencyMap resumeTermFrequencies(String resumeContent, TermFrequencyMap jobTerms) {
+        TermFrequencyMap frequencies = new TermFrequencyMap(256);
+        tokenizer.tokenize(resumeContent, token -> {
+            int id = termId(token, jobTerms);
+            if (id != 0) {
+                frequencies.increment(id);
+            }
+        });
+        return frequencies;
+    }
+
+    /**
+     * ID of a term in the dictionary or, failing that, local to the job description
+     *
+     * @return The term ID, or 0 if neither knows the term
+     */
+    static int termId(TermDictionary termDictionary, String token, TermFrequencyMap jobTerms) {
+        int id = termDictionary.lookup(token);
+        return id > 0 ? id : jobTerms.lookupLocal(token);
+    }
+
+    private int termId(String token, TermFrequencyMap jobTerms) {
+        return termId(termDictionary, token, jobTerms);
+    }
+
+    private String term(int id, TermFrequencyMap jobTerms) {
+        return id > 0 ? termDictionary.term(id) : jobTerms.localTerm(id);
+    }
+
+    /**
+     * Start tracking a resume that is being edited against a job description
+     *
+     * @param resumeContent The initial resume content
+     * @param jobTerms Term frequencies of the job description
+     * @return A counter to apply edits to and score with {@link #score(TermFrequencyMap, TermFrequencyMap)}
+     */
+    public IncrementalTermCounter incrementalCounter(String resumeContent, TermFrequencyMap jobTerms) {
+        return new IncrementalTermCounter(tokenizer, termDictionary, jobTerms, resumeContent);
+    }
+
+    /**
+     * TF-IDF weight of a job description term, with sublinear term frequency
+     */
+    private double weight(int termId, int count) {
+        return (1.0 + Math.log(count)) * termDictionary.idf(termId);
+    }
+
+    /**
+     * Indexes of the k largest weights, in descending weight order (ties broken alphabetically)
+     */
+    private int[] topIndexes(double[] weights, int[] ids, TermFrequencyMap jobTerms, int k) {
+        Integer[] order = new Integer[weights.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> {
+            int byWeight = Double.compare(weights[b], weights[a]);
+            return byWeight != 0 ? byWeight : term(ids[a], jobTerms).compareTo(term(ids[b], jobTerms));
+        });
+        int[] top = new int[k];
+        for (int i = 0; i < k; i++) {
+            top[i] = order[i];
+        }
+        return top;
+    }
+}
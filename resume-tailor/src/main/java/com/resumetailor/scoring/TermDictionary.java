@@ -0,0 +1,140 @@
+package com.resumetailor.scoring;
+
+import com.resumetailor.util.HashUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared dictionary mapping normalized job description terms to dense integer IDs, together
+ * with document frequencies over a window of the most recent distinct job descriptions, which
+ * give the inverse document frequency used for TF-IDF weighting. A document leaving the window
+ * has its counts removed again, so the IDF only ever reflects the documents in the window, and
+ * the same resume and job description can score differently as the window moves. Once the
+ * dictionary is full, new terms get IDs local to their job description's
+ * {@link TermFrequencyMap} instead.
+ */
+@Component
+@Slf4j
+public class TermDictionary {
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final int maxTerms;
+    // Distinct term IDs of each tracked document, by content hash, oldest first
+    private final Map<String, int[]> seenDocuments;
+    private volatile String[] terms = new String[1024];
+    private volatile int[] documentFrequencies = new int[1024];
+    private volatile int documentCount;
+    private int nextId = 1;
+
+    public TermDictionary(@Value("${scoring.dictionary.max-terms:200000}") int maxTerms,
+                          @Value("${scoring.idf.max-tracked-documents:10000}") int maxTrackedDocuments) {
+        this.maxTerms = maxTerms;
+        this.seenDocuments = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, int[]> eldest) {
+                if (size() <= maxTrackedDocuments) {
+                    return false;
+                }
+                // Called from addDocument, under the dictionary lock
+                int[] frequencies = documentFrequencies;
+                for (int termId : eldest.getValue()) {
+                    frequencies[termId]--;
+                }
+                documentCount--;
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Get the ID of a term, assigning a new one if needed
+     *
+     * @param term The normalized term
+     * @return The term ID, or 0 if the dictionary is full and the term is unknown
+     */
+    public int intern(String term) {
+        Integer id = ids.get(term);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            id = ids.get(term);
+            if (id != null) {
+                return id;
+            }
+            if (nextId > maxTerms) {
+                return 0;
+            }
+            int assigned = nextId++;
+            if (assigned >= terms.length) {
+                terms = Arrays.copyOf(terms, terms.length * 2);
+                documentFrequencies = Arrays.copyOf(documentFrequencies, documentFrequencies.length * 2);
+            }
+            terms[assigned] = term;
+            ids.put(term, assigned);
+            return assigned;
+        }
+    }
+
+    /**
+     * Get the ID of a known term without assigning one
+     *
+     * @param term The normalized term
+     * @return The term ID, or 0 if unknown
+     */
+    public int lookup(String term) {
+        Integer id = ids.get(term);
+        return id != null ? id : 0;
+    }
+
+    public String term(int id) {
+        return terms[id];
+    }
+
+    /**
+     * Count a document towards the document frequencies of its terms.
+     * Each distinct document (by normalized content hash) is only counted once while it is
+     * tracked; the oldest document is uncounted once more than the tracked maximum are seen.
+     *
+     * @param documentText The document text, used to detect repeats
+     * @param termFrequencies The terms of the document
+     */
+    public void addDocument(String documentText, TermFrequencyMap termFrequencies) {
+        String hash = HashUtils.normalizedHash(documentText);
+        synchronized (this) {
+            if (seenDocuments.containsKey(hash)) {
+                return;
+            }
+            int[] termIds = new int[termFrequencies.size()];
+            int[] cursor = new int[1];
+            int[] frequencies = documentFrequencies;
+            termFrequencies.forEach((termId, count) -> {
+                // Map-local terms have no shared statistics
+                if (termId > 0) {
+                    frequencies[termId]++;
+                    termIds[cursor[0]++] = termId;
+                }
+            });
+            documentCount++;
+            seenDocuments.put(hash, Arrays.copyOf(termIds, cursor[0]));
+        }
+    }
+
+    /**
+     * Smoothed inverse document frequency of a term. A map-local term gets the IDF of a term
+     * no tracked document contains.
+     *
+     * @param id The term ID
+     * @return The IDF weight (1.0 for every term until documents have been seen)
+     */
+    public double idf(int id) {
+        int df = id > 0 && id < documentFrequencies.length ? documentFrequencies[id] : 0;
+        return Math.log((documentCount + 1.0) / (df + 1.0)) + 1.0;
+    }
+}
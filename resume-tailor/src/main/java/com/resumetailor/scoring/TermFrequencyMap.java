@@ -0,0 +1,180 @@
+package com.resumetailor.scoring;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Open-addressing hash map from term ID to count, backed by primitive arrays
+ * so counting terms does not box integers or allocate map entries.
+ * Term IDs must be non-zero; 0 marks an empty slot. Positive IDs come from the shared
+ * {@link TermDictionary}; negative IDs are local to the map, for terms the dictionary had no
+ * room for.
+ */
+public class TermFrequencyMap {
+
+    private int[] keys;
+    private int[] values;
+    private int size;
+    private int mask;
+    // Map-local terms, by term and by -id - 1
+    private Map<String, Integer> localIds;
+    private List<String> localTerms;
+
+    public TermFrequencyMap() {
+        this(64);
+    }
+
+    public TermFrequencyMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        this.keys = new int[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Add the delta to the count of the term, removing the term when its count drops to zero
+     *
+     * @param termId The term ID
+     * @param delta The amount to add (may be negative)
+     * @return The new count
+     */
+    public int add(int termId, int delta) {
+        int slot = find(termId);
+        if (keys[slot] == termId) {
+            int updated = values[slot] + delta;
+            if (updated <= 0) {
+                removeAt(slot);
+                return 0;
+            }
+            values[slot] = updated;
+            return updated;
+        }
+        if (delta <= 0) {
+            return 0;
+        }
+        keys[slot] = termId;
+        values[slot] = delta;
+        if (++size * 2 > keys.length) {
+            resize();
+        }
+        return delta;
+    }
+
+    public int increment(int termId) {
+        return add(termId, 1);
+    }
+
+    public int get(int termId) {
+        int slot = find(termId);
+        return keys[slot] == termId ? values[slot] : 0;
+    }
+
+    public boolean contains(int termId) {
+        return get(termId) > 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the map-local ID of a term, assigning a new one if needed
+     *
+     * @param term The normalized term
+     * @return The negative local ID
+     */
+    public int localId(String term) {
+        if (localIds == null) {
+            localIds = new HashMap<>();
+            localTerms = new ArrayList<>();
+        }
+        return localIds.computeIfAbsent(term, t -> {
+            localTerms.add(t);
+            return -localTerms.size();
+        });
+    }
+
+    /**
+     * Get the map-local ID of a term without assigning one
+     *
+     * @param term The normalized term
+     * @return The negative local ID, or 0 if unknown
+     */
+    public int lookupLocal(String term) {
+        Integer id = localIds != null ? localIds.get(term) : null;
+        return id != null ? id : 0;
+    }
+
+    public String localTerm(int id) {
+        return localTerms.get(-id - 1);
+    }
+
+    /**
+     * Visit every term and its count
+     *
+     * @param consumer Receives the term ID and count
+     */
+    public void forEach(TermConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    private int find(int termId) {
+        int slot = mix(termId) & mask;
+        while (keys[slot] != 0 && keys[slot] != termId) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Backward-shift deletion keeps probe sequences intact without tombstones
+     */
+    private void removeAt(int slot) {
+        size--;
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (keys[next] != 0) {
+            int home = mix(keys[next]) & mask;
+            boolean movable = gap <= next ? (home <= gap || home > next) : (home <= gap && home > next);
+            if (movable) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = 0;
+        values[gap] = 0;
+    }
+
+    private void resize() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    @FunctionalInterface
+    public interface TermConsumer {
+        void accept(int termId, int count);
+    }
+}
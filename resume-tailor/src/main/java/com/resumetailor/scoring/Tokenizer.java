@@ -0,0 +1,169 @@
+package com.resumetailor.scoring;
+
+import com.resumetailor.taxonomy.SkillTaxonomy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Single-pass tokenizer for resumes and job descriptions. LaTeX commands are skipped,
+ * tokens are lowercased, technical tokens such as "node.js", "c++", "c#" and "ci/cd"
+ * are kept whole, stop words are dropped and skill aliases are normalized through the
+ * {@link SkillTaxonomy}. Multi-word skills ("machine learning") are found with a longest
+ * match over runs of tokens separated only by spaces or tabs, and emitted as one term, the
+ * same term their single-word aliases ("ml") normalize to. Such runs never cross a line
+ * break, so each line is tokenized independently of the others.
+ */
+@Component
+@RequiredArgsConstructor
+public class Tokenizer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "about", "above", "after", "all", "also", "am", "an", "and", "any", "are", "as", "at",
+            "be", "been", "being", "both", "but", "by", "can", "could", "did", "do", "does", "doing",
+            "during", "each", "etc", "few", "for", "from", "further", "had", "has", "have", "having",
+            "he", "her", "here", "hers", "him", "his", "how", "i", "if", "in", "into", "is", "it", "its",
+            "just", "may", "me", "more", "most", "must", "my", "no", "nor", "not", "of", "off", "on",
+            "once", "only", "or", "other", "our", "ours", "out", "over", "own", "per", "same", "she",
+            "should", "so", "some", "such", "than", "that", "the", "their", "them", "then", "there",
+            "these", "they", "this", "those", "through", "to", "too", "under", "until", "up", "us",
+            "very", "via", "was", "we", "were", "what", "when", "where", "which", "while", "who", "whom",
+            "why", "will", "with", "within", "would", "you", "your", "yours",
+            // Filler common to job postings
+            "ability", "able", "candidate", "company", "including", "join", "looking", "plus",
+            "preferred", "required", "requirements", "responsibilities", "role", "strong", "team",
+            "well", "work", "working", "years", "year", "experience", "excellent", "good", "skills",
+            "knowledge", "understanding", "proficiency", "proficient", "familiarity", "new", "using"
+    );
+
+    private final SkillTaxonomy skillTaxonomy;
+
+    /**
+     * Visit every normalized, non-stop-word token of the text in order
+     *
+     * @param text The text to tokenize
+     * @param consumer Receives each token
+     */
+    public void tokenize(String text, Consumer<String> consumer) {
+        if (text == null) {
+            return;
+        }
+
+        int length = text.length();
+        StringBuilder token = new StringBuilder(32);
+        // Tokens of the current run, separated only by spaces or tabs
+        List<String> run = new ArrayList<>();
+        int i = 0;
+
+        while (i < length) {
+            char c = text.charAt(i);
+
+            // Skip LaTeX control words such as \textbf or \item
+            if (c == '\\' && i + 1 < length && Character.isLetter(text.charAt(i + 1))) {
+                endToken(token, run);
+                flush(run, consumer);
+                i += 2;
+                while (i < length && Character.isLetter(text.charAt(i))) {
+                    i++;
+                }
+                continue;
+            }
+
+            if (Character.isLetterOrDigit(c)) {
+                token.append(Character.toLowerCase(c));
+            } else if (token.length() > 0 && isInnerSymbol(c, text, i)) {
+                token.append(c);
+            } else if (token.length() == 0 && c == '.' && i + 1 < length && Character.isLetter(text.charAt(i + 1))) {
+                // Leading dot of ".net"
+                token.append(c);
+            } else {
+                endToken(token, run);
+                if (c != ' ' && c != '\t') {
+                    flush(run, consumer);
+                }
+            }
+            i++;
+        }
+        endToken(token, run);
+        flush(run, consumer);
+    }
+
+    /**
+     * Normalize a single term the same way tokens are normalized
+     *
+     * @param term The raw term
+     * @return The normalized term
+     */
+    public String normalize(String term) {
+        return skillTaxonomy.normalizeToken(term.trim().toLowerCase());
+    }
+
+    public boolean isStopWord(String token) {
+        return STOP_WORDS.contains(token);
+    }
+
+    /**
+     * Symbols kept inside a token: '+' and '#' (c++, c#), and '.', '/' or '-' when
+     * followed by a letter or digit (node.js, ci/cd, front-end)
+     */
+    private boolean isInnerSymbol(char c, String text, int index) {
+        if (c == '+' || c == '#') {
+            return true;
+        }
+        if (c == '.' || c == '/' || c == '-') {
+            return index + 1 < text.length() && Character.isLetterOrDigit(text.charAt(index + 1));
+        }
+        return false;
+    }
+
+    private void endToken(StringBuilder token, List<String> run) {
+        if (token.length() > 0) {
+            run.add(token.toString());
+            token.setLength(0);
+        }
+    }
+
+    /**
+     * Emit the tokens of a run, replacing the longest multi-word skill at each position by
+     * its canonical name
+     */
+    private void flush(List<String> run, Consumer<String> consumer) {
+        int i = 0;
+        while (i < run.size()) {
+            int matched = run.size() - i > 1 ? skillTaxonomy.matchPhrase(run, i) : 0;
+            if (matched > 0) {
+                emit(String.join(" ", run.subList(i, i + matched)), consumer);
+                i += matched;
+            } else {
+                emit(run.get(i), consumer);
+                i++;
+            }
+        }
+        run.clear();
+    }
+
+    private void emit(String raw, Consumer<String> consumer) {
+        String normalized = skillTaxonomy.normalizeToken(raw);
+        if (normalized.length() < 2 && !normalized.equals("c") && !normalized.equals("r")) {
+            return;
+        }
+        if (STOP_WORDS.contains(normalized) || isNumber(normalized)) {
+            return;
+        }
+        consumer.accept(normalized);
+    }
+
+    private boolean isNumber(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (!Character.isDigit(c) && c != '.' && c != '/' && c != '-' && c != '+') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
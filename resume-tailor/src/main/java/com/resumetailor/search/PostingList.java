@@ -0,0 +1,94 @@
+package com.resumetailor.search;
+
+/**
+ * Append-only posting list of (document ID, term frequency) pairs, stored as variable-byte
+ * encoded document ID gaps and frequencies. Documents must be added in increasing ID order.
+ */
+final class PostingList {
+
+    private byte[] data = new byte[8];
+    private int length;
+    private int lastDocument = -1;
+    private int documentFrequency;
+
+    /**
+     * Append a posting
+     *
+     * @param document The document ID, greater than every ID added before
+     * @param frequency The term frequency in the document
+     */
+    void add(int document, int frequency) {
+        writeVarInt(document - lastDocument);
+        writeVarInt(frequency);
+        lastDocument = document;
+        documentFrequency++;
+    }
+
+    /**
+     * Visit every posting in document order
+     *
+     * @param consumer Receives the document ID and term frequency
+     */
+    void forEach(PostingConsumer consumer) {
+        int position = 0;
+        int document = -1;
+        while (position < length) {
+            int gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                gap |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+
+            int frequency = 0;
+            shift = 0;
+            do {
+                b = data[position++];
+                frequency |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+
+            document += gap;
+            consumer.accept(document, frequency);
+        }
+    }
+
+    /**
+     * Number of live documents containing the term
+     */
+    int documentFrequency() {
+        return documentFrequency;
+    }
+
+    /**
+     * Record that a document containing the term was removed; its posting stays in the list
+     * until the index is compacted
+     */
+    void removeDocument() {
+        documentFrequency--;
+    }
+
+    int sizeInBytes() {
+        return length;
+    }
+
+    private void writeVarInt(int value) {
+        if (length + 5 > data.length) {
+            byte[] grown = new byte[Math.max(data.length * 2, length + 5)];
+            System.arraycopy(data, 0, grown, 0, length);
+            data = grown;
+        }
+        while ((value & ~0x7F) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    @FunctionalInterface
+    interface PostingConsumer {
+        void accept(int document, int frequency);
+    }
+}
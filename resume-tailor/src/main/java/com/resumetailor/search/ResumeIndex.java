@@ -0,0 +1,362 @@
+package com.resumetailor.search;
+
+import com.resumetailor.dto.CandidateSearchResponse;
+import com.resumetailor.dto.IndexedResume;
+import com.resumetailor.dto.ResumeIndexStats;
+import com.resumetailor.scoring.Tokenizer;
+import com.resumetailor.util.CompressionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over a resume corpus, ranked against job descriptions with
+ * Okapi BM25. Posting lists are variable-byte compressed, scores are accumulated term at a
+ * time into a flat array and the best candidates are selected with a bounded min-heap.
+ * Resumes can be added, replaced and removed at any time; removed documents are skipped
+ * at query time and reclaimed when the index is compacted.
+ */
+@Component
+@Slf4j
+public class ResumeIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // Saturation of repeated job description terms
+    private static final double K3 = 7.0;
+
+    private final Tokenizer tokenizer;
+    private final int maxDocuments;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<String, PostingList> postings = new HashMap<>();
+    private Map<String, Integer> documentIds = new HashMap<>();
+    private List<String> ids = new ArrayList<>();
+    private List<String> names = new ArrayList<>();
+    private List<byte[]> contents = new ArrayList<>();
+    private int[] documentLengths = new int[1024];
+    private BitSet deleted = new BitSet();
+    private long totalLength;
+
+    public ResumeIndex(Tokenizer tokenizer,
+                       @Value("${recruiter.index.max-documents:50000}") int maxDocuments) {
+        this.tokenizer = tokenizer;
+        this.maxDocuments = maxDocuments;
+    }
+
+    /**
+     * Add resumes to the index, replacing any indexed resume with the same ID
+     *
+     * @param resumes The resumes to add
+     */
+    public void addAll(List<IndexedResume> resumes) {
+        lock.writeLock().lock();
+        try {
+            // Replacements do not take up extra room
+            long added = resumes.stream()
+                    .map(IndexedResume::getId)
+                    .distinct()
+                    .filter(id -> !documentIds.containsKey(id))
+                    .count();
+            if (liveDocuments() + added > maxDocuments) {
+                throw new IllegalArgumentException("Resume index is limited to " + maxDocuments + " documents");
+            }
+            for (IndexedResume resume : resumes) {
+                Integer existing = documentIds.get(resume.getId());
+                if (existing != null) {
+                    delete(existing);
+                }
+                append(resume.getId(), resume.getName(), resume.getContent(), CompressionUtils.deflate(resume.getContent()));
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a resume from the index
+     *
+     * @param id The resume ID
+     * @return Whether the resume was indexed
+     */
+    public boolean remove(String id) {
+        lock.writeLock().lock();
+        try {
+            Integer document = documentIds.get(id);
+            if (document == null) {
+                return false;
+            }
+            delete(document);
+            compactIfNeeded();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rank the indexed resumes against a job description
+     *
+     * @param jobDescription The job description
+     * @param topK Maximum number of candidates to return
+     * @return The best candidates, highest BM25 score first
+     */
+    public List<CandidateSearchResponse.Candidate> search(String jobDescription, int topK) {
+        // Query terms with their frequency in the job description
+        Map<String, Integer> queryTerms = new HashMap<>();
+        tokenizer.tokenize(jobDescription, term -> queryTerms.merge(term, 1, Integer::sum));
+
+        lock.readLock().lock();
+        try {
+            int documentCount = ids.size();
+            int live = liveDocuments();
+            if (live == 0 || topK <= 0) {
+                return List.of();
+            }
+
+            double averageLength = (double) totalLength / live;
+            float[] scores = new float[documentCount];
+
+            for (Map.Entry<String, Integer> queryTerm : queryTerms.entrySet()) {
+                PostingList postingList = postings.get(queryTerm.getKey());
+                if (postingList == null || postingList.documentFrequency() == 0) {
+                    continue;
+                }
+                int df = postingList.documentFrequency();
+                int qtf = queryTerm.getValue();
+                double weight = Math.log(1 + (live - df + 0.5) / (df + 0.5)) * (K3 + 1) * qtf / (K3 + qtf);
+
+                postingList.forEach((document, tf) -> {
+                    if (!deleted.get(document)) {
+                        double norm = K1 * (1 - B + B * documentLengths[document] / averageLength);
+                        scores[document] += (float) (weight * tf * (K1 + 1) / (tf + norm));
+                    }
+                });
+            }
+
+            int[] top = selectTop(scores, topK);
+            List<CandidateSearchResponse.Candidate> candidates = new ArrayList<>(top.length);
+            for (int document : top) {
+                candidates.add(CandidateSearchResponse.Candidate.builder()
+                        .id(ids.get(document))
+                        .name(names.get(document))
+                        .score(scores[document])
+                        .build());
+            }
+            return candidates;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The stored content of an indexed resume
+     *
+     * @param id The resume ID
+     * @return The resume content, or null if it is not indexed
+     */
+    public String content(String id) {
+        lock.readLock().lock();
+        try {
+            Integer document = documentIds.get(id);
+            return document != null ? CompressionUtils.inflate(contents.get(document)) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocuments();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public ResumeIndexStats stats() {
+        lock.readLock().lock();
+        try {
+            long postingBytes = 0;
+            for (PostingList postingList : postings.values()) {
+                postingBytes += postingList.sizeInBytes();
+            }
+            long contentBytes = 0;
+            for (byte[] content : contents) {
+                contentBytes += content != null ? content.length : 0;
+            }
+            return ResumeIndexStats.builder()
+                    .documents(liveDocuments())
+                    .deletedDocuments(deleted.cardinality())
+                    .terms(postings.size())
+                    .postingBytes(postingBytes)
+                    .storedContentBytes(contentBytes)
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Index a document under the next document ID
+     */
+    private void append(String id, String name, String content, byte[] compressedContent) {
+        int document = ids.size();
+        Map<String, int[]> termCounts = new HashMap<>();
+        int[] length = new int[1];
+        tokenizer.tokenize(content, term -> {
+            termCounts.computeIfAbsent(term, key -> new int[1])[0]++;
+            length[0]++;
+        });
+
+        for (Map.Entry<String, int[]> termCount : termCounts.entrySet()) {
+            postings.computeIfAbsent(termCount.getKey(), key -> new PostingList()).add(document, termCount.getValue()[0]);
+        }
+
+        if (document == documentLengths.length) {
+            documentLengths = Arrays.copyOf(documentLengths, document * 2);
+        }
+        documentLengths[document] = length[0];
+        totalLength += length[0];
+        ids.add(id);
+        names.add(name != null ? name : id);
+        contents.add(compressedContent);
+        documentIds.put(id, document);
+    }
+
+    /**
+     * Tombstone a document and remove it from the document frequencies of its terms
+     */
+    private void delete(int document) {
+        String content = CompressionUtils.inflate(contents.get(document));
+        Map<String, Boolean> seen = new HashMap<>();
+        tokenizer.tokenize(content, term -> {
+            if (seen.put(term, Boolean.TRUE) == null) {
+                postings.get(term).removeDocument();
+            }
+        });
+
+        deleted.set(document);
+        totalLength -= documentLengths[document];
+        documentIds.remove(ids.get(document));
+        contents.set(document, null);
+    }
+
+    /**
+     * Rebuild the index without tombstoned documents once they make up half of it
+     */
+    private void compactIfNeeded() {
+        int deletedCount = deleted.cardinality();
+        if (deletedCount < 1000 || deletedCount * 2 < ids.size()) {
+            return;
+        }
+
+        log.info("Compacting resume index: dropping {} removed documents", deletedCount);
+        List<String> oldIds = ids;
+        List<String> oldNames = names;
+        List<byte[]> oldContents = contents;
+        BitSet oldDeleted = deleted;
+
+        postings = new HashMap<>();
+        documentIds = new HashMap<>();
+        ids = new ArrayList<>();
+        names = new ArrayList<>();
+        contents = new ArrayList<>();
+        documentLengths = new int[Math.max(1024, oldIds.size() - deletedCount)];
+        deleted = new BitSet();
+        totalLength = 0;
+
+        for (int document = 0; document < oldIds.size(); document++) {
+            if (!oldDeleted.get(document)) {
+                byte[] compressed = oldContents.get(document);
+                append(oldIds.get(document), oldNames.get(document), CompressionUtils.inflate(compressed), compressed);
+            }
+        }
+    }
+
+    private int liveDocuments() {
+        return ids.size() - deleted.cardinality();
+    }
+
+    /**
+     * Documents with the k highest positive scores, highest first (ties by document ID),
+     * using a min-heap of size k
+     */
+    private int[] selectTop(float[] scores, int k) {
+        int[] heap = new int[Math.min(k, scores.length)];
+        int size = 0;
+
+        for (int document = 0; document < scores.length; document++) {
+            if (scores[document] <= 0) {
+                continue;
+            }
+            if (size < heap.length) {
+                heap[size] = document;
+                siftUp(heap, size++, scores);
+            } else if (isBetter(document, heap[0], scores)) {
+                heap[0] = document;
+                siftDown(heap, size, scores);
+            }
+        }
+
+        // Pop the heap, worst first, into descending order
+        int[] top = new int[size];
+        for (int i = size - 1; i >= 0; i--) {
+            top[i] = heap[0];
+            heap[0] = heap[--size];
+            siftDown(heap, size, scores);
+        }
+        return top;
+    }
+
+    private void siftUp(int[] heap, int index, float[] scores) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!isBetter(heap[parent], heap[index], scores)) {
+                break;
+            }
+            swap(heap, parent, index);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int[] heap, int size, float[] scores) {
+        int index = 0;
+        while (true) {
+            int worst = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && isBetter(heap[worst], heap[left], scores)) {
+                worst = left;
+            }
+            if (right < size && isBetter(heap[worst], heap[right], scores)) {
+                worst = right;
+            }
+            if (worst == index) {
+                return;
+            }
+            swap(heap, index, worst);
+            index = worst;
+        }
+    }
+
+    private boolean isBetter(int a, int b, float[] scores) {
+        return scores[a] > scores[b] || (scores[a] == scores[b] && a < b);
+    }
+
+    private void swap(int[] heap, int i, int j) {
+        int tmp = heap[i];
+        heap[i] = heap[j];
+        heap[j] = tmp;
+    }
+}
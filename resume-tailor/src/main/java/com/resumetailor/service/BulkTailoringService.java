@@ -0,0 +1,671 @@
+package com.resumetailor.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.theokanning.openai.OpenAiHttpException;
+import com.resumetailor.dto.BulkItemResult;
+import com.resumetailor.dto.BulkJobStatus;
+import com.resumetailor.dto.TailorRequest;
+import com.resumetailor.dto.TailorResponse;
+import com.resumetailor.exception.ResourceNotFoundException;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Offline bulk tailoring of many resume/job description pairs.
+ * Uploaded items are stored on disk, processed on a rate-limited background worker pool,
+ * and every result is appended to a per-job checkpoint file. The API key is only held in
+ * memory, so after a restart an unfinished job waits until the key is submitted again and
+ * then resumes from its checkpoint. Rate limits, timeouts and provider errors are retried
+ * with backoff; an item that still fails that way is left pending rather than recorded as
+ * failed, and the job waits to be resumed once its other items are done.
+ */
+@Service
+@Slf4j
+public class BulkTailoringService {
+
+    private static final String JOB_FILE = "job.json";
+    private static final String ITEMS_FILE = "items.jsonl";
+    private static final String RESULTS_FILE = "results.jsonl";
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 300_000;
+
+    private final ResumeTailorService resumeTailorService;
+    private final ExecutorService bulkExecutor;
+    private final ObjectMapper objectMapper;
+    private final Path storageDir;
+    private final long streamTimeoutMillis;
+    private final RateLimiter rateLimiter;
+    private final int retryMaxAttempts;
+    private final long retryInitialBackoffMillis;
+    private final Map<String, JobState> jobs = new ConcurrentHashMap<>();
+
+    public BulkTailoringService(ResumeTailorService resumeTailorService,
+                                ExecutorService bulkExecutor,
+                                ObjectMapper objectMapper,
+                                @Value("${bulk.storage-dir:${java.io.tmpdir}/resume-tailor-bulk}") String storageDir,
+                                @Value("${bulk.rate-per-minute:30}") int ratePerMinute,
+                                @Value("${bulk.results.stream-timeout-ms:3600000}") long streamTimeoutMillis,
+                                @Value("${bulk.retry.max-attempts:8}") int retryMaxAttempts,
+                                @Value("${bulk.retry.initial-backoff-ms:2000}") long retryInitialBackoffMillis) {
+        this.resumeTailorService = resumeTailorService;
+        this.bulkExecutor = bulkExecutor;
+        this.objectMapper = objectMapper;
+        this.storageDir = Paths.get(storageDir);
+        this.streamTimeoutMillis = streamTimeoutMillis;
+        this.rateLimiter = new RateLimiter(ratePerMinute);
+        this.retryMaxAttempts = Math.max(1, retryMaxAttempts);
+        this.retryInitialBackoffMillis = retryInitialBackoffMillis;
+    }
+
+    /**
+     * Load jobs from their checkpoint files. Unfinished jobs wait for their API key.
+     */
+    @PostConstruct
+    public void loadJobs() throws IOException {
+        Files.createDirectories(storageDir);
+
+        try (Stream<Path> jobDirs = Files.list(storageDir)) {
+            for (Path jobDir : jobDirs.filter(Files::isDirectory).toList()) {
+                try {
+                    JobState state = loadJob(jobDir);
+                    jobs.put(state.meta.getJobId(), state);
+                    int remaining = state.items.size() - state.done.size();
+                    if (remaining > 0) {
+                        log.info("Bulk job {} has {} remaining items and is waiting for its API key",
+                                state.meta.getJobId(), remaining);
+                    }
+                } catch (IOException e) {
+                    log.error("Failed to load bulk job from {}: {}", jobDir, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Create a bulk job from a CSV or JSONL upload and start processing it
+     *
+     * @param upload The uploaded file content
+     * @param filename The uploaded file name, used to detect the format
+     * @param apiKey The API key used for all items
+     * @param provider The AI provider used for all items
+     * @return The initial job status
+     */
+    public BulkJobStatus submitJob(InputStream upload, String filename, String apiKey, String provider) throws IOException {
+        if (apiKey == null || apiKey.isEmpty()) {
+            throw new IllegalArgumentException("API key cannot be empty");
+        }
+
+        List<TailorRequest> items = filename != null && filename.toLowerCase().endsWith(".csv")
+                ? parseCsv(upload)
+                : parseJsonLines(upload);
+
+        if (items.isEmpty()) {
+            throw new IllegalArgumentException("Bulk upload contains no items");
+        }
+
+        String jobId = UUID.randomUUID().toString();
+        Path jobDir = storageDir.resolve(jobId);
+        Files.createDirectories(jobDir);
+
+        // Persist the items first so the job survives a restart
+        List<String> lines = new ArrayList<>(items.size());
+        for (TailorRequest item : items) {
+            lines.add(objectMapper.writeValueAsString(new TailorRequest(item.getResumeContent(), item.getJobDescription(), null, null, false)));
+        }
+        Files.write(jobDir.resolve(ITEMS_FILE), lines, StandardCharsets.UTF_8);
+
+        BulkJob meta = new BulkJob(jobId, provider, items.size(), LocalDateTime.now());
+        objectMapper.writeValue(jobDir.resolve(JOB_FILE).toFile(), meta);
+        Files.createFile(jobDir.resolve(RESULTS_FILE));
+
+        JobState state = new JobState(meta, jobDir, items);
+        jobs.put(jobId, state);
+        start(state, apiKey);
+
+        log.info("Created bulk job {} with {} items", jobId, items.size());
+        return toStatus(state);
+    }
+
+    /**
+     * Resume a job that was interrupted by a restart, with the API key it was submitted with
+     *
+     * @param jobId The job ID
+     * @param apiKey The API key used for the remaining items
+     * @return The job status
+     */
+    public BulkJobStatus resumeJob(String jobId, String apiKey) {
+        if (apiKey == null || apiKey.isEmpty()) {
+            throw new IllegalArgumentException("API key cannot be empty");
+        }
+
+        JobState state = getJob(jobId);
+        if (!state.isFinished()) {
+            int remaining = start(state, apiKey);
+            log.info("Resumed bulk job {} with {} remaining items", jobId, remaining);
+        }
+        return toStatus(state);
+    }
+
+    /**
+     * Get the status of a bulk job
+     *
+     * @param jobId The job ID
+     * @return The job status
+     */
+    public BulkJobStatus getStatus(String jobId) {
+        return toStatus(getJob(jobId));
+    }
+
+    /**
+     * Stream the results of a bulk job as JSON lines, in completion order. When following,
+     * the stream stays open until every item has completed, and each result is sent as
+     * soon as it is checkpointed.
+     *
+     * @param jobId The job ID
+     * @param follow Whether to keep streaming until the job is finished
+     * @return The emitter the results are sent to
+     */
+    public ResponseBodyEmitter streamResults(String jobId, boolean follow) throws IOException {
+        JobState state = getJob(jobId);
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(streamTimeoutMillis);
+        Follower follower = new Follower(emitter);
+        emitter.onCompletion(() -> state.unfollow(follower));
+        emitter.onTimeout(emitter::complete);
+
+        state.follow(follower, follow);
+        follower.drain();
+        return emitter;
+    }
+
+    private JobState getJob(String jobId) {
+        JobState state = jobs.get(jobId);
+        if (state == null) {
+            throw new ResourceNotFoundException("Unknown bulk job: " + jobId);
+        }
+        return state;
+    }
+
+    /**
+     * Set the API key of a job and submit every item without a checkpointed result to the
+     * worker pool
+     *
+     * @return The number of items submitted
+     */
+    private int start(JobState state, String apiKey) {
+        synchronized (state) {
+            if (state.apiKey != null) {
+                throw new IllegalArgumentException("Bulk job " + state.meta.getJobId() + " is already running");
+            }
+            state.apiKey = apiKey;
+        }
+
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < state.items.size(); i++) {
+            if (!state.done.contains(i)) {
+                pending.add(i);
+            }
+        }
+        // Counted up front, so the job cannot look idle while its items are still being submitted
+        state.inFlight.addAndGet(pending.size());
+        for (int index : pending) {
+            bulkExecutor.submit(() -> processItem(state, index));
+        }
+        return pending.size();
+    }
+
+    /**
+     * Tailor one item and checkpoint its result
+     */
+    private void processItem(JobState state, int index) {
+        try {
+            tailorItem(state, index);
+        } finally {
+            if (state.inFlight.decrementAndGet() == 0) {
+                state.pauseIfUnfinished();
+            }
+        }
+    }
+
+    /**
+     * Tailor one item and checkpoint its result. Mock fallbacks are never recorded: a failed
+     * provider call fails the item. An item interrupted by shutdown, or still failing
+     * transiently after its retries, is not checkpointed, so it stays pending and runs again
+     * when the job is resumed.
+     */
+    private void tailorItem(JobState state, int index) {
+        TailorRequest item = state.items.get(index);
+        TailorRequest request = new TailorRequest(item.getResumeContent(), item.getJobDescription(),
+                state.apiKey, state.meta.getProvider(), false);
+
+        BulkItemResult result;
+        try {
+            TailorResponse response = tailorWithRetry(state, index, request);
+            result = BulkItemResult.builder().index(index).status("completed").response(response).build();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            if (bulkExecutor.isShutdown()) {
+                log.info("Bulk job {} item {} interrupted by shutdown; left pending", state.meta.getJobId(), index);
+                return;
+            }
+            if (isTransient(e)) {
+                log.warn("Bulk job {} item {} still failing after {} attempts; left pending: {}",
+                        state.meta.getJobId(), index, retryMaxAttempts, e.getMessage());
+                return;
+            }
+            log.error("Bulk job {} item {} failed: {}", state.meta.getJobId(), index, e.getMessage());
+            result = BulkItemResult.builder().index(index).status("failed").error(e.getMessage()).build();
+        }
+
+        List<Follower> followers;
+        try {
+            followers = state.checkpoint(index, objectMapper.writeValueAsString(result), "failed".equals(result.getStatus()));
+        } catch (IOException e) {
+            log.error("Failed to checkpoint bulk job {} item {}: {}", state.meta.getJobId(), index, e.getMessage());
+            return;
+        }
+        followers.forEach(Follower::drain);
+    }
+
+    /**
+     * Tailor an item, retrying transient failures with exponential backoff
+     */
+    private TailorResponse tailorWithRetry(JobState state, int index, TailorRequest request) throws InterruptedException {
+        long backoffMillis = retryInitialBackoffMillis;
+        for (int attempt = 1; ; attempt++) {
+            rateLimiter.acquire();
+            try {
+                return resumeTailorService.tailorResume(request, false);
+            } catch (RuntimeException e) {
+                if (attempt >= retryMaxAttempts || !isTransient(e) || bulkExecutor.isShutdown()) {
+                    throw e;
+                }
+                log.warn("Bulk job {} item {} failed transiently (attempt {} of {}), retrying in {} ms: {}",
+                        state.meta.getJobId(), index, attempt, retryMaxAttempts, backoffMillis, e.getMessage());
+                Thread.sleep(backoffMillis);
+                backoffMillis = Math.min(backoffMillis * 2, MAX_RETRY_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * Whether a failure is likely to go away on its own: a rate limit, a server error, a
+     * timeout or a network error anywhere in the cause chain
+     */
+    static boolean isTransient(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof WebClientResponseException e) {
+                return e.getStatusCode().value() == 429 || e.getStatusCode().is5xxServerError();
+            }
+            if (cause instanceof OpenAiHttpException e) {
+                return e.statusCode == 429 || e.statusCode >= 500;
+            }
+            if (cause instanceof WebClientRequestException || cause instanceof IOException || cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Load a job and its checkpointed results from disk. A partially written last line
+     * (from a crash mid-append) is ignored, so that item is processed again.
+     */
+    private JobState loadJob(Path jobDir) throws IOException {
+        BulkJob meta = objectMapper.readValue(jobDir.resolve(JOB_FILE).toFile(), BulkJob.class);
+        // Rewrite the metadata so a key stored by earlier versions does not stay on disk
+        objectMapper.writeValue(jobDir.resolve(JOB_FILE).toFile(), meta);
+
+        List<TailorRequest> items = new ArrayList<>();
+        for (String line : Files.readAllLines(jobDir.resolve(ITEMS_FILE), StandardCharsets.UTF_8)) {
+            if (!line.isBlank()) {
+                items.add(objectMapper.readValue(line, TailorRequest.class));
+            }
+        }
+
+        JobState state = new JobState(meta, jobDir, items);
+        Path resultsFile = jobDir.resolve(RESULTS_FILE);
+        if (Files.exists(resultsFile)) {
+            for (String line : Files.readAllLines(resultsFile, StandardCharsets.UTF_8)) {
+                try {
+                    BulkItemResult result = objectMapper.readValue(line, BulkItemResult.class);
+                    if (state.done.add(result.getIndex()) && "failed".equals(result.getStatus())) {
+                        state.failed.incrementAndGet();
+                    }
+                } catch (IOException e) {
+                    log.warn("Ignoring incomplete checkpoint line in bulk job {}", meta.getJobId());
+                }
+            }
+            state.truncateIncompleteLine();
+        } else {
+            Files.createFile(resultsFile);
+        }
+        return state;
+    }
+
+    private BulkJobStatus toStatus(JobState state) {
+        int completed = state.done.size();
+        String status = state.isFinished() ? "completed" : state.apiKey != null ? "running" : "awaiting_api_key";
+        return BulkJobStatus.builder()
+                .jobId(state.meta.getJobId())
+                .status(status)
+                .total(state.meta.getTotal())
+                .completed(completed)
+                .failed(state.failed.get())
+                .createdAt(state.meta.getCreatedAt())
+                .build();
+    }
+
+    /**
+     * Parse JSON lines with resumeContent and jobDescription fields
+     */
+    private List<TailorRequest> parseJsonLines(InputStream upload) throws IOException {
+        List<TailorRequest> items = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(upload, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    items.add(objectMapper.readValue(line, TailorRequest.class));
+                }
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Parse RFC 4180 CSV with a header row containing resumeContent and jobDescription columns.
+     * Quoted fields may span multiple lines.
+     */
+    private List<TailorRequest> parseCsv(InputStream upload) throws IOException {
+        String content = new String(upload.readAllBytes(), StandardCharsets.UTF_8);
+        List<List<String>> rows = new ArrayList<>();
+        List<String> row = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < content.length() && content.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                row.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < content.length() && content.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                row.add(field.toString());
+                field.setLength(0);
+                rows.add(row);
+                row = new ArrayList<>();
+            } else {
+                field.append(c);
+            }
+        }
+        if (field.length() > 0 || !row.isEmpty()) {
+            row.add(field.toString());
+            rows.add(row);
+        }
+
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        List<String> header = rows.get(0);
+        // Excel writes UTF-8 CSV files with a byte order mark
+        if (!header.isEmpty() && header.get(0).startsWith("\uFEFF")) {
+            header.set(0, header.get(0).substring(1));
+        }
+        int resumeColumn = header.indexOf("resumeContent");
+        int jobColumn = header.indexOf("jobDescription");
+        if (resumeColumn < 0 || jobColumn < 0) {
+            throw new IllegalArgumentException("CSV header must contain resumeContent and jobDescription columns");
+        }
+
+        List<TailorRequest> items = new ArrayList<>();
+        for (List<String> values : rows.subList(1, rows.size())) {
+            if (values.size() == 1 && values.get(0).isBlank()) {
+                continue;
+            }
+            String resume = resumeColumn < values.size() ? values.get(resumeColumn) : "";
+            String job = jobColumn < values.size() ? values.get(jobColumn) : "";
+            items.add(new TailorRequest(resume, job, null, null, false));
+        }
+        return items;
+    }
+
+    /**
+     * Persisted job metadata. The API key is deliberately not part of it.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BulkJob {
+        private String jobId;
+        private String provider;
+        private int total;
+        private LocalDateTime createdAt;
+    }
+
+    /**
+     * In-memory state of a job: its items, the set of checkpointed indexes, the checkpoint
+     * file, the clients following its results and the API key while it is running
+     */
+    private static class JobState {
+        final BulkJob meta;
+        final Path dir;
+        final List<TailorRequest> items;
+        final Set<Integer> done = ConcurrentHashMap.newKeySet();
+        final AtomicInteger failed = new AtomicInteger();
+        final List<Follower> followers = new ArrayList<>();
+        // Items submitted to the worker pool and not yet processed
+        final AtomicInteger inFlight = new AtomicInteger();
+        volatile String apiKey;
+
+        JobState(BulkJob meta, Path dir, List<TailorRequest> items) {
+            this.meta = meta;
+            this.dir = dir;
+            this.items = items;
+        }
+
+        boolean isFinished() {
+            return done.size() >= items.size();
+        }
+
+        /**
+         * Once every submitted item has been processed, drop the API key of a job with items
+         * left pending, so it waits to be resumed instead of looking as if it were running
+         */
+        synchronized void pauseIfUnfinished() {
+            if (!isFinished() && apiKey != null && inFlight.get() == 0) {
+                apiKey = null;
+                log.info("Bulk job {} has {} pending items and is waiting to be resumed",
+                        meta.getJobId(), items.size() - done.size());
+            }
+        }
+
+        /**
+         * Append one result line, force it to disk and queue it for the followers
+         *
+         * @return The followers to drain
+         */
+        synchronized List<Follower> checkpoint(int index, String line, boolean failedItem) throws IOException {
+            byte[] bytes = (line + "\n").getBytes(StandardCharsets.UTF_8);
+            try (FileChannel channel = FileChannel.open(dir.resolve(RESULTS_FILE), StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                channel.write(ByteBuffer.wrap(bytes));
+                channel.force(false);
+            }
+            if (done.add(index) && failedItem) {
+                failed.incrementAndGet();
+            }
+
+            boolean finished = isFinished();
+            if (finished) {
+                apiKey = null;
+            }
+            List<Follower> notified = List.copyOf(followers);
+            for (Follower follower : notified) {
+                follower.queue(bytes, finished);
+            }
+            if (finished) {
+                followers.clear();
+            }
+            return notified;
+        }
+
+        /**
+         * Queue the results checkpointed so far for a follower and, when following an
+         * unfinished job, register it for the rest. Done under the checkpoint lock, so every
+         * result reaches the follower exactly once and in checkpoint order.
+         */
+        synchronized void follow(Follower follower, boolean follow) throws IOException {
+            boolean finished = !follow || isFinished();
+            follower.queue(Files.readAllBytes(dir.resolve(RESULTS_FILE)), finished);
+            if (!finished) {
+                followers.add(follower);
+            }
+        }
+
+        synchronized void unfollow(Follower follower) {
+            followers.remove(follower);
+        }
+
+        /**
+         * Drop a trailing partial line left by a crash so later appends start on a fresh line
+         */
+        synchronized void truncateIncompleteLine() throws IOException {
+            try (RandomAccessFile file = new RandomAccessFile(dir.resolve(RESULTS_FILE).toFile(), "rw")) {
+                long length = file.length();
+                long end = length;
+                while (end > 0) {
+                    file.seek(end - 1);
+                    if (file.read() == '\n') {
+                        break;
+                    }
+                    end--;
+                }
+                if (end < length) {
+                    file.setLength(end);
+                }
+            }
+        }
+    }
+
+    /**
+     * A client following the results of a job. Results are queued under the job lock and
+     * sent outside it, so a slow client never holds up the workers.
+     */
+    private static class Follower {
+        private final ResponseBodyEmitter emitter;
+        private final Queue<byte[]> pending = new ConcurrentLinkedQueue<>();
+        private volatile boolean finishing;
+        private boolean closed;
+
+        Follower(ResponseBodyEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void queue(byte[] lines, boolean last) {
+            if (lines.length > 0) {
+                pending.add(lines);
+            }
+            if (last) {
+                finishing = true;
+            }
+        }
+
+        /**
+         * Send the queued results, and complete the response after the last one
+         */
+        synchronized void drain() {
+            if (closed) {
+                return;
+            }
+            // Read before polling: everything queued before the last result is then sent too
+            boolean finish = finishing;
+            try {
+                byte[] lines;
+                while ((lines = pending.poll()) != null) {
+                    emitter.send(lines, MediaType.APPLICATION_NDJSON);
+                }
+                if (finish) {
+                    closed = true;
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away or the response timed out
+                closed = true;
+                emitter.completeWithError(e);
+            }
+        }
+    }
+
+    /**
+     * Simple rate limiter that spaces calls evenly to stay within a per-minute budget
+     */
+    private static class RateLimiter {
+        private final long intervalNanos;
+        private long nextSlot = System.nanoTime();
+
+        RateLimiter(int permitsPerMinute) {
+            this.intervalNanos = 60_000_000_000L / Math.max(1, permitsPerMinute);
+        }
+
+        void acquire() throws InterruptedException {
+            long wait;
+            synchronized (this) {
+                long now = System.nanoTime();
+                long slot = Math.max(now, nextSlot);
+                nextSlot = slot + intervalNanos;
+                wait = slot - now;
+            }
+            if (wait > 0) {
+                Thread.sleep(wait / 1_000_000, (int) (wait % 1_000_000));
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.resumetailor.service;
 
 import com.resumetailor.dto.GitHubResponse;
+import com.resumetailor.scoring.KeywordMatcher;
 import com.resumetailor.util.GitHubUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,7 +13,6 @@ import org.springframework.web.reactive.function.client.WebClient;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -55,9 +55,10 @@ public class GitHubService {
             
             // If job description is provided, calculate relevance scores and sort
             if (jobDescription != null && !jobDescription.isEmpty()) {
-                List<String> keywords = extractKeywords(jobDescription);
+                // One matcher per job description, shared by all repositories
+                KeywordMatcher matcher = gitHubUtils.buildRelevanceMatcher(jobDescription);
                 repoList.forEach(repo -> {
-                    double score = calculateRelevanceScore(repo, keywords);
+                    double score = calculateRelevanceScore(repo, matcher);
                     repo.setRelevanceScore(score);
                 });
                 
@@ -139,55 +140,21 @@ public class GitHubService {
                 .build();
     }
     
-    /**
-     * Extract keywords from job description
-     */
-    private List<String> extractKeywords(String jobDescription) {
-        // Simple keyword extraction - split by spaces and filter common words
-        return Arrays.stream(jobDescription.toLowerCase().split("\\W+"))
-                .filter(word -> word.length() > 3) // Filter short words
-                .filter(word -> !isCommonWord(word)) // Filter common words
-                .distinct()
-                .toList();
-    }
-    
-    /**
-     * Check if a word is a common word (stop word)
-     */
-    private boolean isCommonWord(String word) {
-        List<String> commonWords = List.of("the", "and", "that", "have", "for", "not", "with", "you", "this", "but");
-        return commonWords.contains(word);
-    }
-    
     /**
      * Calculate relevance score for a repository based on job description keywords
      */
-    private double calculateRelevanceScore(GitHubResponse.Repository repo, List<String> keywords) {
-        int matches = 0;
-        
-        // Check repository name
-        for (String keyword : keywords) {
-            if (repo.getName().toLowerCase().contains(keyword)) {
-                matches++;
-            }
-        }
+    private double calculateRelevanceScore(GitHubResponse.Repository repo, KeywordMatcher matcher) {
+        // Each field is scanned once for all keywords; a keyword counts once per field
+        int matches = matcher.matches(repo.getName()).cardinality();
         
         // Check repository description
         if (repo.getDescription() != null) {
-            for (String keyword : keywords) {
-                if (repo.getDescription().toLowerCase().contains(keyword)) {
-                    matches++;
-                }
-            }
+            matches += matcher.matches(repo.getDescription()).cardinality();
         }
         
         // Check repository topics
         for (String topic : repo.getTopics()) {
-            for (String keyword : keywords) {
-                if (topic.toLowerCase().contains(keyword)) {
-                    matches += 2; // Topics are more relevant, so give them more weight
-                }
-            }
+            matches += matcher.matches(topic).cardinality() * 2; // Topics are more relevant, so give them more weight
         }
         
         // Calculate score based on matches and repository popularity
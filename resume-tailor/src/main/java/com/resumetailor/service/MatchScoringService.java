@@ -0,0 +1,86 @@
+package com.resumetailor.service;
+
+import com.resumetailor.cache.JobDescriptionAnalysisStore;
+import com.resumetailor.dto.JobDescriptionAnalysis;
+import com.resumetailor.dto.KeywordHighlight;
+import com.resumetailor.dto.MatchScoreResponse;
+import com.resumetailor.dto.ScoreRequest;
+import com.resumetailor.scoring.KeywordMatcher;
+import com.resumetailor.scoring.MatchScoringEngine;
+import com.resumetailor.taxonomy.SkillTaxonomy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MatchScoringService {
+
+    private final MatchScoringEngine matchScoringEngine;
+    private final SkillTaxonomy skillTaxonomy;
+    private final JobDescriptionAnalysisStore jobDescriptionAnalysisStore;
+
+    /**
+     * Score a resume against a job description locally, without an AI call
+     *
+     * @param request Contains resume content and job description
+     * @return Match score with matched and missing keywords and where they occur
+     */
+    public MatchScoreResponse score(ScoreRequest request) {
+        if (request.getResumeContent() == null || request.getResumeContent().isEmpty()) {
+            throw new IllegalArgumentException("Resume content cannot be empty");
+        }
+        
+        if (request.getJobDescription() == null || request.getJobDescription().isEmpty()) {
+            throw new IllegalArgumentException("Job description cannot be empty");
+        }
+        
+        long start = System.nanoTime();
+        JobDescriptionAnalysis analysis = jobDescriptionAnalysisStore.analyze(request.getJobDescription());
+        MatchScoreResponse response = matchScoringEngine.score(
+                matchScoringEngine.resumeTermFrequencies(request.getResumeContent(), analysis.getTermFrequencies()),
+                analysis.getTermFrequencies());
+        
+        // One matcher over all reported keywords, used for both texts
+        int matchedCount = response.getKeywordsMatched().size();
+        List<String> keywords = new ArrayList<>(response.getKeywordsMatched());
+        keywords.addAll(response.getKeywordsMissing());
+        KeywordMatcher matcher = KeywordMatcher.forKeywords(keywords, skillTaxonomy, false);
+        response.setResumeHighlights(highlights(request.getResumeContent(), matcher, matchedCount));
+        response.setJobDescriptionHighlights(highlights(request.getJobDescription(), matcher, matchedCount));
+        
+        log.debug("Computed local match score {} in {} µs", response.getMatchScore(), (System.nanoTime() - start) / 1000);
+        
+        return response;
+    }
+    
+    /**
+     * Keyword occurrences in the text, skipping LaTeX command names such as \item
+     */
+    private List<KeywordHighlight> highlights(String text, KeywordMatcher matcher, int matchedCount) {
+        List<KeywordHighlight> highlights = new ArrayList<>();
+        matcher.scan(text, (keyword, start, end) -> {
+            if (!isLatexCommand(text, start)) {
+                highlights.add(KeywordHighlight.builder()
+                        .keyword(matcher.keywords().get(keyword))
+                        .start(start)
+                        .end(end)
+                        .matched(keyword < matchedCount)
+                        .build());
+            }
+        });
+        return highlights;
+    }
+    
+    private boolean isLatexCommand(String text, int start) {
+        int i = start;
+        while (i > 0 && Character.isLetter(text.charAt(i - 1))) {
+            i--;
+        }
+        return i > 0 && text.charAt(i - 1) == '\\';
+    }
+}
@@ -0,0 +1,210 @@
+package com.resumetailor.service;
+
+import com.resumetailor.dto.BatchCompileRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Compiles many resume variants into one ZIP archive. Documents are compiled in parallel
+ * on a dedicated pool and each is added to the archive as soon as it finishes, so entries
+ * appear in completion order. Only a small window of documents is compiled or waiting to
+ * be written at any time, so memory use does not grow with the size of the batch.
+ */
+@Service
+@Slf4j
+public class PdfBatchService {
+
+    private static final String ERROR_SUFFIX = ".error.txt";
+
+    private final PdfCompilerService pdfCompilerService;
+    private final ExecutorService batchCompileExecutor;
+    private final int maxDocuments;
+    private final int window;
+
+    public PdfBatchService(PdfCompilerService pdfCompilerService,
+                           ExecutorService batchCompileExecutor,
+                           @Value("${pdf.batch.max-documents:100}") int maxDocuments,
+                           @Value("${pdf.batch.window:8}") int window) {
+        this.pdfCompilerService = pdfCompilerService;
+        this.batchCompileExecutor = batchCompileExecutor;
+        this.maxDocuments = maxDocuments;
+        this.window = window;
+    }
+
+    /**
+     * Check a batch and assign every document a unique file name in the archive
+     *
+     * @param documents The documents to compile
+     * @return The archive entry names, in document order
+     */
+    public List<String> validate(List<BatchCompileRequest.Document> documents) {
+        if (documents == null || documents.isEmpty()) {
+            throw new IllegalArgumentException("At least one document is required");
+        }
+        if (documents.size() > maxDocuments) {
+            throw new IllegalArgumentException("A batch can contain at most " + maxDocuments + " documents");
+        }
+
+        List<String> names = new ArrayList<>(documents.size());
+        Set<String> used = new HashSet<>();
+        for (int i = 0; i < documents.size(); i++) {
+            BatchCompileRequest.Document document = documents.get(i);
+            if (document == null || document.getLatexContent() == null || document.getLatexContent().isEmpty()) {
+                throw new IllegalArgumentException("LaTeX content cannot be empty: document " + (i + 1));
+            }
+            names.add(uniqueName(entryName(document.getName(), i), used));
+        }
+        return names;
+    }
+
+    /**
+     * Compile a batch and write it to a stream as a ZIP archive. A document that fails to
+     * compile is replaced by a text entry with the error, so one bad variant does not fail
+     * the whole batch. The stream is not closed.
+     *
+     * @param documents The documents to compile
+     * @param out The stream to write the archive to
+     */
+    public void compileBatch(List<BatchCompileRequest.Document> documents, OutputStream out) throws IOException {
+        List<String> names = validate(documents);
+        log.info("Compiling batch of {} documents", documents.size());
+
+        // Queues every task once it is done, including tasks that threw or were cancelled
+        CompletionService<CompiledEntry> completed = new ExecutorCompletionService<>(batchCompileExecutor);
+        Map<Future<CompiledEntry>, String> futures = new IdentityHashMap<>();
+        int submitted = 0;
+        int written = 0;
+
+        ZipOutputStream zip = new ZipOutputStream(out);
+        // Compiled PDFs are already compressed
+        zip.setLevel(Deflater.BEST_SPEED);
+        try {
+            while (written < documents.size()) {
+                while (submitted < documents.size() && submitted - written < window) {
+                    String name = names.get(submitted);
+                    String latexContent = documents.get(submitted).getLatexContent();
+                    futures.put(completed.submit(() -> compile(name, latexContent)), name);
+                    submitted++;
+                }
+
+                Future<CompiledEntry> done = next(completed);
+                CompiledEntry entry = entry(done, futures.remove(done));
+                zip.putNextEntry(new ZipEntry(entry.name));
+                zip.write(entry.content);
+                zip.closeEntry();
+                written++;
+            }
+            zip.finish();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Batch compilation was interrupted");
+        } finally {
+            // Stop the rest of the batch when the client goes away
+            for (Future<CompiledEntry> future : futures.keySet()) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Wait for the next finished document. Tasks dropped by a pool shut down before they
+     * ran are never queued, so a terminated pool ends the wait.
+     */
+    private Future<CompiledEntry> next(CompletionService<CompiledEntry> completed) throws InterruptedException, IOException {
+        Future<CompiledEntry> done;
+        while ((done = completed.poll(1, TimeUnit.SECONDS)) == null) {
+            if (batchCompileExecutor.isTerminated() && (done = completed.poll()) == null) {
+                throw new IOException("Batch compilation stopped because the server is shutting down");
+            }
+        }
+        return done;
+    }
+
+    /**
+     * The archive entry of a finished document; a task that died or was cancelled gets an
+     * error entry like a document that failed to compile
+     */
+    private CompiledEntry entry(Future<CompiledEntry> done, String name) throws InterruptedException {
+        try {
+            return done.get();
+        } catch (ExecutionException e) {
+            log.error("Batch document {} failed to compile", name, e.getCause());
+            return errorEntry(name, String.valueOf(e.getCause()));
+        } catch (CancellationException e) {
+            return errorEntry(name, "Compilation was cancelled");
+        }
+    }
+
+    private CompiledEntry compile(String name, String latexContent) {
+        try {
+            ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+            pdfCompilerService.compilePdf(latexContent, pdf);
+            return new CompiledEntry(name, pdf.toByteArray());
+        } catch (Exception e) {
+            log.warn("Batch document {} failed to compile: {}", name, e.getMessage());
+            return errorEntry(name, String.valueOf(e.getMessage()));
+        }
+    }
+
+    private static CompiledEntry errorEntry(String name, String message) {
+        return new CompiledEntry(name + ERROR_SUFFIX, message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Safe file name for a document: path separators and control characters are dropped
+     * and the name always ends in .pdf
+     */
+    private static String entryName(String name, int index) {
+        String cleaned = name == null ? "" : name.replaceAll("[\\\\/:*?\"<>|\\p{Cntrl}]", "_").trim();
+        if (cleaned.isEmpty() || cleaned.chars().allMatch(c -> c == '.' || c == '_')) {
+            cleaned = "resume-" + (index + 1);
+        }
+        if (!cleaned.toLowerCase(Locale.ROOT).endsWith(".pdf")) {
+            cleaned += ".pdf";
+        }
+        return cleaned;
+    }
+
+    private static String uniqueName(String name, Set<String> used) {
+        String candidate = name;
+        String base = name.substring(0, name.length() - ".pdf".length());
+        for (int n = 2; !used.add(candidate.toLowerCase(Locale.ROOT)); n++) {
+            candidate = base + "-" + n + ".pdf";
+        }
+        return candidate;
+    }
+
+    private static class CompiledEntry {
+        final String name;
+        final byte[] content;
+
+        CompiledEntry(String name, byte[] content) {
+            this.name = name;
+            this.content = content;
+        }
+    }
+}
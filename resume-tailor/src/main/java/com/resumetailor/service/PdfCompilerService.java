@@ -1,31 +1,64 @@
 package com.resumetailor.service;
 
 import com.resumetailor.agent.AgentOrchestrator;
+import com.resumetailor.cache.PdfRenderCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PdfCompilerService {
 
     private final AgentOrchestrator agentOrchestrator;
+    private final PdfRenderCache pdfRenderCache;
 
     /**
-     * Compile LaTeX content to PDF
+     * Strong entity tag of the PDF compiled from LaTeX content, linearized or not.
+     * Compilation is deterministic, so equal tags mean byte-identical PDFs.
+     *
+     * @param latexContent LaTeX content to compile
+     * @param linearized Whether the PDF is linearized
+     * @return The quoted entity tag
+     */
+    public String etag(String latexContent, boolean linearized) {
+        return "\"" + pdfRenderCache.key(latexContent, linearized) + "\"";
+    }
+    
+    /**
+     * Compile LaTeX content to PDF, writing it to a stream. Repeat compiles of the same
+     * content are served from the render cache.
+     *
+     * @param latexContent LaTeX content to compile
+     * @param out Stream to write the PDF to
+     */
+    public void compilePdf(String latexContent, OutputStream out) throws IOException {
+        render(latexContent, false).writeTo(out);
+    }
+    
+    /**
+     * Compile LaTeX content to PDF, optionally linearized, without writing it anywhere yet.
+     * Parse, layout and compile errors are thrown here, so callers can report them before
+     * they commit to a PDF response. Repeat compiles are served from the render cache.
      *
      * @param latexContent LaTeX content to compile
-     * @return Compiled PDF as byte array
+     * @param linearized Whether to compile a linearized PDF
+     * @return The compiled PDF
      */
-    public byte[] compilePdf(String latexContent) {
-        log.info("Compiling LaTeX content to PDF");
+    public PdfRenderCache.Entry render(String latexContent, boolean linearized) throws IOException {
+        log.info("Compiling LaTeX content to streamed PDF");
         
         if (latexContent == null || latexContent.isEmpty()) {
             throw new IllegalArgumentException("LaTeX content cannot be empty");
         }
         
-        // Delegate to the agent orchestrator
-        return agentOrchestrator.compilePdf(latexContent);
+        String key = pdfRenderCache.key(latexContent, linearized);
+        PdfRenderCache.Entry pdf = pdfRenderCache.get(key, renderOut -> agentOrchestrator.compilePdf(latexContent, linearized, renderOut));
+        log.debug("PDF {} {}", key, pdf.isCached() ? "served from cache" : "rendered");
+        return pdf;
     }
 }
@@ -0,0 +1,119 @@
+package com.resumetailor.service;
+
+import com.resumetailor.agent.AgentOrchestrator;
+import com.resumetailor.cache.PdfPreviewCache;
+import com.resumetailor.cache.PdfRenderCache;
+import com.resumetailor.dto.PdfPreview;
+import com.resumetailor.pdf.RenderedPage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Low-resolution PNG previews of compiled resume pages for the live editor. Pages are
+ * rendered from the in-memory document on a small bounded pool, so previews never compete
+ * with compiles for more than a few cores, and cached by content hash.
+ */
+@Service
+@Slf4j
+public class PdfPreviewService {
+
+    private final AgentOrchestrator agentOrchestrator;
+    private final PdfRenderCache pdfRenderCache;
+    private final PdfPreviewCache pdfPreviewCache;
+    private final ExecutorService previewExecutor;
+    private final float dpi;
+    private final float compressionQuality;
+
+    public PdfPreviewService(AgentOrchestrator agentOrchestrator,
+                             PdfRenderCache pdfRenderCache,
+                             PdfPreviewCache pdfPreviewCache,
+                             ExecutorService previewExecutor,
+                             @Value("${pdf.preview.dpi:50}") float dpi,
+                             @Value("${pdf.preview.compression-quality:0.5}") float compressionQuality) {
+        this.agentOrchestrator = agentOrchestrator;
+        this.pdfRenderCache = pdfRenderCache;
+        this.pdfPreviewCache = pdfPreviewCache;
+        this.previewExecutor = previewExecutor;
+        this.dpi = dpi;
+        this.compressionQuality = compressionQuality;
+    }
+
+    /**
+     * Strong entity tag of a page preview
+     *
+     * @param latexContent LaTeX content to preview
+     * @param page The page number, starting at 1
+     * @return The quoted entity tag
+     */
+    public String etag(String latexContent, int page) {
+        return "\"" + pdfPreviewCache.key(pdfRenderCache.key(latexContent), page, dpi) + "\"";
+    }
+
+    /**
+     * Render a page of the compiled LaTeX as a PNG image
+     *
+     * @param latexContent LaTeX content to preview
+     * @param page The page number, starting at 1
+     * @return The preview, completed on the preview pool unless it was cached
+     * @throws java.util.concurrent.RejectedExecutionException if the preview pool is saturated
+     */
+    public CompletableFuture<PdfPreview> preview(String latexContent, int page) {
+        if (latexContent == null || latexContent.isEmpty()) {
+            throw new IllegalArgumentException("LaTeX content cannot be empty");
+        }
+        if (page < 1) {
+            throw new IllegalArgumentException("Page must be at least 1");
+        }
+
+        String key = pdfPreviewCache.key(pdfRenderCache.key(latexContent), page, dpi);
+        PdfPreview cached = pdfPreviewCache.get(key);
+        if (cached != null) {
+            log.debug("Preview {} served from cache", key);
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        return CompletableFuture.supplyAsync(() -> {
+            RenderedPage rendered = agentOrchestrator.renderPdfPage(latexContent, page, dpi);
+            PdfPreview preview = PdfPreview.builder()
+                    .image(encodePng(rendered.getImage()))
+                    .page(page)
+                    .pageCount(rendered.getPageCount())
+                    .build();
+            pdfPreviewCache.put(key, preview);
+            return preview;
+        }, previewExecutor);
+    }
+
+    /**
+     * Encode an image as PNG, trading a little size for encoding speed
+     */
+    private byte[] encodePng(BufferedImage image) {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("png").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(imageOut);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(compressionQuality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,210 @@
+package com.resumetailor.service;
+
+import com.resumetailor.agent.AgentOrchestrator;
+import com.resumetailor.cache.JobDescriptionAnalysisStore;
+import com.resumetailor.dto.CandidateEvaluation;
+import com.resumetailor.dto.CandidateSearchRequest;
+import com.resumetailor.dto.CandidateSearchResponse;
+import com.resumetailor.dto.IndexedResume;
+import com.resumetailor.dto.JobDescriptionAnalysis;
+import com.resumetailor.dto.ResumeIndexStats;
+import com.resumetailor.exception.ResourceNotFoundException;
+import com.resumetailor.search.ResumeIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Recruiter mode: resumes are ingested into the in-process {@link ResumeIndex} and ranked
+ * against a job description with BM25. Optionally the best few candidates are evaluated by
+ * the AI provider, so the expensive pass only ever sees a handful of resumes.
+ */
+@Service
+@Slf4j
+public class RecruiterService {
+
+    private final ResumeIndex resumeIndex;
+    private final JobDescriptionAnalysisStore jobDescriptionAnalysisStore;
+    private final AgentOrchestrator orchestrator;
+    private final ExecutorService tailoringExecutor;
+    private final int maxTopK;
+    private final int maxEvaluations;
+
+    public RecruiterService(ResumeIndex resumeIndex,
+                            JobDescriptionAnalysisStore jobDescriptionAnalysisStore,
+                            AgentOrchestrator orchestrator,
+                            ExecutorService tailoringExecutor,
+                            @Value("${recruiter.search.max-top-k:200}") int maxTopK,
+                            @Value("${recruiter.evaluation.max-candidates:10}") int maxEvaluations) {
+        this.resumeIndex = resumeIndex;
+        this.jobDescriptionAnalysisStore = jobDescriptionAnalysisStore;
+        this.orchestrator = orchestrator;
+        this.tailoringExecutor = tailoringExecutor;
+        this.maxTopK = maxTopK;
+        this.maxEvaluations = maxEvaluations;
+    }
+
+    /**
+     * Add resumes to the index, replacing indexed resumes with the same ID
+     *
+     * @param resumes The resumes to index
+     * @return The index statistics after ingesting
+     */
+    public ResumeIndexStats ingest(List<IndexedResume> resumes) {
+        if (resumes == null || resumes.isEmpty()) {
+            throw new IllegalArgumentException("At least one resume is required");
+        }
+
+        Set<String> ids = new HashSet<>();
+        for (IndexedResume resume : resumes) {
+            if (resume.getId() == null || resume.getId().isBlank()) {
+                throw new IllegalArgumentException("Every resume needs an ID");
+            }
+            if (resume.getContent() == null || resume.getContent().isBlank()) {
+                throw new IllegalArgumentException("Resume content cannot be empty: " + resume.getId());
+            }
+            if (!ids.add(resume.getId())) {
+                throw new IllegalArgumentException("Duplicate resume ID: " + resume.getId());
+            }
+        }
+
+        long start = System.nanoTime();
+        resumeIndex.addAll(resumes);
+        log.info("Indexed {} resumes in {} ms", resumes.size(), (System.nanoTime() - start) / 1_000_000);
+
+        return resumeIndex.stats();
+    }
+
+    /**
+     * Add uploaded resume files to the index, using each file name as the resume ID.
+     * PDF files are converted to text; other files are read as UTF-8 text.
+     *
+     * @param files The uploaded files
+     * @return The index statistics after ingesting
+     */
+    public ResumeIndexStats ingestFiles(List<MultipartFile> files) throws IOException {
+        if (files == null || files.isEmpty()) {
+            throw new IllegalArgumentException("At least one file is required");
+        }
+
+        List<IndexedResume> resumes = new ArrayList<>(files.size());
+        for (MultipartFile file : files) {
+            String fileName = file.getOriginalFilename() != null ? file.getOriginalFilename() : file.getName();
+            resumes.add(new IndexedResume(fileName, stripExtension(fileName), extractText(file, fileName)));
+        }
+        return ingest(resumes);
+    }
+
+    /**
+     * Remove a resume from the index
+     *
+     * @param id The resume ID
+     */
+    public void remove(String id) {
+        if (!resumeIndex.remove(id)) {
+            throw new ResourceNotFoundException("Resume not found: " + id);
+        }
+    }
+
+    /**
+     * Rank the indexed resumes against a job description, optionally evaluating the best
+     * candidates with the AI provider
+     *
+     * @param request Contains the job description and how many candidates to return and evaluate
+     * @return The ranked candidates
+     */
+    public CandidateSearchResponse search(CandidateSearchRequest request) {
+        if (request.getJobDescription() == null || request.getJobDescription().isEmpty()) {
+            throw new IllegalArgumentException("Job description cannot be empty");
+        }
+
+        if (request.getTopK() <= 0 || request.getTopK() > maxTopK) {
+            throw new IllegalArgumentException("topK must be between 1 and " + maxTopK);
+        }
+
+        long start = System.nanoTime();
+        JobDescriptionAnalysis analysis = jobDescriptionAnalysisStore.analyze(request.getJobDescription());
+        List<CandidateSearchResponse.Candidate> candidates = resumeIndex.search(analysis.cleanedText(), request.getTopK());
+        log.info("Ranked {} resumes in {} µs", resumeIndex.size(), (System.nanoTime() - start) / 1000);
+
+        int evaluations = Math.min(Math.min(request.getEvaluateTop(), maxEvaluations), candidates.size());
+        if (evaluations > 0) {
+            evaluate(candidates.subList(0, evaluations), analysis, request);
+        }
+
+        return CandidateSearchResponse.builder()
+                .candidates(candidates)
+                .totalDocuments(resumeIndex.size())
+                .tookMillis((System.nanoTime() - start) / 1_000_000)
+                .build();
+    }
+
+    public ResumeIndexStats stats() {
+        return resumeIndex.stats();
+    }
+
+    /**
+     * Evaluate the candidates in parallel and re-rank them by fit score. A candidate whose
+     * evaluation failed is marked unavailable and keeps no fit score.
+     */
+    private void evaluate(List<CandidateSearchResponse.Candidate> candidates, JobDescriptionAnalysis analysis,
+                          CandidateSearchRequest request) {
+        List<CompletableFuture<CandidateEvaluation>> futures = new ArrayList<>(candidates.size());
+        for (CandidateSearchResponse.Candidate candidate : candidates) {
+            String content = resumeIndex.content(candidate.getId());
+            futures.add(CompletableFuture.supplyAsync(() -> content != null
+                    ? orchestrator.evaluateCandidate(content, analysis, request.getApiKey(), request.getProvider())
+                    : null, tailoringExecutor));
+        }
+
+        for (int i = 0; i < candidates.size(); i++) {
+            try {
+                CandidateEvaluation evaluation = futures.get(i).join();
+                if (evaluation != null) {
+                    candidates.get(i).setFitScore(evaluation.getFitScore());
+                    candidates.get(i).setSummary(evaluation.getSummary());
+                    candidates.get(i).setEvaluationStatus("evaluated");
+                } else {
+                    candidates.get(i).setEvaluationStatus("unavailable");
+                }
+            } catch (CompletionException e) {
+                log.warn("Failed to evaluate candidate {}: {}", candidates.get(i).getId(), e.getCause().getMessage());
+                candidates.get(i).setEvaluationStatus("unavailable");
+            }
+        }
+
+        // Evaluated candidates keep their BM25 order when fit scores tie or are missing
+        candidates.sort(Comparator.comparing(CandidateSearchResponse.Candidate::getFitScore,
+                Comparator.nullsLast(Comparator.reverseOrder())));
+    }
+
+    private String extractText(MultipartFile file, String fileName) throws IOException {
+        if (fileName.toLowerCase(Locale.ROOT).endsWith(".pdf")) {
+            try (InputStream in = file.getInputStream(); PDDocument document = PDDocument.load(in)) {
+                return new PDFTextStripper().getText(document);
+            }
+        }
+        return new String(file.getBytes(), StandardCharsets.UTF_8);
+    }
+
+    private String stripExtension(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 ? fileName.substring(0, dot) : fileName;
+    }
+}
@@ -1,8 +1,10 @@
 package com.resumetailor.service;
 
 import com.resumetailor.agent.AgentOrchestrator;
+import com.resumetailor.dto.CoverLetterRequest;
 import com.resumetailor.dto.TailorRequest;
 import com.resumetailor.dto.TailorResponse;
+import com.resumetailor.dto.TailorWithCoverLetterResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -21,6 +23,18 @@ public class ResumeTailorService {
      * @return Tailored resume suggestions
      */
     public TailorResponse tailorResume(TailorRequest request) {
+        return tailorResume(request, true);
+    }
+    
+    /**
+     * Tailor a resume based on a job description using AI
+     *
+     * @param request Contains resume content, job description, and API key
+     * @param fallbackToMock Whether a failed provider call falls back to a mock response
+     *                       instead of failing
+     * @return Tailored resume suggestions
+     */
+    public TailorResponse tailorResume(TailorRequest request, boolean fallbackToMock) {
         log.info("Tailoring resume based on job description");
         
         if (request.getResumeContent() == null || request.getResumeContent().isEmpty()) {
@@ -36,6 +50,31 @@ public class ResumeTailorService {
         }
         
         // Delegate to the agent orchestrator
-        return agentOrchestrator.tailorResume(request);
+        return agentOrchestrator.tailorResume(request, fallbackToMock);
+    }
+    
+    /**
+     * Tailor a resume and generate a cover letter in a single AI call
+     *
+     * @param request Contains resume content, job description, additional info, and API key
+     * @return Tailored resume suggestions together with the generated cover letter
+     */
+    public TailorWithCoverLetterResponse tailorResumeWithCoverLetter(CoverLetterRequest request) {
+        log.info("Tailoring resume and generating cover letter based on job description");
+        
+        if (request.getResumeContent() == null || request.getResumeContent().isEmpty()) {
+            throw new IllegalArgumentException("Resume content cannot be empty");
+        }
+        
+        if (request.getJobDescription() == null || request.getJobDescription().isEmpty()) {
+            throw new IllegalArgumentException("Job description cannot be empty");
+        }
+        
+        if (request.getApiKey() == null || request.getApiKey().isEmpty()) {
+            throw new IllegalArgumentException("API key cannot be empty");
+        }
+        
+        // Delegate to the agent orchestrator
+        return agentOrchestrator.tailorResumeWithCoverLetter(request);
     }
 }
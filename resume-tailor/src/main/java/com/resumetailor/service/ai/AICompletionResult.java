@@ -0,0 +1,32 @@
+package com.resumetailor.service.ai;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of a single AI provider call, including the metadata needed
+ * to size and validate the output budget.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AICompletionResult {
+    private String content;
+    private String finishReason;
+    private int completionTokens;
+
+    /**
+     * Whether the content is the mock response that stands in for a failed provider call
+     */
+    private boolean fallback;
+
+    /**
+     * Whether the provider stopped because the max_tokens cap was reached
+     */
+    public boolean isTruncated() {
+        return "length".equalsIgnoreCase(finishReason);
+    }
+}
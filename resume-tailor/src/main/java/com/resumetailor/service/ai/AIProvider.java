@@ -11,7 +11,19 @@ public interface AIProvider {
      * @param apiKey The API key for the AI provider
      * @return The AI-generated response
      */
-    String generateResponse(String prompt, String apiKey);
+    default String generateResponse(String prompt, String apiKey) {
+        return generateCompletion(prompt, apiKey, 2048).getContent();
+    }
+    
+    /**
+     * Generate AI completion for a given prompt with an explicit output cap
+     *
+     * @param prompt The prompt to send to the AI
+     * @param apiKey The API key for the AI provider
+     * @param maxTokens The maximum number of tokens the provider may generate
+     * @return The AI-generated content together with finish reason and token usage
+     */
+    AICompletionResult generateCompletion(String prompt, String apiKey, int maxTokens);
     
     /**
      * Get the name of the AI provider
@@ -19,4 +31,11 @@ public interface AIProvider {
      * @return The provider name
      */
     String getName();
+    
+    /**
+     * Get the model used by this provider
+     *
+     * @return The model name
+     */
+    String getModel();
 }
@@ -23,8 +23,8 @@ public class GroqProvider implements AIProvider {
     }
 
     @Override
-    public String generateResponse(String prompt, String apiKey) {
-        log.info("Generating response using Groq with model: {}", model);
+    public AICompletionResult generateCompletion(String prompt, String apiKey, int maxTokens) {
+        log.info("Generating response using Groq with model: {} and max tokens: {}", model, maxTokens);
         
         try {
             // Create request body
@@ -32,7 +32,7 @@ public class GroqProvider implements AIProvider {
                 "model", model,
                 "messages", List.of(Map.of("role", "user", "content", prompt)),
                 "temperature", 0.7,
-                "max_tokens", 2048
+                "max_tokens", maxTokens
             );
             
             // Call Groq API
@@ -49,7 +49,17 @@ public class GroqProvider implements AIProvider {
                 List<Map<String, Object>> choices = (List<Map<String, Object>>) response.get("choices");
                 if (!choices.isEmpty()) {
                     Map<String, Object> message = (Map<String, Object>) choices.get(0).get("message");
-                    return (String) message.get("content");
+                    int completionTokens = 0;
+                    if (response.get("usage") instanceof Map<?, ?> usage
+                            && usage.get("completion_tokens") instanceof Number tokens) {
+                        completionTokens = tokens.intValue();
+                    }
+                    
+                    return AICompletionResult.builder()
+                            .content((String) message.get("content"))
+                            .finishReason((String) choices.get(0).get("finish_reason"))
+                            .completionTokens(completionTokens)
+                            .build();
                 }
             }
             
@@ -65,4 +75,9 @@ public class GroqProvider implements AIProvider {
     public String getName() {
         return "groq";
     }
+
+    @Override
+    public String getModel() {
+        return model;
+    }
 }
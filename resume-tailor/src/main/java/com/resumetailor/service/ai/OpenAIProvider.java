@@ -1,6 +1,8 @@
 package com.resumetailor.service.ai;
 
+import com.theokanning.openai.completion.chat.ChatCompletionChoice;
 import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
 import com.theokanning.openai.completion.chat.ChatMessage;
 import com.theokanning.openai.service.OpenAiService;
 import lombok.extern.slf4j.Slf4j;
@@ -18,8 +20,8 @@ public class OpenAIProvider implements AIProvider {
     private String model;
 
     @Override
-    public String generateResponse(String prompt, String apiKey) {
-        log.info("Generating response using OpenAI");
+    public AICompletionResult generateCompletion(String prompt, String apiKey, int maxTokens) {
+        log.info("Generating response using OpenAI with max tokens: {}", maxTokens);
         
         try {
             // Create OpenAI service with user's API key
@@ -29,13 +31,19 @@ public class OpenAIProvider implements AIProvider {
             ChatCompletionRequest completionRequest = ChatCompletionRequest.builder()
                     .model(model)
                     .messages(List.of(new ChatMessage("user", prompt)))
-                    .maxTokens(2048)
+                    .maxTokens(maxTokens)
                     .temperature(0.7)
                     .build();
             
             // Call OpenAI API
-            return service.createChatCompletion(completionRequest)
-                    .getChoices().get(0).getMessage().getContent();
+            ChatCompletionResult result = service.createChatCompletion(completionRequest);
+            ChatCompletionChoice choice = result.getChoices().get(0);
+            
+            return AICompletionResult.builder()
+                    .content(choice.getMessage().getContent())
+                    .finishReason(choice.getFinishReason())
+                    .completionTokens(result.getUsage() != null ? (int) result.getUsage().getCompletionTokens() : 0)
+                    .build();
             
         } catch (Exception e) {
             log.error("Error generating OpenAI response", e);
@@ -47,4 +55,9 @@ public class OpenAIProvider implements AIProvider {
     public String getName() {
         return "openai";
     }
+
+    @Override
+    public String getModel() {
+        return model;
+    }
 }
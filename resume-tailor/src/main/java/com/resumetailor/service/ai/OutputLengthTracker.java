@@ -0,0 +1,117 @@
+package com.resumetailor.service.ai;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks the distribution of completion lengths per task and model and derives
+ * a max_tokens cap from it. Until enough samples have been observed for a key,
+ * the caller's default cap is used unchanged.
+ */
+@Component
+@Slf4j
+public class OutputLengthTracker {
+
+    @Value("${ai.max-tokens.adaptive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ai.max-tokens.adaptive.percentile:0.95}")
+    private double percentile;
+
+    @Value("${ai.max-tokens.adaptive.headroom:128}")
+    private int headroom;
+
+    @Value("${ai.max-tokens.adaptive.min-samples:20}")
+    private int minSamples;
+
+    @Value("${ai.max-tokens.adaptive.window-size:200}")
+    private int windowSize;
+
+    @Value("${ai.max-tokens.adaptive.floor:256}")
+    private int floor;
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    /**
+     * Suggest a max_tokens value for the given task and model
+     *
+     * @param taskType The task type (e.g. resume_tailoring)
+     * @param model The model the request will be sent to
+     * @param defaultMaxTokens The configured cap, also used as the upper bound
+     * @return The adaptive cap, or the default cap when there is not enough data
+     */
+    public int suggestMaxTokens(String taskType, String model, int defaultMaxTokens) {
+        if (!enabled || taskType == null) {
+            return defaultMaxTokens;
+        }
+
+        Window window = windows.get(key(taskType, model));
+        if (window == null) {
+            return defaultMaxTokens;
+        }
+
+        int observed = window.percentile(percentile, minSamples);
+        if (observed < 0) {
+            return defaultMaxTokens;
+        }
+
+        int suggested = Math.max(floor, observed + headroom);
+        return Math.min(suggested, defaultMaxTokens);
+    }
+
+    /**
+     * Record the length of a completion that finished normally
+     *
+     * @param taskType The task type
+     * @param model The model that produced the completion
+     * @param completionTokens The number of generated tokens
+     */
+    public void record(String taskType, String model, int completionTokens) {
+        if (!enabled || taskType == null || completionTokens <= 0) {
+            return;
+        }
+
+        windows.computeIfAbsent(key(taskType, model), k -> new Window(windowSize))
+                .add(completionTokens);
+    }
+
+    private String key(String taskType, String model) {
+        return taskType + ":" + model;
+    }
+
+    /**
+     * Fixed-size ring buffer of the most recent completion lengths
+     */
+    private static class Window {
+        private final int[] samples;
+        private int next;
+        private int count;
+
+        Window(int size) {
+            this.samples = new int[Math.max(1, size)];
+        }
+
+        synchronized void add(int value) {
+            samples[next] = value;
+            next = (next + 1) % samples.length;
+            if (count < samples.length) {
+                count++;
+            }
+        }
+
+        synchronized int percentile(double p, int minSamples) {
+            if (count < minSamples || count == 0) {
+                return -1;
+            }
+            int[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(p * count) - 1;
+            return sorted[Math.max(0, Math.min(index, count - 1))];
+        }
+    }
+}
@@ -0,0 +1,465 @@
+package com.resumetailor.taxonomy;
+
+import com.resumetailor.dto.SkillSuggestion;
+import com.resumetailor.util.HashUtils;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Skill taxonomy mapping skill names and aliases ("k8s", "nodejs") to canonical names
+ * ("Kubernetes", "Node.js"). The taxonomy source is compiled at startup into a compact trie
+ * that is written next to the application and memory-mapped, so large taxonomies stay off
+ * the heap and a restart with an unchanged source reuses the compiled file.
+ */
+@Component
+@Slf4j
+public class SkillTaxonomy {
+
+    private static final int NO_VALUE = -1;
+
+    private final Resource source;
+    private final Path compiledFile;
+    private final int maxSuggestions;
+
+    private ByteBuffer trie;
+    private int nodesOffset;
+    private int stringIndexOffset;
+    private int stringDataOffset;
+    private int aliasIndexOffset;
+    private int aliasDataOffset;
+    private String[] canonicalNames;
+    private String[] canonicalKeys;
+
+    public SkillTaxonomy(@Value("${taxonomy.source:classpath:taxonomy/skills.tsv}") Resource source,
+                         @Value("${taxonomy.compiled-file:${java.io.tmpdir}/resume-tailor/skills.trie}") String compiledFile,
+                         @Value("${taxonomy.autocomplete.max-suggestions:25}") int maxSuggestions) {
+        this.source = source;
+        this.compiledFile = Path.of(compiledFile);
+        this.maxSuggestions = maxSuggestions;
+    }
+
+    /**
+     * Compile the taxonomy source if the compiled trie is missing or stale, then map it
+     */
+    @PostConstruct
+    public void load() throws IOException {
+        byte[] sourceBytes;
+        try (InputStream in = source.getInputStream()) {
+            sourceBytes = in.readAllBytes();
+        }
+        String sourceHash = HashUtils.sha256(sourceBytes);
+
+        ByteBuffer mapped = mapIfCurrent(sourceHash);
+        if (mapped == null) {
+            byte[] compiled = compile(new String(sourceBytes, StandardCharsets.UTF_8), sourceHash);
+            mapped = writeAndMap(compiled);
+        } else {
+            log.info("Reusing compiled skill taxonomy {}", compiledFile);
+        }
+
+        trie = mapped;
+        int stringCount = trie.getInt(8 + SkillTrieBuilder.HASH_LENGTH + 4);
+        nodesOffset = trie.getInt(8 + SkillTrieBuilder.HASH_LENGTH + 8);
+        stringIndexOffset = trie.getInt(8 + SkillTrieBuilder.HASH_LENGTH + 12);
+        stringDataOffset = trie.getInt(8 + SkillTrieBuilder.HASH_LENGTH + 16);
+        aliasIndexOffset = trie.getInt(8 + SkillTrieBuilder.HASH_LENGTH + 20);
+        aliasDataOffset = trie.getInt(8 + SkillTrieBuilder.HASH_LENGTH + 24);
+        canonicalNames = new String[stringCount];
+        canonicalKeys = new String[stringCount];
+    }
+
+    /**
+     * Map a skill name or alias to its canonical name
+     *
+     * @param term The skill name or alias, in any case
+     * @return The canonical name, or null if the term is not a known skill
+     */
+    public String normalize(String term) {
+        int value = lookup(term, true);
+        return value == NO_VALUE ? null : canonicalName(value >> 1);
+    }
+
+    /**
+     * Map a lowercase token from free text to the lowercase canonical skill name. Aliases
+     * that are ambiguous in prose are left alone.
+     *
+     * @param token The lowercase token
+     * @return The lowercase canonical name, or the token itself if it is not a known skill
+     */
+    public String normalizeToken(String token) {
+        int value = lookup(token, false);
+        return value == NO_VALUE ? token : canonicalKey(value >> 1);
+    }
+
+    /**
+     * Find the longest multi-word skill name or alias spelled by consecutive tokens, such as
+     * "machine learning" or "ruby on rails". Aliases that are ambiguous in prose are skipped.
+     *
+     * @param tokens Lowercase tokens separated by single spaces in the text
+     * @param start Index of the first token
+     * @return The number of tokens of the longest match of two or more tokens, or 0
+     */
+    public int matchPhrase(List<String> tokens, int start) {
+        int node = 0;
+        int matched = 0;
+        for (int i = start; i < tokens.size() && node >= 0; i++) {
+            if (i > start) {
+                node = child(node, ' ');
+            }
+            String token = tokens.get(i);
+            for (int j = 0; j < token.length() && node >= 0; j++) {
+                node = child(node, token.charAt(j));
+            }
+            if (node >= 0 && i > start) {
+                int value = value(node);
+                if (value != NO_VALUE && (value & 1) == 0) {
+                    matched = i - start + 1;
+                }
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * Aliases of a skill that are safe to match in free text, such as "k8s" for "Kubernetes"
+     *
+     * @param term The skill name or alias
+     * @return The lowercase aliases, excluding the canonical name, or an empty list if the
+     * term is not a known skill
+     */
+    public List<String> aliases(String term) {
+        int value = lookup(term, true);
+        if (value == NO_VALUE) {
+            return List.of();
+        }
+
+        int id = value >> 1;
+        String keys = decode(aliasIndexOffset, aliasDataOffset, id);
+        List<String> aliases = new ArrayList<>();
+        for (String key : keys.split("\t")) {
+            if (!key.isEmpty() && !key.equals(canonicalKey(id))) {
+                aliases.add(key);
+            }
+        }
+        return aliases;
+    }
+
+    /**
+     * Scan free text for skill mentions, taking the longest match at each word start.
+     * Each position walks the trie at most as deep as the longest key.
+     *
+     * @param text The text to scan
+     * @param consumer Receives the canonical name and the character span of every mention
+     */
+    public void scan(String text, SkillMatchConsumer consumer) {
+        if (text == null) {
+            return;
+        }
+
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            if (!Character.isLetterOrDigit(text.charAt(i)) && text.charAt(i) != '.'
+                    || (i > 0 && Character.isLetterOrDigit(text.charAt(i - 1)))) {
+                i++;
+                continue;
+            }
+
+            int node = 0;
+            int matchValue = NO_VALUE;
+            int matchEnd = -1;
+            int j = i;
+            while (j < length) {
+                char c = text.charAt(j);
+                int next;
+                if (Character.isWhitespace(c)) {
+                    next = child(node, ' ');
+                    while (j + 1 < length && Character.isWhitespace(text.charAt(j + 1))) {
+                        j++;
+                    }
+                } else {
+                    next = child(node, Character.toLowerCase(c));
+                }
+                if (next < 0) {
+                    break;
+                }
+                node = next;
+                j++;
+
+                int value = value(node);
+                if (value != NO_VALUE && (value & 1) == 0
+                        && (j == length || !Character.isLetterOrDigit(text.charAt(j)))) {
+                    matchValue = value;
+                    matchEnd = j;
+                }
+            }
+
+            if (matchValue != NO_VALUE) {
+                consumer.accept(canonicalName(matchValue >> 1), i, matchEnd);
+                i = matchEnd;
+            } else {
+                i++;
+            }
+        }
+    }
+
+    /**
+     * Canonical names of all skills mentioned in the text, in order of first mention
+     *
+     * @param text The text to scan
+     * @return The lowercase canonical names
+     */
+    public Set<String> extractSkills(String text) {
+        Set<String> skills = new LinkedHashSet<>();
+        scan(text, (name, start, end) -> skills.add(name.toLowerCase(Locale.ROOT)));
+        return skills;
+    }
+
+    /**
+     * Complete a prefix to skill names. Skills whose name or any alias starts with the prefix
+     * are returned in lexicographic key order, with an exact match first.
+     *
+     * @param prefix The typed prefix
+     * @param limit Maximum number of suggestions
+     * @return The suggestions
+     */
+    public List<SkillSuggestion> autocomplete(String prefix, int limit) {
+        List<SkillSuggestion> suggestions = new ArrayList<>();
+        String key = normalizeKey(prefix);
+        if (key.isEmpty()) {
+            return suggestions;
+        }
+
+        int node = descend(key);
+        if (node < 0) {
+            return suggestions;
+        }
+
+        collect(node, key, new StringBuilder(key), Math.min(limit, maxSuggestions), new LinkedHashSet<>(), suggestions);
+        return suggestions;
+    }
+
+    /**
+     * Depth-first walk of the subtree below a node, stopping once enough skills are found
+     */
+    private void collect(int node, String prefix, StringBuilder key, int limit, Set<Integer> seen, List<SkillSuggestion> out) {
+        int value = value(node);
+        if (value != NO_VALUE && seen.add(value >> 1)) {
+            String name = canonicalName(value >> 1);
+            // Only report the alias when the prefix does not also match the name itself
+            boolean nameMatches = canonicalKey(value >> 1).startsWith(prefix);
+            out.add(SkillSuggestion.builder()
+                    .name(name)
+                    .matchedAlias(nameMatches ? null : key.toString())
+                    .build());
+        }
+
+        int first = firstChild(node);
+        int count = childCount(node);
+        for (int i = 0; i < count && out.size() < limit; i++) {
+            int childNode = first + i;
+            key.append(label(childNode));
+            collect(childNode, prefix, key, limit, seen, out);
+            key.setLength(key.length() - 1);
+        }
+    }
+
+    private int lookup(String term, boolean includeAmbiguous) {
+        if (term == null) {
+            return NO_VALUE;
+        }
+        int node = descend(normalizeKey(term));
+        if (node < 0) {
+            return NO_VALUE;
+        }
+        int value = value(node);
+        if (value == NO_VALUE || (!includeAmbiguous && (value & 1) == 1)) {
+            return NO_VALUE;
+        }
+        return value;
+    }
+
+    private int descend(String key) {
+        int node = 0;
+        for (int i = 0; i < key.length() && node >= 0; i++) {
+            node = child(node, key.charAt(i));
+        }
+        return node;
+    }
+
+    /**
+     * Binary search the sorted children of a node for a label
+     */
+    private int child(int node, char label) {
+        int low = firstChild(node);
+        int high = low + childCount(node) - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midLabel = label(mid);
+            if (midLabel < label) {
+                low = mid + 1;
+            } else if (midLabel > label) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private char label(int node) {
+        return trie.getChar(nodesOffset + node * SkillTrieBuilder.NODE_SIZE);
+    }
+
+    private int childCount(int node) {
+        return trie.getChar(nodesOffset + node * SkillTrieBuilder.NODE_SIZE + 2);
+    }
+
+    private int firstChild(int node) {
+        return trie.getInt(nodesOffset + node * SkillTrieBuilder.NODE_SIZE + 4);
+    }
+
+    private int value(int node) {
+        return trie.getInt(nodesOffset + node * SkillTrieBuilder.NODE_SIZE + 8);
+    }
+
+    /**
+     * Decode a canonical name from the mapped string table, caching it on first use
+     */
+    private String canonicalName(int id) {
+        String name = canonicalNames[id];
+        if (name == null) {
+            name = decode(stringIndexOffset, stringDataOffset, id);
+            canonicalNames[id] = name;
+        }
+        return name;
+    }
+
+    private String decode(int indexOffset, int dataOffset, int id) {
+        int start = trie.getInt(indexOffset + id * 4);
+        int end = trie.getInt(indexOffset + (id + 1) * 4);
+        byte[] bytes = new byte[end - start];
+        trie.get(dataOffset + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private String canonicalKey(int id) {
+        String key = canonicalKeys[id];
+        if (key == null) {
+            key = normalizeKey(canonicalName(id));
+            canonicalKeys[id] = key;
+        }
+        return key;
+    }
+
+    /**
+     * Parse the taxonomy source: one skill per line, the canonical name followed by its
+     * aliases, tab-separated; terms prefixed with '~' are ambiguous in free text
+     */
+    private byte[] compile(String taxonomy, String sourceHash) {
+        SkillTrieBuilder builder = new SkillTrieBuilder();
+        for (String line : taxonomy.split("\\R")) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] terms = line.split("\t");
+            int canonicalId = -1;
+            for (String term : terms) {
+                boolean ambiguous = term.startsWith("~");
+                String name = (ambiguous ? term.substring(1) : term).trim();
+                if (name.isEmpty()) {
+                    continue;
+                }
+                if (canonicalId < 0) {
+                    canonicalId = builder.addCanonical(name);
+                }
+                builder.addKey(normalizeKey(name), canonicalId, ambiguous);
+            }
+        }
+        return builder.build(sourceHash);
+    }
+
+    /**
+     * Map the compiled file if it exists and was compiled from the current source
+     */
+    private ByteBuffer mapIfCurrent(String sourceHash) {
+        if (!Files.isRegularFile(compiledFile)) {
+            return null;
+        }
+        try {
+            ByteBuffer mapped = map(compiledFile);
+            byte[] hash = new byte[SkillTrieBuilder.HASH_LENGTH];
+            mapped.get(8, hash);
+            if (mapped.getInt(0) == SkillTrieBuilder.MAGIC && mapped.getInt(4) == SkillTrieBuilder.VERSION
+                    && sourceHash.equals(new String(hash, StandardCharsets.US_ASCII))) {
+                return mapped;
+            }
+        } catch (IOException | IndexOutOfBoundsException e) {
+            log.warn("Ignoring unreadable compiled skill taxonomy {}: {}", compiledFile, e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Write the compiled trie atomically and map it, falling back to the heap copy if the
+     * file cannot be written
+     */
+    private ByteBuffer writeAndMap(byte[] compiled) {
+        try {
+            Files.createDirectories(compiledFile.toAbsolutePath().getParent());
+            Path temp = Files.createTempFile(compiledFile.toAbsolutePath().getParent(), "skills", ".tmp");
+            Files.write(temp, compiled);
+            Files.move(temp, compiledFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return map(compiledFile);
+        } catch (IOException e) {
+            log.warn("Could not write compiled skill taxonomy to {}, keeping it on the heap: {}", compiledFile, e.getMessage());
+            return ByteBuffer.wrap(compiled);
+        }
+    }
+
+    private ByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /**
+     * Lowercase the term and collapse whitespace runs to single spaces, without allocating
+     * when the term is already normalized
+     */
+    private static String normalizeKey(String term) {
+        boolean normalized = !term.isEmpty() && term.charAt(0) != ' ' && term.charAt(term.length() - 1) != ' ';
+        for (int i = 0; i < term.length() && normalized; i++) {
+            char c = term.charAt(i);
+            normalized = Character.toLowerCase(c) == c
+                    && (c == ' ' ? term.charAt(i - 1) != ' ' : !Character.isWhitespace(c));
+        }
+        return normalized ? term : term.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Receives a skill mention found while scanning text
+     */
+    @FunctionalInterface
+    public interface SkillMatchConsumer {
+        void accept(String canonicalName, int start, int end);
+    }
+}
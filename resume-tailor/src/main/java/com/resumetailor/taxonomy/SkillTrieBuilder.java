@@ -0,0 +1,174 @@
+package com.resumetailor.taxonomy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compiles skill names and aliases into the binary trie read by {@link SkillTaxonomy}.
+ *
+ * <p>Layout (big-endian):
+ * <pre>
+ * header   magic, version, 64-byte source hash, nodeCount, stringCount,
+ *          nodesOffset, stringIndexOffset, stringDataOffset, aliasIndexOffset, aliasDataOffset
+ * nodes    nodeCount x (char label, char childCount, int firstChild, int value)
+ * index    (stringCount + 1) x int offset into the string data
+ * data     UTF-8 canonical skill names
+ * index    (stringCount + 1) x int offset into the alias data
+ * data     UTF-8 unambiguous keys of each skill, tab-separated
+ * </pre>
+ * Nodes are written breadth-first, so the children of a node are contiguous and sorted by
+ * label. A node's value is -1, or the canonical name ID shifted left by one with the low bit
+ * set when the key is ambiguous in free text.
+ */
+@Slf4j
+final class SkillTrieBuilder {
+
+    static final int MAGIC = 0x534B5452;
+    static final int VERSION = 2;
+    static final int HASH_LENGTH = 64;
+    static final int HEADER_SIZE = 8 + HASH_LENGTH + 28;
+    static final int NODE_SIZE = 12;
+
+    private final Node root = new Node('\0');
+    private final List<String> canonicalNames = new ArrayList<>();
+    private final List<StringBuilder> canonicalKeys = new ArrayList<>();
+
+    /**
+     * Register a canonical skill name
+     *
+     * @param name The display name
+     * @return The canonical name ID
+     */
+    int addCanonical(String name) {
+        canonicalNames.add(name);
+        canonicalKeys.add(new StringBuilder());
+        return canonicalNames.size() - 1;
+    }
+
+    /**
+     * Map a lookup key to a canonical name. The first mapping of a key wins.
+     *
+     * @param key The normalized key
+     * @param canonicalId The canonical name ID
+     * @param ambiguous Whether the key is ambiguous in free text
+     */
+    void addKey(String key, int canonicalId, boolean ambiguous) {
+        if (key.isEmpty() || key.length() > Character.MAX_VALUE) {
+            return;
+        }
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), Node::new);
+        }
+        if (node.value >= 0) {
+            if (node.value >> 1 != canonicalId) {
+                log.debug("Skill key '{}' already maps to '{}', ignoring mapping to '{}'",
+                        key, canonicalNames.get(node.value >> 1), canonicalNames.get(canonicalId));
+            }
+            return;
+        }
+        node.value = canonicalId << 1 | (ambiguous ? 1 : 0);
+        if (!ambiguous) {
+            StringBuilder keys = canonicalKeys.get(canonicalId);
+            keys.append(keys.length() > 0 ? "\t" : "").append(key);
+        }
+    }
+
+    /**
+     * Serialize the trie
+     *
+     * @param sourceHash Hex hash of the taxonomy source, used to detect stale compiled files
+     * @return The compiled trie
+     */
+    byte[] build(String sourceHash) {
+        // Number the nodes breadth-first so siblings are contiguous
+        List<Node> ordered = new ArrayList<>();
+        Deque<Node> queue = new ArrayDeque<>();
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            ordered.add(node);
+            queue.addAll(node.children.values());
+        }
+        int nextIndex = 1;
+        for (Node node : ordered) {
+            node.firstChild = node.children.isEmpty() ? 0 : nextIndex;
+            nextIndex += node.children.size();
+        }
+
+        ByteArrayOutputStream stringData = new ByteArrayOutputStream();
+        int[] stringOffsets = writeStrings(canonicalNames, stringData);
+        ByteArrayOutputStream aliasData = new ByteArrayOutputStream();
+        int[] aliasOffsets = writeStrings(canonicalKeys, aliasData);
+
+        int nodesOffset = HEADER_SIZE;
+        int stringIndexOffset = nodesOffset + ordered.size() * NODE_SIZE;
+        int stringDataOffset = stringIndexOffset + stringOffsets.length * 4;
+        int aliasIndexOffset = stringDataOffset + stringData.size();
+        int aliasDataOffset = aliasIndexOffset + aliasOffsets.length * 4;
+        ByteBuffer buffer = ByteBuffer.allocate(aliasDataOffset + aliasData.size());
+
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.put(sourceHash.getBytes(StandardCharsets.US_ASCII), 0, HASH_LENGTH);
+        buffer.putInt(ordered.size());
+        buffer.putInt(canonicalNames.size());
+        buffer.putInt(nodesOffset);
+        buffer.putInt(stringIndexOffset);
+        buffer.putInt(stringDataOffset);
+        buffer.putInt(aliasIndexOffset);
+        buffer.putInt(aliasDataOffset);
+
+        for (Node node : ordered) {
+            buffer.putChar(node.label);
+            buffer.putChar((char) node.children.size());
+            buffer.putInt(node.firstChild);
+            buffer.putInt(node.value);
+        }
+        for (int offset : stringOffsets) {
+            buffer.putInt(offset);
+        }
+        buffer.put(stringData.toByteArray());
+        for (int offset : aliasOffsets) {
+            buffer.putInt(offset);
+        }
+        buffer.put(aliasData.toByteArray());
+
+        log.info("Compiled skill taxonomy: {} skills, {} trie nodes, {} bytes",
+                canonicalNames.size(), ordered.size(), buffer.capacity());
+        return buffer.array();
+    }
+
+    /**
+     * Write strings as UTF-8 and return their start offsets followed by the end offset
+     */
+    private int[] writeStrings(List<? extends CharSequence> strings, ByteArrayOutputStream out) {
+        int[] offsets = new int[strings.size() + 1];
+        for (int i = 0; i < strings.size(); i++) {
+            offsets[i] = out.size();
+            out.writeBytes(strings.get(i).toString().getBytes(StandardCharsets.UTF_8));
+        }
+        offsets[strings.size()] = out.size();
+        return offsets;
+    }
+
+    private static class Node {
+        final char label;
+        final Map<Character, Node> children = new TreeMap<>();
+        int firstChild;
+        int value = -1;
+
+        Node(char label) {
+            this.label = label;
+        }
+    }
+}
@@ -1,16 +1,23 @@
 package com.resumetailor.util;
 
+import com.resumetailor.cache.JobDescriptionAnalysisStore;
+import com.resumetailor.scoring.KeywordMatcher;
+import com.resumetailor.taxonomy.SkillTaxonomy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.util.List;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class GitHubUtils {
 
     private final WebClient.Builder webClientBuilder;
+    private final SkillTaxonomy skillTaxonomy;
+    private final JobDescriptionAnalysisStore jobDescriptionAnalysisStore;
 
     /**
      * Check if a repository is relevant to a job description
@@ -25,30 +32,27 @@ public class GitHubUtils {
             return 50; // Default relevance if no job description
         }
         
-        int score = 0;
-        
-        // Convert to lowercase for case-insensitive comparison
-        String lowerRepoName = repoName.toLowerCase();
-        String lowerRepoDesc = repoDescription != null ? repoDescription.toLowerCase() : "";
-        String lowerJobDesc = jobDescription.toLowerCase();
-        
-        // Extract keywords from job description (simplified)
-        String[] keywords = lowerJobDesc.split("\\W+");
+        KeywordMatcher matcher = buildRelevanceMatcher(jobDescription);
         
         // Check for keyword matches in repository name and description
-        for (String keyword : keywords) {
-            if (keyword.length() <= 3) continue; // Skip short words
-            
-            if (lowerRepoName.contains(keyword)) {
-                score += 10; // Higher weight for name matches
-            }
-            
-            if (lowerRepoDesc.contains(keyword)) {
-                score += 5; // Lower weight for description matches
-            }
-        }
+        int score = matcher.matches(repoName).cardinality() * 10; // Higher weight for name matches
+        score += matcher.matches(repoDescription).cardinality() * 5; // Lower weight for description matches
         
         // Cap score at 100
         return Math.min(score, 100);
     }
+    
+    /**
+     * Build the keyword matcher for a job description. Build it once and reuse it for every
+     * repository scored against the same job description.
+     *
+     * @param jobDescription Job description
+     * @return Matcher for the job description's skills and longer words
+     */
+    public KeywordMatcher buildRelevanceMatcher(String jobDescription) {
+        // Keywords are extracted once per job description and shared
+        List<String> keywords = jobDescriptionAnalysisStore.analyze(jobDescription).getKeywords();
+        
+        return KeywordMatcher.forKeywords(keywords, skillTaxonomy, true);
+    }
 }
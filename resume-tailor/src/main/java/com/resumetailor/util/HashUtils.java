@@ -0,0 +1,52 @@
+package com.resumetailor.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Content hashing helpers used for cache keys
+ */
+public final class HashUtils {
+
+    private HashUtils() {
+    }
+
+    /**
+     * SHA-256 of the given text as a lowercase hex string
+     *
+     * @param text The text to hash
+     * @return The hex digest
+     */
+    public static String sha256(String text) {
+        return sha256(text != null ? text.getBytes(StandardCharsets.UTF_8) : new byte[0]);
+    }
+
+    /**
+     * SHA-256 of the given bytes as a lowercase hex string
+     *
+     * @param bytes The bytes to hash
+     * @return The hex digest
+     */
+    public static String sha256(byte[] bytes) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Hash of the text after collapsing whitespace, so that re-pasted copies of the same
+     * content produce the same key. Case is kept: a case-only edit is a real edit.
+     *
+     * @param text The text to hash
+     * @return The hex digest of the normalized text
+     */
+    public static String normalizedHash(String text) {
+        String normalized = text != null ? text.replaceAll("\\s+", " ").trim() : "";
+        return sha256(normalized);
+    }
+}
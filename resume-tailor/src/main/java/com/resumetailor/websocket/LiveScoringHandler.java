@@ -0,0 +1,186 @@
+package com.resumetailor.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resumetailor.cache.JobDescriptionAnalysisStore;
+import com.resumetailor.dto.LiveEditMessage;
+import com.resumetailor.dto.LiveScoreMessage;
+import com.resumetailor.dto.MatchScoreResponse;
+import com.resumetailor.scoring.IncrementalTermCounter;
+import com.resumetailor.scoring.MatchScoringEngine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Live match scoring for the resume editor. The client starts a session with the full resume
+ * and job description, then sends only the edits it makes; the resume and its term counts
+ * are kept per session and updated for the edited span alone. After a pause in editing the
+ * current local match score and missing keywords are pushed back. The score is only
+ * recomputed when a job description term appeared in or disappeared from the resume.
+ */
+@Component
+@Slf4j
+public class LiveScoringHandler extends TextWebSocketHandler {
+
+    private static final int SEND_TIME_LIMIT_MILLIS = 5000;
+    private static final int SEND_BUFFER_LIMIT_BYTES = 64 * 1024;
+
+    private final MatchScoringEngine matchScoringEngine;
+    private final JobDescriptionAnalysisStore jobDescriptionAnalysisStore;
+    private final ScheduledExecutorService liveScoringScheduler;
+    private final ObjectMapper objectMapper;
+    private final long debounceMillis;
+    private final int maxSessions;
+    private final int maxResumeLength;
+    private final Map<String, LiveSession> sessions = new ConcurrentHashMap<>();
+
+    public LiveScoringHandler(MatchScoringEngine matchScoringEngine,
+                              JobDescriptionAnalysisStore jobDescriptionAnalysisStore,
+                              ScheduledExecutorService liveScoringScheduler,
+                              ObjectMapper objectMapper,
+                              @Value("${live-scoring.debounce-ms:300}") long debounceMillis,
+                              @Value("${live-scoring.max-sessions:10000}") int maxSessions,
+                              @Value("${live-scoring.max-resume-length:100000}") int maxResumeLength) {
+        this.matchScoringEngine = matchScoringEngine;
+        this.jobDescriptionAnalysisStore = jobDescriptionAnalysisStore;
+        this.liveScoringScheduler = liveScoringScheduler;
+        this.objectMapper = objectMapper;
+        this.debounceMillis = debounceMillis;
+        this.maxSessions = maxSessions;
+        this.maxResumeLength = maxResumeLength;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        if (sessions.size() >= maxSessions) {
+            log.warn("Rejecting live scoring session: {} sessions open", sessions.size());
+            session.close(CloseStatus.SERVICE_OVERLOAD);
+            return;
+        }
+        sessions.put(session.getId(), new LiveSession(
+                new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MILLIS, SEND_BUFFER_LIMIT_BYTES)));
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+        LiveSession liveSession = sessions.get(session.getId());
+        if (liveSession == null) {
+            return;
+        }
+
+        try {
+            LiveEditMessage edit = objectMapper.readValue(message.getPayload(), LiveEditMessage.class);
+            synchronized (liveSession) {
+                apply(liveSession, edit);
+                liveSession.version = edit.getVersion();
+                if (liveSession.pending != null) {
+                    liveSession.pending.cancel(false);
+                }
+                liveSession.pending = liveScoringScheduler.schedule(() -> push(liveSession), debounceMillis, TimeUnit.MILLISECONDS);
+            }
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            send(liveSession, LiveScoreMessage.builder()
+                    .type("error")
+                    .message(e instanceof JsonProcessingException ? "Malformed message" : e.getMessage())
+                    .build());
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        LiveSession liveSession = sessions.remove(session.getId());
+        if (liveSession != null) {
+            synchronized (liveSession) {
+                if (liveSession.pending != null) {
+                    liveSession.pending.cancel(false);
+                }
+            }
+        }
+    }
+
+    public int sessionCount() {
+        return sessions.size();
+    }
+
+    private void apply(LiveSession liveSession, LiveEditMessage edit) {
+        if ("init".equals(edit.getType())) {
+            if (edit.getJobDescription() == null || edit.getJobDescription().isEmpty()) {
+                throw new IllegalArgumentException("Job description cannot be empty");
+            }
+            String resumeContent = edit.getResumeContent() != null ? edit.getResumeContent() : "";
+            if (resumeContent.length() > maxResumeLength) {
+                throw new IllegalArgumentException("Resume exceeds " + maxResumeLength + " characters");
+            }
+            liveSession.counter = matchScoringEngine.incrementalCounter(resumeContent,
+                    jobDescriptionAnalysisStore.analyze(edit.getJobDescription()).getTermFrequencies());
+            liveSession.lastScore = null;
+        } else if ("edit".equals(edit.getType())) {
+            if (liveSession.counter == null) {
+                throw new IllegalArgumentException("Session has not been initialized");
+            }
+            String text = edit.getText() != null ? edit.getText() : "";
+            if (liveSession.counter.length() - (edit.getEnd() - edit.getStart()) + text.length() > maxResumeLength) {
+                throw new IllegalArgumentException("Resume exceeds " + maxResumeLength + " characters");
+            }
+            liveSession.counter.replace(edit.getStart(), edit.getEnd(), text);
+        } else {
+            throw new IllegalArgumentException("Unknown message type: " + edit.getType());
+        }
+    }
+
+    /**
+     * Push the current score once editing has paused
+     */
+    private void push(LiveSession liveSession) {
+        LiveScoreMessage message;
+        synchronized (liveSession) {
+            liveSession.pending = null;
+            if (liveSession.counter.consumePresenceChanged() || liveSession.lastScore == null) {
+                liveSession.lastScore = matchScoringEngine.score(
+                        liveSession.counter.resumeTerms(), liveSession.counter.jobTerms());
+            }
+            MatchScoreResponse score = liveSession.lastScore;
+            message = LiveScoreMessage.builder()
+                    .type("score")
+                    .version(liveSession.version)
+                    .matchScore(score.getMatchScore())
+                    .keywordsMatched(score.getKeywordsMatched())
+                    .keywordsMissing(score.getKeywordsMissing())
+                    .build();
+        }
+        send(liveSession, message);
+    }
+
+    private void send(LiveSession liveSession, LiveScoreMessage message) {
+        try {
+            liveSession.session.sendMessage(new TextMessage(objectMapper.writeValueAsString(message)));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Failed to send live score to session {}: {}", liveSession.session.getId(), e.getMessage());
+        }
+    }
+
+    private static class LiveSession {
+        final WebSocketSession session;
+        IncrementalTermCounter counter;
+        MatchScoreResponse lastScore;
+        ScheduledFuture<?> pending;
+        long version;
+
+        LiveSession(WebSocketSession session) {
+            this.session = session;
+        }
+    }
+}
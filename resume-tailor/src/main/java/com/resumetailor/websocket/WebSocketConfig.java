@@ -0,0 +1,34 @@
+package com.resumetailor.websocket;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
+
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final LiveScoringHandler liveScoringHandler;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(liveScoringHandler, "/ws/score")
+                .setAllowedOrigins("http://localhost:3000"); // Frontend URL
+    }
+
+    /**
+     * Room in a single message for the full resume sent when a session starts
+     */
+    @Bean
+    public ServletServerContainerFactoryBean webSocketContainer(@Value("${live-scoring.max-message-bytes:262144}") int maxMessageBytes) {
+        ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean();
+        container.setMaxTextMessageBufferSize(maxMessageBytes);
+        return container;
+    }
+}
@@ -0,0 +1,65 @@
+package com.resumetailor.agent;
+
+import com.resumetailor.dto.CoverLetterResponse;
+import com.resumetailor.dto.FormattingTask;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FormattingAgentTest {
+
+    private static final String BODY = """
+            I am excited to apply for the Senior Engineer role at Acme.
+
+            At Globex I led the billing rewrite.""";
+
+    private final FormattingAgent agent = new FormattingAgent();
+
+    @Test
+    void stripsGreetingAndSignOff() {
+        String letter = "Dear Hiring Manager,\n\n" + BODY + "\n\nSincerely,\nJane Doe\n";
+
+        assertThat(coverLetter(letter)).isEqualTo(BODY);
+    }
+
+    @Test
+    void stripsGreetingEndingInColon() {
+        assertThat(coverLetter("To whom it may concern:\n" + BODY)).isEqualTo(BODY);
+    }
+
+    @Test
+    void keepsFirstParagraphStartingLikeAGreeting() {
+        for (String opening : new String[]{"Highly motivated engineer with ten years of experience.",
+                "Hiring managers at Acme value reliability, and so do I.",
+                "History shows that good tooling pays off:",
+                "Dear to me is the craft of building reliable systems."}) {
+            String letter = opening + "\n\n" + BODY;
+
+            assertThat(coverLetter(letter)).isEqualTo(letter);
+        }
+    }
+
+    @Test
+    void keepsParagraphsStartingLikeASignOff() {
+        String letter = BODY + "\n\nYours is the team I most want to join, because of its focus on developer experience.\n\n"
+                + "Regards to scale, I have run services at 10k requests per second.\n\n"
+                + "I look forward to talking with you.";
+
+        assertThat(coverLetter(letter)).isEqualTo(letter);
+    }
+
+    @Test
+    void stripsSignOffOnlyFromTheLastLines() {
+        String letter = "Regards\n\n" + BODY + "\n\nBest regards,\nJane Doe\nSenior Engineer";
+
+        assertThat(coverLetter(letter)).isEqualTo("Regards\n\n" + BODY);
+    }
+
+    private String coverLetter(String rawOutput) {
+        CoverLetterResponse response = (CoverLetterResponse) agent.process(FormattingTask.builder()
+                .taskType("cover_letter")
+                .rawOutput(rawOutput)
+                .build());
+        return response.getCoverLetter();
+    }
+}
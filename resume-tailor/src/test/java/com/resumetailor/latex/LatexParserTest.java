@@ -0,0 +1,139 @@
+package com.resumetailor.latex;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LatexParserTest {
+
+    private static final String RESUME = """
+            \\documentclass{article}
+            \\begin{document}
+            {\\LARGE \\textbf{Jane Doe}} \\\\
+            jane@example.com | +1 555 0100
+
+            \\section{Experience}
+            \\textbf{Acme Corp} \\hfill 2020 -- 2023 \\\\
+            \\textit{Senior Engineer}
+            \\begin{itemize}
+              \\item Built the \\textbf{billing} service
+              \\item Cut latency by 40\\%
+            \\end{itemize}
+
+            \\textbf{Globex} \\hfill 2017 -- 2020 \\\\
+            \\textit{Engineer}
+            \\begin{itemize}
+              \\item Maintained the data pipeline
+            \\end{itemize}
+
+            \\section{Skills}
+            Java, Spring Boot, Kubernetes
+            \\end{document}
+            """;
+
+    @Test
+    void parsesHeader() {
+        LatexDocument document = LatexParser.parse(RESUME);
+
+        assertThat(document.getName()).isEqualTo("Jane Doe");
+        assertThat(document.getContactLines()).containsExactly("jane@example.com • +1 555 0100");
+    }
+
+    @Test
+    void parsesEverySectionEntry() {
+        LatexDocument document = LatexParser.parse(RESUME);
+
+        assertThat(document.getSections()).extracting(LatexDocument.Section::getTitle)
+                .containsExactly("Experience", "Skills");
+
+        List<LatexDocument.Block> blocks = document.getSections().get(0).getBlocks();
+        assertThat(blocks).hasSize(2).allMatch(LatexDocument.Entry.class::isInstance);
+
+        LatexDocument.Entry first = (LatexDocument.Entry) blocks.get(0);
+        assertThat(first.getTitle().getPlainText()).isEqualTo("Acme Corp");
+        assertThat(first.getDates()).isEqualTo("2020 – 2023");
+        assertThat(first.getSubtitle().getPlainText()).isEqualTo("Senior Engineer");
+        assertThat(first.getItems()).extracting(LatexDocument.InlineText::getPlainText)
+                .containsExactly("Built the billing service", "Cut latency by 40%");
+        assertThat(first.getItems().get(0).getRuns())
+                .anyMatch(run -> run.getText().strip().equals("billing") && run.isBold());
+
+        LatexDocument.Entry second = (LatexDocument.Entry) blocks.get(1);
+        assertThat(second.getTitle().getPlainText()).isEqualTo("Globex");
+        assertThat(second.getSubtitle().getPlainText()).isEqualTo("Engineer");
+        assertThat(second.getItems()).extracting(LatexDocument.InlineText::getPlainText)
+                .containsExactly("Maintained the data pipeline");
+    }
+
+    @Test
+    void toleratesUnbalancedBraces() {
+        LatexDocument document = LatexParser.parse("""
+                \\section{Summary}
+                Text with a stray } brace and an \\textbf{unclosed group
+                \\section{Skills}
+                Java
+                """);
+
+        assertThat(document.getSections()).isNotEmpty();
+        assertThat(document.getSections().get(0).getTitle()).isEqualTo("Summary");
+    }
+
+    @Test
+    void closesUnterminatedListAtNextSection() {
+        LatexDocument document = LatexParser.parse("""
+                \\section{Projects}
+                \\begin{itemize}
+                  \\item First project
+                \\section{Skills}
+                Java
+                """);
+
+        assertThat(document.getSections()).extracting(LatexDocument.Section::getTitle)
+                .containsExactly("Projects", "Skills");
+        LatexDocument.ItemList list = (LatexDocument.ItemList) document.getSections().get(0).getBlocks().get(0);
+        assertThat(list.getItems()).extracting(LatexDocument.InlineText::getPlainText)
+                .containsExactly("First project");
+    }
+
+    @Test
+    void parsesTruncatedDocument() {
+        String truncated = RESUME.substring(0, RESUME.indexOf("\\item Cut"));
+
+        LatexDocument document = LatexParser.parse(truncated);
+
+        assertThat(document.getName()).isEqualTo("Jane Doe");
+        assertThat(document.getSections()).extracting(LatexDocument.Section::getTitle)
+                .containsExactly("Experience");
+    }
+
+    @Test
+    void acceptsNestingUpToTheCap() {
+        int depth = LatexParser.MAX_NESTING_DEPTH;
+        String source = "\\section{Deep}\n" + "{".repeat(depth) + "text" + "}".repeat(depth);
+
+        LatexDocument document = LatexParser.parse(source);
+
+        LatexDocument.Paragraph paragraph = (LatexDocument.Paragraph) document.getSections().get(0).getBlocks().get(0);
+        assertThat(paragraph.getLines().get(0).getPlainText()).isEqualTo("text");
+    }
+
+    @Test
+    void rejectsDeeplyNestedGroups() {
+        String source = "\\section{Deep}\n" + "{".repeat(100_000) + "text";
+
+        assertThatThrownBy(() -> LatexParser.parse(source))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("nested deeper");
+    }
+
+    @Test
+    void rejectsDeeplyNestedLists() {
+        String source = "\\section{Deep}\n" + "\\begin{itemize}\\item x ".repeat(10_000);
+
+        assertThatThrownBy(() -> LatexParser.parse(source))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
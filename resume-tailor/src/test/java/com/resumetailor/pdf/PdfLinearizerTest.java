@@ -0,0 +1,283 @@
+package com.resumetailor.pdf;
+
+import com.resumetailor.agent.PDFAgent;
+import com.resumetailor.cache.SectionLayoutCache;
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Linearizes a multi-page resume and checks the result by parsing it back: the
+ * linearization dictionary, both cross-reference tables and the hint tables must all
+ * point at the objects they describe.
+ */
+class PdfLinearizerTest {
+
+    private static final Pattern LINEARIZATION_DICTIONARY =
+            Pattern.compile("^%PDF-1\\.\\d\n%[^\n]*\n(\\d+) 0 obj\n<<(.*?)>>\nendobj\n", Pattern.DOTALL);
+    private static final Pattern HINT_STREAM =
+            Pattern.compile("\\G(\\d+) 0 obj\n<< /Length (\\d+) /S (\\d+) >>\nstream\n");
+    private static final Pattern SUBSECTION = Pattern.compile("\\G(\\d+) (\\d+)\n");
+    private static final String OBJECT_HEADER = "%d 0 obj\n";
+
+    private static byte[] pdf;
+    private static String file;
+    private static List<Integer> pageNumbers;
+
+    @BeforeAll
+    static void linearizeResume() throws IOException {
+        FontRegistry fontRegistry = new FontRegistry(new DefaultResourceLoader(), "", "", "");
+        fontRegistry.load();
+        PDFAgent agent = new PDFAgent(new ResumeLayoutEngine(new SectionLayoutCache(100), fontRegistry), fontRegistry);
+        ReflectionTestUtils.setField(agent, "maxMainMemoryBytes", 4194304L);
+        ReflectionTestUtils.setField(agent, "tempDir", "");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        agent.writePdf(resume(12), true, out);
+        pdf = out.toByteArray();
+        file = new String(pdf, StandardCharsets.ISO_8859_1);
+
+        pageNumbers = new ArrayList<>();
+        try (PDDocument document = PDDocument.load(pdf)) {
+            COSDictionary pages = (COSDictionary) document.getDocumentCatalog().getCOSObject().getDictionaryObject(COSName.PAGES);
+            COSArray kids = (COSArray) pages.getDictionaryObject(COSName.KIDS);
+            for (int i = 0; i < kids.size(); i++) {
+                pageNumbers.add((int) ((COSObject) kids.get(i)).getObjectNumber());
+            }
+        }
+        assertThat(pageNumbers).as("pages").hasSizeGreaterThan(2);
+    }
+
+    @Test
+    void linearizationDictionaryDescribesTheFile() {
+        Map<String, Long> dictionary = linearizationDictionary();
+
+        assertThat(dictionary.get("L")).isEqualTo(pdf.length);
+        assertThat(dictionary.get("N")).isEqualTo(pageNumbers.size());
+        assertThat(dictionary.get("O")).isEqualTo(pageNumbers.get(0).longValue());
+        // T is the offset of the white space before the first entry of the main xref table
+        assertThat(file.startsWith("\n0000000000 65535 f", dictionary.get("T").intValue())).isTrue();
+    }
+
+    @Test
+    void firstPageXrefPointsAtTheObjects() {
+        long endOfFirstPage = linearizationDictionary().get("E");
+        int firstXref = firstXrefOffset();
+        Map<Integer, Long> firstPageXref = xref(firstXref);
+        Map<Integer, Long> mainXref = xref((int) trailerNumber(firstXref, "Prev"));
+
+        assertThat(firstPageXref).isNotEmpty();
+        firstPageXref.forEach((number, offset) -> {
+            assertThat(file.startsWith(String.format(OBJECT_HEADER, number), offset.intValue()))
+                    .as("object %d at %d", number, offset).isTrue();
+            assertThat(offset).as("object %d", number).isLessThan(endOfFirstPage);
+        });
+        mainXref.forEach((number, offset) -> {
+            assertThat(file.startsWith(String.format(OBJECT_HEADER, number), offset.intValue()))
+                    .as("object %d at %d", number, offset).isTrue();
+            assertThat(offset).as("object %d", number).isGreaterThanOrEqualTo(endOfFirstPage);
+        });
+        assertThat(firstPageXref).containsKey(pageNumbers.get(0));
+        assertThat(file).endsWith("startxref\n" + firstXref + "\n%%EOF\n");
+    }
+
+    @Test
+    void hintTablesMatchTheObjectPositions() {
+        Map<String, Long> dictionary = linearizationDictionary();
+        long hintOffset = dictionary.get("H");
+        long hintLength = dictionary.get("HL");
+        Map<Integer, Long> objects = new LinkedHashMap<>(xref(firstXrefOffset()));
+        objects.putAll(xref((int) trailerNumber(firstXrefOffset(), "Prev")));
+
+        Matcher stream = HINT_STREAM.matcher(file);
+        assertThat(stream.find((int) hintOffset)).as("hint stream at H").isTrue();
+        int length = Integer.parseInt(stream.group(2));
+        assertThat(stream.end() + length + "\nendstream\nendobj\n".length()).isEqualTo(hintOffset + hintLength);
+        BitReader hints = new BitReader(Arrays.copyOfRange(pdf, stream.end(), stream.end() + length));
+
+        // Page offset hint table header (Table F.3); offsets in it ignore the hint stream
+        long minObjects = hints.read(32);
+        long firstPageOffset = hints.read(32);
+        int objectBits = hints.readInt(16);
+        long minLength = hints.read(32);
+        int lengthBits = hints.readInt(16);
+        // Content stream offsets and lengths, shared object references and numerators
+        hints.skip(32 + 16 + 32 + 16 + 16 + 16 + 16 + 16);
+
+        int pageCount = pageNumbers.size();
+        long[] objectCounts = new long[pageCount];
+        long[] lengths = new long[pageCount];
+        for (int i = 0; i < pageCount; i++) {
+            objectCounts[i] = minObjects + hints.read(objectBits);
+        }
+        hints.align();
+        for (int i = 0; i < pageCount; i++) {
+            lengths[i] = minLength + hints.read(lengthBits);
+        }
+
+        long offset = firstPageOffset;
+        for (int i = 0; i < pageCount; i++) {
+            long start = actualOffset(offset, hintOffset, hintLength);
+            long end = actualOffset(offset + lengths[i], hintOffset, hintLength);
+            assertThat(file.startsWith(String.format(OBJECT_HEADER, pageNumbers.get(i)), (int) start))
+                    .as("page %d starts with its page object", i + 1).isTrue();
+            assertThat(objects.values().stream().filter(at -> at >= start && at < end).count())
+                    .as("objects of page %d", i + 1).isEqualTo(objectCounts[i]);
+            if (i == 0) {
+                assertThat(end).as("end of the first page").isEqualTo(dictionary.get("E"));
+            }
+            offset += lengths[i];
+        }
+
+        // Shared object hint table header (Table F.5)
+        hints.seek(Integer.parseInt(stream.group(3)));
+        long firstShared = hints.read(32);
+        long firstSharedOffset = hints.read(32);
+        long firstPageGroups = hints.read(32);
+        long groups = hints.read(32);
+        assertThat(firstPageGroups).isEqualTo(objectCounts[0]);
+        if (groups > firstPageGroups) {
+            assertThat(file.startsWith(String.format(OBJECT_HEADER, firstShared),
+                    (int) actualOffset(firstSharedOffset, hintOffset, hintLength)))
+                    .as("first shared object").isTrue();
+        }
+    }
+
+    /**
+     * A resume with a few entries in each section; pages only break between sections
+     */
+    private static String resume(int sections) {
+        StringBuilder latex = new StringBuilder("""
+                \\documentclass[11pt,a4paper]{article}
+                \\begin{document}
+                {\\LARGE \\textbf{Jane Doe}} \\\\
+                jane@example.com | +1 555 0100
+
+                """);
+        for (int section = 0; section < sections; section++) {
+            latex.append("\\section{Experience ").append(section).append("}\n");
+            for (int i = 0; i < 3; i++) {
+                latex.append("\\textbf{Company ").append(i).append("} \\hfill 2019 -- 2023 \\\\\n")
+                        .append("\\textit{Senior Software Engineer}\n")
+                        .append("\\begin{itemize}\n")
+                        .append("  \\item Built \\textbf{Spring Boot} services handling 10k requests per second\n")
+                        .append("  \\item Cut p99 latency by 40\\% with caching and \\emph{batching}\n")
+                        .append("\\end{itemize}\n\n");
+            }
+        }
+        return latex.append("\\end{document}\n").toString();
+    }
+
+    /**
+     * Integer entries of the linearization dictionary, with the two entries of /H as H and HL
+     */
+    private static Map<String, Long> linearizationDictionary() {
+        Matcher matcher = LINEARIZATION_DICTIONARY.matcher(file);
+        assertThat(matcher.find()).as("linearization dictionary").isTrue();
+        Map<String, Long> entries = new LinkedHashMap<>();
+        Matcher entry = Pattern.compile("/(\\w+)\\s+(\\d+)").matcher(matcher.group(2));
+        while (entry.find()) {
+            entries.put(entry.group(1), Long.parseLong(entry.group(2)));
+        }
+        Matcher hint = Pattern.compile("/H\\s*\\[\\s*(\\d+)\\s+(\\d+)\\s*]").matcher(matcher.group(2));
+        assertThat(hint.find()).as("/H").isTrue();
+        entries.put("H", Long.parseLong(hint.group(1)));
+        entries.put("HL", Long.parseLong(hint.group(2)));
+        return entries;
+    }
+
+    private static int firstXrefOffset() {
+        Matcher matcher = LINEARIZATION_DICTIONARY.matcher(file);
+        assertThat(matcher.find()).isTrue();
+        return matcher.end();
+    }
+
+    /**
+     * In-use entries of the cross-reference section at an offset, by object number
+     */
+    private static Map<Integer, Long> xref(int offset) {
+        assertThat(file.startsWith("xref\n", offset)).as("xref at %d", offset).isTrue();
+        Matcher subsection = SUBSECTION.matcher(file);
+        assertThat(subsection.find(offset + "xref\n".length())).isTrue();
+        int first = Integer.parseInt(subsection.group(1));
+        int count = Integer.parseInt(subsection.group(2));
+
+        Map<Integer, Long> entries = new LinkedHashMap<>();
+        int at = subsection.end();
+        for (int i = 0; i < count; i++, at += 20) {
+            String entry = file.substring(at, at + 20);
+            if (entry.charAt(17) == 'n') {
+                entries.put(first + i, Long.parseLong(entry.substring(0, 10)));
+            }
+        }
+        return entries;
+    }
+
+    private static long trailerNumber(int xrefOffset, String key) {
+        String trailer = file.substring(file.indexOf("trailer", xrefOffset), file.indexOf("%%EOF", xrefOffset));
+        Matcher matcher = Pattern.compile("/" + key + "\\s+(\\d+)").matcher(trailer);
+        assertThat(matcher.find()).as("/%s", key).isTrue();
+        return Long.parseLong(matcher.group(1));
+    }
+
+    /**
+     * Offset in the file of an offset given by a hint table, which counts as if the hint
+     * stream were not there
+     */
+    private static long actualOffset(long offset, long hintOffset, long hintLength) {
+        return offset >= hintOffset ? offset + hintLength : offset;
+    }
+
+    private static class BitReader {
+
+        private final byte[] bytes;
+        private int position;
+
+        BitReader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        long read(int bits) {
+            long value = 0;
+            for (int i = 0; i < bits; i++, position++) {
+                value = (value << 1) | ((bytes[position >> 3] >> (7 - (position & 7))) & 1);
+            }
+            return value;
+        }
+
+        int readInt(int bits) {
+            return (int) read(bits);
+        }
+
+        void skip(int bits) {
+            position += bits;
+        }
+
+        void align() {
+            position = (position + 7) & ~7;
+        }
+
+        void seek(int byteOffset) {
+            position = byteOffset * 8;
+        }
+    }
+}
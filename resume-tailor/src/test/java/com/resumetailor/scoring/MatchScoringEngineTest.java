@@ -0,0 +1,54 @@
+package com.resumetailor.scoring;
+
+import com.resumetailor.dto.MatchScoreResponse;
+import com.resumetailor.taxonomy.SkillTaxonomy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MatchScoringEngineTest {
+
+    @TempDir
+    Path tempDir;
+
+    private MatchScoringEngine engine;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        SkillTaxonomy taxonomy = new SkillTaxonomy(new ClassPathResource("taxonomy/skills.tsv"),
+                tempDir.resolve("skills.trie").toString(), 25);
+        taxonomy.load();
+        // Room for a single term
+        engine = new MatchScoringEngine(new Tokenizer(taxonomy), new TermDictionary(1, 100));
+        ReflectionTestUtils.setField(engine, "maxKeywords", 30);
+    }
+
+    @Test
+    void scoresTermsOfAFullDictionary() {
+        engine.score("Java", "Java");
+
+        MatchScoreResponse response = engine.score("Built Kubernetes clusters with Terraform",
+                "Kubernetes, Terraform and Ansible");
+
+        assertThat(response.getKeywordsMatched()).contains("kubernetes", "terraform");
+        assertThat(response.getKeywordsMissing()).containsExactly("ansible");
+    }
+
+    @Test
+    void countsEditsOfTermsOfAFullDictionary() {
+        engine.score("Java", "Java");
+        TermFrequencyMap jobTerms = engine.indexJobDescription("Kubernetes, Terraform and Ansible");
+
+        IncrementalTermCounter counter = engine.incrementalCounter("Built clusters", jobTerms);
+        counter.replace(6, 6, "Kubernetes ");
+
+        assertThat(engine.score(counter.resumeTerms(), jobTerms).getKeywordsMatched()).containsExactly("kubernetes");
+    }
+}
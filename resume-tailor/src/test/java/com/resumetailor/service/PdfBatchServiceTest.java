@@ -0,0 +1,98 @@
+package com.resumetailor.service;
+
+import com.resumetailor.dto.BatchCompileRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// A regression hangs the batch, so fail it instead
+@Timeout(30)
+class PdfBatchServiceTest {
+
+    private final ThreadPoolExecutor executor = (ThreadPoolExecutor) Executors.newFixedThreadPool(1);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void writesAnErrorEntryWhenCompilationDiesWithAnError() throws IOException {
+        PdfBatchService service = new PdfBatchService(new StubCompiler(), executor, 10, 2);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.compileBatch(List.of(document("a", "ok"), document("b", "overflow"), document("c", "ok")), out);
+
+        assertThat(entryNames(out.toByteArray()))
+                .containsExactlyInAnyOrder("a.pdf", "b.pdf.error.txt", "c.pdf");
+    }
+
+    @Test
+    void stopsWaitingWhenThePoolIsShutDown() {
+        PdfBatchService service = new PdfBatchService(new StubCompiler(), executor, 10, 2);
+
+        assertThatThrownBy(() -> service.compileBatch(List.of(document("a", "shutdown"), document("b", "ok")),
+                new ByteArrayOutputStream()))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("shutting down");
+    }
+
+    private BatchCompileRequest.Document document(String name, String latexContent) {
+        BatchCompileRequest.Document document = new BatchCompileRequest.Document();
+        document.setName(name);
+        document.setLatexContent(latexContent);
+        return document;
+    }
+
+    private static List<String> entryNames(byte[] archive) throws IOException {
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                names.add(entry.getName());
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Writes the LaTeX back as the PDF; "overflow" dies with an Error and "shutdown" drops
+     * the rest of the batch by shutting the pool down while it is still queued
+     */
+    private class StubCompiler extends PdfCompilerService {
+
+        StubCompiler() {
+            super(null, null);
+        }
+
+        @Override
+        public void compilePdf(String latexContent, OutputStream out) throws IOException {
+            switch (latexContent) {
+                case "overflow" -> throw new StackOverflowError();
+                case "shutdown" -> {
+                    // Once the next document is queued behind this one
+                    while (executor.getQueue().isEmpty()) {
+                        Thread.onSpinWait();
+                    }
+                    executor.shutdownNow();
+                }
+                default -> out.write(latexContent.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+}